@@ -168,6 +168,15 @@ public interface SessionHeaderEncoder
 
     long startMessage(MutableAsciiBuffer buffer, int offset);
 
+    /**
+     * Pre-encode the fields that identify the session - SenderCompID, TargetCompID and the sub and location ids -
+     * so that each subsequent message copies them in with a single write rather than encoding them one by one.
+     * Setting or resetting any of these fields discards the cached copy.
+     *
+     * When cached these fields are all encoded at the position of the first of them in the header.
+     */
+    void cacheSessionFields();
+
     SessionHeaderEncoder msgType(CharSequence value);
 
     SessionHeaderEncoder msgType(DirectBuffer value);
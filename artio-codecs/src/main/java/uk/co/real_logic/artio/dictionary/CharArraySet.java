@@ -15,16 +15,22 @@
  */
 package uk.co.real_logic.artio.dictionary;
 
+import uk.co.real_logic.artio.dictionary.generation.CodecUtil;
+import uk.co.real_logic.artio.util.AsciiBuffer;
+
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.Set;
-
-import static java.util.stream.Collectors.toSet;
 
+/**
+ * An immutable set of character sequences that can be queried with a <code>char[]</code> or a range of an
+ * {@link AsciiBuffer} without allocating or wrapping the value being looked up.
+ * <p>
+ * Values are held in an open addressing table with linear probing, sized to at most half full.
+ */
 public final class CharArraySet
 {
-    private final CharArrayWrapper wrapper = new CharArrayWrapper();
-    private final Set<CharArrayWrapper> values;
+    private final char[][] values;
+    private final int mask;
 
     public CharArraySet(final String... values)
     {
@@ -33,23 +39,126 @@ public final class CharArraySet
 
     public CharArraySet(final Collection<String> values)
     {
-        this.values = values
-            .stream()
-            .map(CharArrayWrapper::new)
-            .collect(toSet());
+        this.values = new char[capacityFor(values.size())][];
+        this.mask = this.values.length - 1;
+
+        for (final String value : values)
+        {
+            add(value.toCharArray());
+        }
     }
 
     public CharArraySet(final CharArraySet other)
     {
-        this.values = other.values
-            .stream()
-            .map(CharArrayWrapper::new)
-            .collect(toSet());
+        this.values = other.values.clone();
+        this.mask = other.mask;
     }
 
     public boolean contains(final char[] value, final int length)
     {
-        wrapper.wrap(value, length);
-        return values.contains(wrapper);
+        final char[][] values = this.values;
+        final int mask = this.mask;
+
+        int index = hash(value, length) & mask;
+        char[] candidate;
+        while ((candidate = values[index]) != null)
+        {
+            if (candidate.length == length && CodecUtil.equals(candidate, value, length))
+            {
+                return true;
+            }
+
+            index = (index + 1) & mask;
+        }
+
+        return false;
+    }
+
+    public boolean contains(final AsciiBuffer buffer, final int offset, final int length)
+    {
+        final char[][] values = this.values;
+        final int mask = this.mask;
+
+        int index = hash(buffer, offset, length) & mask;
+        char[] candidate;
+        while ((candidate = values[index]) != null)
+        {
+            if (candidate.length == length && equals(candidate, buffer, offset))
+            {
+                return true;
+            }
+
+            index = (index + 1) & mask;
+        }
+
+        return false;
+    }
+
+    private void add(final char[] value)
+    {
+        final int length = value.length;
+        if (contains(value, length))
+        {
+            return;
+        }
+
+        int index = hash(value, length) & mask;
+        while (values[index] != null)
+        {
+            index = (index + 1) & mask;
+        }
+
+        values[index] = value;
+    }
+
+    private static int capacityFor(final int size)
+    {
+        int capacity = 2;
+        while (capacity < size * 2)
+        {
+            capacity <<= 1;
+        }
+
+        return capacity;
+    }
+
+    private static int hash(final char[] value, final int length)
+    {
+        int hash = 1;
+        for (int i = 0; i < length; i++)
+        {
+            hash = 31 * hash + value[i];
+        }
+
+        return mix(hash);
+    }
+
+    private static int hash(final AsciiBuffer buffer, final int offset, final int length)
+    {
+        int hash = 1;
+        for (int i = offset, end = offset + length; i < end; i++)
+        {
+            hash = 31 * hash + (buffer.getByte(i) & 0xFF);
+        }
+
+        return mix(hash);
+    }
+
+    private static int mix(final int hash)
+    {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static boolean equals(final char[] value, final AsciiBuffer buffer, final int offset)
+    {
+        for (int i = 0; i < value.length; i++)
+        {
+            if (value[i] != (buffer.getByte(offset + i) & 0xFF))
+            {
+                return false;
+            }
+        }
+
+        return true;
     }
 }
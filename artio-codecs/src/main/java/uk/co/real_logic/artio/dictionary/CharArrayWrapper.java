@@ -55,6 +55,16 @@ public final class CharArrayWrapper
         hashcode = CodecUtil.hashCode(values, offset, length);
     }
 
+    /**
+     * Get the wrapped characters packed into a long, see {@link CodecUtil#packAscii(char[], int, int)}.
+     *
+     * @return the wrapped characters packed into a long, or {@link CodecUtil#NOT_PACKABLE}.
+     */
+    public long packedAscii()
+    {
+        return CodecUtil.packAscii(values, offset, length);
+    }
+
     public boolean equals(final Object o)
     {
         if (this == o)
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2015-2019 Real Logic Ltd, Adaptive Financial Consulting Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.dictionary;
+
+import uk.co.real_logic.artio.util.AsciiBuffer;
+
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+import static org.agrona.BitUtil.SIZE_OF_LONG;
+
+/**
+ * Predicts the tag of each field that a generated decoder reads from the order of the tags in the previous message
+ * that it decoded, since counterparties almost always send the fields of a message type in the same order.
+ * <p>
+ * A prediction is verified by comparing the predicted tag number and its '=' against the bytes of the message with a
+ * single 8 byte read, rather than scanning for the '=' and parsing the tag number. When the prediction is wrong the
+ * decoder falls back to parsing the tag, and the parsed tag replaces the prediction for the next message.
+ * <p>
+ * Prediction is enabled by setting the {@code fix.codecs.tag_order_prediction} system property to true.
+ */
+public final class TagOrderPredictor
+{
+    private static final String CODEC_TAG_ORDER_PREDICTION_PROP = "fix.codecs.tag_order_prediction";
+    public static final boolean CODEC_TAG_ORDER_PREDICTION_ENABLED =
+        Boolean.getBoolean(CODEC_TAG_ORDER_PREDICTION_PROP);
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int MAX_CAPACITY = 1024;
+    // Never matches because no bits survive the mask, used for tags too long to predict.
+    private static final long UNPREDICTABLE = -1;
+
+    private int[] tags = new int[0];
+    private long[] encodedTags = new long[0];
+    private long[] masks = new long[0];
+    private int[] tagLengths = new int[0];
+    private int size;
+    private int index;
+    private int predictedTag;
+
+    /**
+     * Start predicting from the first field of a message.
+     */
+    public void rewind()
+    {
+        index = 0;
+    }
+
+    /**
+     * Check whether the field at a position has the predicted tag.
+     *
+     * @param buffer the buffer containing the message.
+     * @param position the start of the field.
+     * @param end the end of the message.
+     * @return the position of the '=' after the tag if it was predicted correctly,
+     * {@link AsciiBuffer#UNKNOWN_INDEX} otherwise.
+     */
+    public int predict(final AsciiBuffer buffer, final int position, final int end)
+    {
+        final int index = this.index;
+        if (index >= size || position + SIZE_OF_LONG > buffer.capacity())
+        {
+            return AsciiBuffer.UNKNOWN_INDEX;
+        }
+
+        final int equalsPosition = position + tagLengths[index];
+        if (equalsPosition < end &&
+            (buffer.getLong(position, ByteOrder.LITTLE_ENDIAN) & masks[index]) == encodedTags[index])
+        {
+            predictedTag = tags[index];
+            this.index = index + 1;
+            return equalsPosition;
+        }
+
+        return AsciiBuffer.UNKNOWN_INDEX;
+    }
+
+    /**
+     * Get the tag that was predicted by the last successful call to {@link #predict(AsciiBuffer, int, int)}.
+     *
+     * @return the tag that was predicted.
+     */
+    public int predictedTag()
+    {
+        return predictedTag;
+    }
+
+    /**
+     * Record the tag of a field that wasn't predicted, so that it is predicted for the next message.
+     *
+     * @param tag the parsed tag.
+     * @param buffer the buffer containing the message.
+     * @param position the start of the field.
+     * @param equalsPosition the position of the '=' after the tag.
+     */
+    public void learn(final int tag, final AsciiBuffer buffer, final int position, final int equalsPosition)
+    {
+        final int index = this.index;
+        if (index >= tags.length && !grow())
+        {
+            return;
+        }
+
+        final int encodedLength = equalsPosition - position + 1;
+        tags[index] = tag;
+        tagLengths[index] = equalsPosition - position;
+        if (encodedLength > SIZE_OF_LONG)
+        {
+            encodedTags[index] = UNPREDICTABLE;
+            masks[index] = 0;
+        }
+        else
+        {
+            long encodedTag = 0;
+            for (int i = 0; i < encodedLength; i++)
+            {
+                encodedTag |= (buffer.getByte(position + i) & 0xFFL) << (i * 8);
+            }
+
+            encodedTags[index] = encodedTag;
+            masks[index] = encodedLength == SIZE_OF_LONG ? -1L : (1L << (encodedLength * 8)) - 1;
+        }
+
+        this.index = index + 1;
+        if (index >= size)
+        {
+            size = index + 1;
+        }
+    }
+
+    private boolean grow()
+    {
+        final int capacity = tags.length;
+        if (capacity >= MAX_CAPACITY)
+        {
+            return false;
+        }
+
+        final int newCapacity = capacity == 0 ? INITIAL_CAPACITY : capacity * 2;
+        tags = Arrays.copyOf(tags, newCapacity);
+        encodedTags = Arrays.copyOf(encodedTags, newCapacity);
+        masks = Arrays.copyOf(masks, newCapacity);
+        tagLengths = Arrays.copyOf(tagLengths, newCapacity);
+
+        return true;
+    }
+}
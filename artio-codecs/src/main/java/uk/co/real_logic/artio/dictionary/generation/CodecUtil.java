@@ -39,6 +39,10 @@ public final class CodecUtil
     public static final int ENUM_UNKNOWN_INT = Integer.MAX_VALUE;
     public static final String ENUM_UNKNOWN_STRING = Character.toString(ENUM_UNKNOWN_CHAR);
 
+    public static final long NOT_PACKABLE = -1;
+    public static final int MAX_PACKED_ASCII_LENGTH = 8;
+    private static final char MAX_ASCII = 127;
+
     // NB: only valid for ASCII bytes.
     @Deprecated // Will be removed in a future version
     public static byte[] toBytes(final CharSequence value, final byte[] oldBuffer)
@@ -176,4 +180,52 @@ public final class CodecUtil
 
         return result;
     }
+
+    /**
+     * Packs up to {@link #MAX_PACKED_ASCII_LENGTH} ascii characters into a long, one byte per character, so that
+     * short values can be compared and switched on without hashing them.
+     *
+     * @param value the characters to pack.
+     * @param offset the offset of the first character.
+     * @param length the number of characters.
+     * @return the packed characters or {@link #NOT_PACKABLE} if there are too many or they aren't all ascii.
+     */
+    public static long packAscii(final char[] value, final int offset, final int length)
+    {
+        if (length > MAX_PACKED_ASCII_LENGTH)
+        {
+            return NOT_PACKABLE;
+        }
+
+        long packed = 0;
+        for (int i = offset, end = offset + length; i < end; i++)
+        {
+            final char character = value[i];
+            if (character > MAX_ASCII)
+            {
+                return NOT_PACKABLE;
+            }
+
+            packed = (packed << 8) | character;
+        }
+
+        return packed;
+    }
+
+    public static long packAscii(final String value)
+    {
+        final char[] characters = value.toCharArray();
+        return packAscii(characters, 0, characters.length);
+    }
+
+    /**
+     * Folds a value from {@link #packAscii(char[], int, int)} into an int so that it can be switched on.
+     *
+     * @param packed the packed characters.
+     * @return the folded value.
+     */
+    public static int foldPackedAscii(final long packed)
+    {
+        return (int)(packed ^ (packed >>> 32));
+    }
 }
@@ -20,6 +20,7 @@ import org.agrona.generation.OutputManager;
 import org.agrona.generation.ResourceConsumer;
 import uk.co.real_logic.artio.builder.Decoder;
 import uk.co.real_logic.artio.decoder.SessionHeaderDecoder;
+import uk.co.real_logic.artio.dictionary.TagOrderPredictor;
 import uk.co.real_logic.artio.dictionary.ir.Dictionary;
 import uk.co.real_logic.artio.dictionary.ir.*;
 import uk.co.real_logic.artio.dictionary.ir.Field.Type;
@@ -165,6 +166,8 @@ public class DecoderGenerator extends Generator
                 }
 
                 generateImports("Decoder", type, out);
+                out.append(importFor(TagOrderPredictor.class));
+                out.append(importStaticFor(TagOrderPredictor.class, CODEC_TAG_ORDER_PREDICTION_ENABLED));
                 generateAggregateClass(aggregate, type, className, out);
             });
     }
@@ -978,10 +981,13 @@ public class DecoderGenerator extends Generator
             NULL_VAL_NAME
         ) : field.type().isMultiValue() ? enumStringBasedWrapperField : "";
 
-        final String lazyInitialisation = fieldLazyInstantialisation(field, fieldName);
+        final String lazyInitialisation = flyweightsEnabled ? fieldLazyInstantialisation(field, fieldName) : "";
+        final String lazyDecodedField = lazyInitialisation.isEmpty() ? "" :
+            String.format("    private boolean %1$sDecoded;\n\n", fieldName);
 
         return String.format(
             "    private %1$s %2$s%3$s;\n\n" +
+            "%10$s" +
             "%4$s" +
             "    public %1$s %2$s()\n" +
             "    {\n" +
@@ -1000,7 +1006,8 @@ public class DecoderGenerator extends Generator
             optionalGetter(entry),
             offsetField,
             enumDecoder,
-            flyweightsEnabled ? lazyInitialisation : "");
+            lazyInitialisation,
+            lazyDecodedField);
     }
 
     private String generateAsStringBody(final Entry entry, final String name, final String fieldName)
@@ -1056,7 +1063,7 @@ public class DecoderGenerator extends Generator
             case EXCHANGE:
             case COUNTRY:
             case LANGUAGE:
-                decodeMethod = String.format("buffer.getChars(%1$s, %1$sOffset, %1$sLength);\n", fieldName);
+                decodeMethod = String.format("buffer.getChars(%1$s, %1$sOffset, %1$sLength)", fieldName);
                 break;
 
             case DATA:
@@ -1069,9 +1076,10 @@ public class DecoderGenerator extends Generator
                 }
                 final String associatedFieldName = formatPropertyName(associatedLengthField.name());
                 return String.format(
-                    "        if (buffer != null && %2$s > 0)\n" +
+                    "        if (buffer != null && !%1$sDecoded && %2$s > 0)\n" +
                     "        {\n" +
                     "            %1$s = buffer.getBytes(%1$s, %1$sOffset, %2$s);\n" +
+                    "            %1$sDecoded = true;\n" +
                     "        }\n",
                     fieldName,
                     associatedFieldName);
@@ -1093,10 +1101,12 @@ public class DecoderGenerator extends Generator
                 return "";
         }
 
+        // Memoised so that repeated getter calls, including from validate(), only parse the field once.
         return String.format(
-            "        if (buffer != null && %1$sLength > 0)\n" +
+            "        if (buffer != null && !%1$sDecoded && %1$sLength > 0)\n" +
             "        {\n" +
             "            %1$s = %2$s;\n" +
+            "            %1$sDecoded = true;\n" +
             "        }\n",
             fieldName,
             decodeMethod);
@@ -1242,6 +1252,7 @@ public class DecoderGenerator extends Generator
         final String endGroupCheck = endGroupCheck(aggregate, isGroup);
         final String prefix =
             "    private AsciiBuffer buffer;\n\n" +
+            "    private final TagOrderPredictor tagOrderPredictor = new TagOrderPredictor();\n\n" +
             "    public int decode(final AsciiBuffer buffer, final int offset, final int length)\n" +
             "    {\n" +
             "        // Decode " + aggregate.name() + "\n" +
@@ -1252,6 +1263,10 @@ public class DecoderGenerator extends Generator
             (isGroup ? "" : "            alreadyVisitedFields.clear();\n") +
             "        }\n" +
             "        this.buffer = buffer;\n" +
+            "        if (" + CODEC_TAG_ORDER_PREDICTION_ENABLED + ")\n" +
+            "        {\n" +
+            "            tagOrderPredictor.rewind();\n" +
+            "        }\n" +
             "        final int end = offset + length;\n" +
             "        int position = offset;\n" +
             (hasCommonCompounds ? "        position += header.decode(buffer, position, length);\n" : "") +
@@ -1259,12 +1274,25 @@ public class DecoderGenerator extends Generator
             "        int tag;\n\n" +
             "        while (position < end)\n" +
             "        {\n" +
-            "            final int equalsPosition = buffer.scan(position, end, '=');\n" +
-            "            if (equalsPosition == AsciiBuffer.UNKNOWN_INDEX)\n" +
+            "            int equalsPosition = " + CODEC_TAG_ORDER_PREDICTION_ENABLED + " ?\n" +
+            "                tagOrderPredictor.predict(buffer, position, end) : AsciiBuffer.UNKNOWN_INDEX;\n" +
+            "            if (equalsPosition != AsciiBuffer.UNKNOWN_INDEX)\n" +
+            "            {\n" +
+            "                tag = tagOrderPredictor.predictedTag();\n" +
+            "            }\n" +
+            "            else\n" +
             "            {\n" +
-            "               return position;\n" +
+            "                equalsPosition = buffer.scan(position, end, '=');\n" +
+            "                if (equalsPosition == AsciiBuffer.UNKNOWN_INDEX)\n" +
+            "                {\n" +
+            "                   return position;\n" +
+            "                }\n" +
+            "                tag = buffer.getInt(position, equalsPosition);\n" +
+            "                if (" + CODEC_TAG_ORDER_PREDICTION_ENABLED + ")\n" +
+            "                {\n" +
+            "                    tagOrderPredictor.learn(tag, buffer, position, equalsPosition);\n" +
+            "                }\n" +
             "            }\n" +
-            "            tag = buffer.getInt(position, equalsPosition);\n" +
             endGroupCheck +
             "            final int valueOffset = equalsPosition + 1;\n" +
             "            int endOfField = buffer.scan(valueOffset, end, START_OF_HEADER);\n" +
@@ -1509,9 +1537,18 @@ public class DecoderGenerator extends Generator
 
     private String storeOffsetForVariableLengthFields(final Type type, final String fieldName)
     {
-        return type.hasOffsetField(flyweightsEnabled) ?
-            String.format("                %sOffset = valueOffset;\n", fieldName) :
-            "";
+        if (!type.hasOffsetField(flyweightsEnabled))
+        {
+            return "";
+        }
+
+        // Flyweight fields are parsed on first access, so forget any value parsed from a previous message.
+        return flyweightsEnabled ?
+            String.format(
+            "                %1$sOffset = valueOffset;\n" +
+            "                %1$sDecoded = false;\n",
+            fieldName) :
+            String.format("                %sOffset = valueOffset;\n", fieldName);
     }
 
     private String optionalAssign(final Entry entry)
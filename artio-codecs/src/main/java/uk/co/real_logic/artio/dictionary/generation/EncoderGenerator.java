@@ -38,6 +38,7 @@ import java.util.stream.IntStream;
 
 import static java.util.Collections.*;
 import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
 import static uk.co.real_logic.artio.dictionary.generation.AggregateType.GROUP;
 import static uk.co.real_logic.artio.dictionary.generation.AggregateType.HEADER;
 import static uk.co.real_logic.artio.dictionary.generation.EnumGenerator.hasEnumGenerated;
@@ -59,6 +60,18 @@ public class EncoderGenerator extends Generator
         "TestRequestEncoder",
         "SequenceResetEncoder"));
 
+    // Header fields that identify the session, see SessionHeaderEncoder.cacheSessionFields()
+    private static final List<String> SESSION_IDENTITY_FIELDS = Arrays.asList(
+        "SenderCompID",
+        "TargetCompID",
+        "SenderSubID",
+        "SenderLocationID",
+        "TargetSubID",
+        "TargetLocationID");
+
+    private static final String INVALIDATE_SESSION_FIELDS_TEMPLATE =
+        "        sessionFieldsTemplateLength = 0;\n";
+
     private static final String SUFFIX =
         "        buffer.putSeparator(position);\n" +
         "        position++;\n" +
@@ -161,6 +174,8 @@ public class EncoderGenerator extends Generator
     private final MutableAsciiBuffer string = new MutableAsciiBuffer(buffer);
 
     private final String beginString;  // e.g. "FIX.4.4"
+    private final String headerClassName;
+    private final List<Entry> sessionIdentityEntries;
 
     public EncoderGenerator(
         final Dictionary dictionary,
@@ -180,6 +195,12 @@ public class EncoderGenerator extends Generator
         validateHasField(header, BODY_LENGTH);
 
         beginString = dictionary.beginString();
+        headerClassName = encoderClassName(header.name());
+        sessionIdentityEntries = header
+            .entries()
+            .stream()
+            .filter((entry) -> entry.isField() && SESSION_IDENTITY_FIELDS.contains(entry.name()))
+            .collect(toList());
     }
 
     private void validateHasField(final Component header, final String fieldName)
@@ -292,6 +313,10 @@ public class EncoderGenerator extends Generator
 
         precomputedHeaders(out, aggregate.entries());
         generateSetters(out, className, aggregate.entries());
+        if (isHeader)
+        {
+            out.append(cacheSessionFieldsMethod());
+        }
         out.append(encodeMethod(aggregate.entries(), type));
         out.append(completeResetMethod(aggregate, isMessage, type));
         out.append(toString(aggregate, isMessage));
@@ -301,19 +326,81 @@ public class EncoderGenerator extends Generator
     private String completeResetMethod(
         final Aggregate aggregate, final boolean isMessage, final AggregateType type)
     {
-        final String additionalReset;
         switch (type)
         {
             case GROUP:
-                additionalReset = RESET_NEXT_GROUP;
-                break;
+                return super.completeResetMethod(isMessage, aggregate.entries(), RESET_NEXT_GROUP);
             case HEADER:
-                additionalReset = "        beginString(DEFAULT_BEGIN_STRING);\n";
-                break;
+                return completeHeaderResetMethod(aggregate.entries());
             default:
-                additionalReset = "";
+                return super.completeResetMethod(isMessage, aggregate.entries(), "");
         }
-        return super.completeResetMethod(isMessage, aggregate.entries(), additionalReset);
+    }
+
+    // The session identity fields' reset methods also discard the cached session fields template, so they're
+    // generated here rather than by the common field reset.
+    private String completeHeaderResetMethod(final List<Entry> entries)
+    {
+        final List<Entry> otherEntries = entries
+            .stream()
+            .filter((entry) -> !sessionIdentityEntries.contains(entry))
+            .collect(toList());
+
+        final String resetSessionIdentityFields = sessionIdentityEntries
+            .stream()
+            .map((entry) -> String.format("        %1$s();\n", nameOfResetMethod(entry.name())))
+            .collect(joining());
+
+        final String additionalReset = resetSessionIdentityFields + "        beginString(DEFAULT_BEGIN_STRING);\n";
+
+        final String sessionIdentityResetMethods = sessionIdentityEntries
+            .stream()
+            .map(this::resetSessionIdentityField)
+            .collect(joining());
+
+        return super.completeResetMethod(false, otherEntries, additionalReset) + sessionIdentityResetMethods;
+    }
+
+    private String resetSessionIdentityField(final Entry entry)
+    {
+        final Field field = (Field)entry.element();
+        return field.type().hasLengthField(false) ?
+            resetLength(field.name(), INVALIDATE_SESSION_FIELDS_TEMPLATE) :
+            resetByFlag(field.name(), INVALIDATE_SESSION_FIELDS_TEMPLATE);
+    }
+
+    private String cacheSessionFieldsMethod()
+    {
+        final String templateCapacity = sessionIdentityEntries
+            .stream()
+            .map((entry) -> String.format(
+                "        capacity += %1$sHeaderLength + %1$sLength + 1;\n",
+                formatPropertyName(entry.name())))
+            .collect(joining());
+
+        final String encodeFields = sessionIdentityEntries
+            .stream()
+            .map(this::encodeField)
+            .collect(joining("\n"));
+
+        return String.format(
+            "    private final MutableAsciiBuffer sessionFieldsTemplate = new MutableAsciiBuffer();\n\n" +
+            "    private int sessionFieldsTemplateLength = 0;\n\n" +
+            "    public void cacheSessionFields()\n" +
+            "    {\n" +
+            "        int capacity = 0;\n" +
+            "%1$s" +
+            "        if (sessionFieldsTemplate.capacity() < capacity)\n" +
+            "        {\n" +
+            "            sessionFieldsTemplate.wrap(new byte[capacity]);\n" +
+            "        }\n\n" +
+            "        final MutableAsciiBuffer buffer = sessionFieldsTemplate;\n" +
+            "        int position = 0;\n\n" +
+            "%2$s\n" +
+            "        sessionFieldsTemplateLength = position;\n" +
+            "    }\n\n",
+            templateCapacity,
+            encodeFields);
     }
 
     private void generateGroupClass(final Group group, final Writer out) throws IOException
@@ -439,6 +526,9 @@ public class EncoderGenerator extends Generator
 
         optionalFields.remove(name);
 
+        final String onChange = className.equals(headerClassName) && SESSION_IDENTITY_FIELDS.contains(name) ?
+            INVALIDATE_SESSION_FIELDS_TEMPLATE : "";
+
         switch (field.type())
         {
             case STRING:
@@ -449,7 +539,7 @@ public class EncoderGenerator extends Generator
             case EXCHANGE:
             case COUNTRY:
             case LANGUAGE:
-                return generateStringSetter(className, fieldName, name, enumSetter);
+                return generateStringSetter(className, fieldName, name, enumSetter, onChange);
             case BOOLEAN:
                 return generateSetter.apply("boolean");
 
@@ -483,7 +573,7 @@ public class EncoderGenerator extends Generator
             case MONTHYEAR:
             case TZTIMEONLY:
             case TZTIMESTAMP:
-                return generateBytesSetter(className, fieldName, name);
+                return generateBytesSetter(className, fieldName, name, "");
 
             default: throw new UnsupportedOperationException("Unknown type: " + field.type());
         }
@@ -517,7 +607,8 @@ public class EncoderGenerator extends Generator
             formatPropertyName(numberField.name())));
     }
 
-    private String generateBytesSetter(final String className, final String fieldName, final String name)
+    private String generateBytesSetter(
+        final String className, final String fieldName, final String name, final String onChange)
     {
         return String.format(
             "    private final MutableDirectBuffer %1$s = new UnsafeBuffer();\n\n" +
@@ -528,6 +619,7 @@ public class EncoderGenerator extends Generator
             "        %1$s.wrap(value);\n" +
             "        %1$sOffset = offset;\n" +
             "        %1$sLength = length;\n" +
+            "%4$s" +
             "        return this;\n" +
             "    }\n\n" +
             "    public %2$s %1$s(final DirectBuffer value, final int length)\n" +
@@ -543,6 +635,7 @@ public class EncoderGenerator extends Generator
             "        %1$s.wrap(value);\n" +
             "        %1$sOffset = offset;\n" +
             "        %1$sLength = length;\n" +
+            "%4$s" +
             "        return this;\n" +
             "    }\n\n" +
             "    public %2$s %1$s(final byte[] value, final int length)\n" +
@@ -567,14 +660,16 @@ public class EncoderGenerator extends Generator
             "    }\n\n",
             fieldName,
             className,
-            name);
+            name,
+            onChange);
     }
 
     private String generateStringSetter(
         final String className,
         final String fieldName,
         final String name,
-        final String enumSetter)
+        final String enumSetter,
+        final String onChange)
     {
         return String.format(
             "%2$s" +
@@ -583,6 +678,7 @@ public class EncoderGenerator extends Generator
             "        toBytes(value, %1$s);\n" +
             "        %1$sOffset = 0;\n" +
             "        %1$sLength = value.length();\n" +
+            "%5$s" +
             "        return this;\n" +
             "    }\n\n" +
             "    public %3$s %1$s(final AsciiSequenceView value)\n" +
@@ -593,6 +689,7 @@ public class EncoderGenerator extends Generator
             "            %1$s.wrap(buffer);\n" +
             "            %1$sOffset = value.offset();\n" +
             "            %1$sLength = value.length();\n" +
+            "%5$s" +
             "        }\n" +
             "        return this;\n" +
             "    }\n\n" +
@@ -609,13 +706,15 @@ public class EncoderGenerator extends Generator
             "        toBytes(value, %1$s, offset, length);\n" +
             "        %1$sOffset = 0;\n" +
             "        %1$sLength = length;\n" +
+            "%5$s" +
             "        return this;\n" +
             "    }\n\n" +
             "%4$s",
             fieldName,
-            generateBytesSetter(className, fieldName, name),
+            generateBytesSetter(className, fieldName, name, onChange),
             className,
-            enumSetter);
+            enumSetter,
+            onChange);
     }
 
     private String generateSetter(
@@ -725,7 +824,7 @@ public class EncoderGenerator extends Generator
         }
 
         final String body = entries.stream()
-            .map(this::encodeEntry)
+            .map((entry) -> aggregateType == HEADER ? encodeHeaderEntry(entry) : encodeEntry(entry))
             .collect(joining("\n"));
 
         String suffix;
@@ -770,6 +869,32 @@ public class EncoderGenerator extends Generator
         return prefix + body + suffix;
     }
 
+    // Session identity fields are copied in from the template at the position of the first of them, if cached.
+    private String encodeHeaderEntry(final Entry entry)
+    {
+        final int identityIndex = sessionIdentityEntries.indexOf(entry);
+        if (identityIndex == -1)
+        {
+            return encodeEntry(entry);
+        }
+
+        final String cachedSessionFields = identityIndex > 0 ? "" :
+            "        if (sessionFieldsTemplateLength > 0)\n" +
+            "        {\n" +
+            "            buffer.putBytes(position, sessionFieldsTemplate, 0, sessionFieldsTemplateLength);\n" +
+            "            position += sessionFieldsTemplateLength;\n" +
+            "        }\n";
+
+        return String.format(
+            "%1$s" +
+            "        if (sessionFieldsTemplateLength == 0)\n" +
+            "        {\n" +
+            "%2$s" +
+            "        }\n",
+            cachedSessionFields,
+            encodeEntry(entry));
+    }
+
     private String encodeEntry(final Entry entry)
     {
         if (isBodyLength(entry) || isBeginString(entry) || isCheckSum(entry))
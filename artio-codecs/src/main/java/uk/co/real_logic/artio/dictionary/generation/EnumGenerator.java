@@ -128,6 +128,7 @@ public final class EnumGenerator
                 out.append(fileHeader(builderPackage));
                 out.append(importFor(CharArrayMap.class));
                 out.append(importFor(CharArrayWrapper.class));
+                out.append(importFor(CodecUtil.class));
                 out.append(importFor(IntHashSet.class));
                 out.append(importFor(Map.class));
                 out.append(importFor(HashMap.class));
@@ -229,6 +230,14 @@ public final class EnumGenerator
             case MULTIPLESTRINGVALUE:
             case MULTIPLECHARVALUE:
             case STRING:
+                if (canDecodePacked(allValues))
+                {
+                    return "    public static boolean isValid(final CharArrayWrapper key)\n" +
+                           "    {\n" +
+                           "        return decodePacked(key.packedAscii()) != " + UNKNOWN_NAME + ";\n" +
+                           "    }\n";
+                }
+
                 return "    public static boolean isValid(final CharArrayWrapper key)\n" +
                        "    {\n" +
                        "        return charMap.containsKey(key);\n" +
@@ -262,6 +271,11 @@ public final class EnumGenerator
             case MULTIPLESTRINGVALUE:
             case MULTIPLECHARVALUE:
 
+                if (canDecodePacked(allValues))
+                {
+                    return packedCharArrayDecode(typeName, allValues);
+                }
+
                 final String entries = allValues
                     .stream()
                     .map((v) -> format("        stringMap.put(%s, %s);\n", literal(v, type), v.description()))
@@ -294,6 +308,61 @@ public final class EnumGenerator
         }
     }
 
+    // Values of up to 8 ascii characters are packed into a long and the decode switches on the folded long, with a
+    // comparison to the full packed value to reject unknown values whose fold happens to coincide.
+    private String packedCharArrayDecode(final String typeName, final List<Value> allValues)
+    {
+        final String cases = allValues
+            .stream()
+            .map((value) ->
+            {
+                final long packed = packAscii(value.representation());
+                return format(
+                    "        case %1$d: return packed == %2$dL ? %3$s : %4$s;\n",
+                    foldPackedAscii(packed),
+                    packed,
+                    value.description(),
+                    UNKNOWN_NAME);
+            })
+            .collect(joining());
+
+        return format(
+            "    public static %1$s decode(final CharArrayWrapper key)\n" +
+            "    {\n" +
+            "        return decodePacked(key.packedAscii());\n" +
+            "    }\n" +
+            "\n" +
+            "    private static %1$s decodePacked(final long packed)\n" +
+            "    {\n" +
+            "        switch (CodecUtil.foldPackedAscii(packed))\n" +
+            "        {\n" +
+            "%2$s" +
+            "        default:\n" +
+            "            return %3$s;\n" +
+            "        }\n" +
+            "    }\n" +
+            "\n",
+            typeName,
+            cases,
+            UNKNOWN_NAME);
+    }
+
+    // The packed decode is only possible when every value packs into a long and no two values fold to the same int.
+    private boolean canDecodePacked(final List<Value> allValues)
+    {
+        final IntHashSet folds = new IntHashSet();
+        for (final Value value : allValues)
+        {
+            final long packed = packAscii(value.representation());
+            if (packed == NOT_PACKABLE || !folds.add(foldPackedAscii(packed)))
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
     private boolean hasGeneratedValueOf(final Type type)
     {
         switch (type)
@@ -57,6 +57,7 @@ public abstract class Generator
     public static final String CODEC_VALIDATION_ENABLED = "CODEC_VALIDATION_ENABLED";
     public static final String CODEC_REJECT_UNKNOWN_FIELD_ENABLED = "CODEC_REJECT_UNKNOWN_FIELD_ENABLED";
     public static final String RUNTIME_REJECT_UNKNOWN_ENUM_VALUE_PROPERTY = "CODEC_REJECT_UNKNOWN_ENUM_VALUE_ENABLED";
+    public static final String CODEC_TAG_ORDER_PREDICTION_ENABLED = "CODEC_TAG_ORDER_PREDICTION_ENABLED";
     final String codecRejectUnknownEnumValueEnabled;
     public static final String MESSAGE_FIELDS = "messageFields";
 
@@ -418,25 +419,39 @@ public abstract class Generator
     protected abstract String resetRequiredFloat(String name);
 
     protected String resetLength(final String name)
+    {
+        return resetLength(name, "");
+    }
+
+    protected String resetLength(final String name, final String extraStatements)
     {
         return String.format(
             "    public void %1$s()\n" +
             "    {\n" +
             "        %2$sLength = 0;\n" +
+            "%3$s" +
             "    }\n\n",
             nameOfResetMethod(name),
-            formatPropertyName(name));
+            formatPropertyName(name),
+            extraStatements);
     }
 
     protected String resetByFlag(final String name)
+    {
+        return resetByFlag(name, "");
+    }
+
+    protected String resetByFlag(final String name, final String extraStatements)
     {
         return String.format(
             "    public void %2$s()\n" +
             "    {\n" +
             "        has%1$s = false;\n" +
+            "%3$s" +
             "    }\n\n",
             name,
-            nameOfResetMethod(name));
+            nameOfResetMethod(name),
+            extraStatements);
     }
 
     protected String resetFieldValue(final Field field, final String resetValue)
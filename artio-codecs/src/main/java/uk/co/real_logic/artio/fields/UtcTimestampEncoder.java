@@ -47,12 +47,23 @@ public final class UtcTimestampEncoder
     private static final int MILLISECONDS_EPOCH_FRACTION = EpochFractionFormat.MILLISECONDS.ordinal();
     private static final int MICROSECONDS_EPOCH_FRACTION = EpochFractionFormat.MICROSECONDS.ordinal();
 
+    private static final int FRACTION_OFFSET = LENGTH_OF_DATE_AND_DASH + 9;
+    private static final long NO_SECOND = Long.MIN_VALUE;
+
     private final int epochFractionPrecision;
     private final byte[] bytes;
     private final MutableAsciiBuffer flyweight;
 
+    private final long minEpochFraction;
+    private final long maxEpochFraction;
+    private final long fractionInSecond;
+    private final long fractionInDay;
+    private final int fractionFieldLength;
+    private final int lengthWithFraction;
+
     private long startOfNextDayInFraction;
     private long beginningOfDayInFraction;
+    private long encodedLocalSecond = NO_SECOND;
 
     public UtcTimestampEncoder()
     {
@@ -89,20 +100,36 @@ public final class UtcTimestampEncoder
         switch (epochFractionPrecision)
         {
             case NANOSECONDS:
-                bytes = new byte[LENGTH_WITH_NANOSECONDS];
+                minEpochFraction = MIN_EPOCH_NANOS;
+                maxEpochFraction = MAX_EPOCH_NANOS;
+                fractionInSecond = NANOS_IN_SECOND;
+                fractionInDay = NANOS_IN_DAY;
+                fractionFieldLength = NANOS_FIELD_LENGTH;
+                lengthWithFraction = LENGTH_WITH_NANOSECONDS;
                 break;
 
             case MICROSECONDS:
-                bytes = new byte[LENGTH_WITH_MICROSECONDS];
+                minEpochFraction = MIN_EPOCH_MICROS;
+                maxEpochFraction = MAX_EPOCH_MICROS;
+                fractionInSecond = MICROS_IN_SECOND;
+                fractionInDay = MICROS_IN_DAY;
+                fractionFieldLength = MICROS_FIELD_LENGTH;
+                lengthWithFraction = LENGTH_WITH_MICROSECONDS;
                 break;
 
             case MILLISECONDS:
-                bytes = new byte[LENGTH_WITH_MILLISECONDS];
+                minEpochFraction = MIN_EPOCH_MILLIS;
+                maxEpochFraction = MAX_EPOCH_MILLIS;
+                fractionInSecond = MILLIS_IN_SECOND;
+                fractionInDay = MILLIS_IN_DAY;
+                fractionFieldLength = MILLIS_FIELD_LENGTH;
+                lengthWithFraction = LENGTH_WITH_MILLISECONDS;
                 break;
 
             default:
                 throw new RuntimeException("Unknown precision: " + epochFractionPrecision);
         }
+        bytes = new byte[lengthWithFraction];
         flyweight = new MutableAsciiBuffer(bytes);
     }
 
@@ -116,6 +143,11 @@ public final class UtcTimestampEncoder
      */
     public int encode(final long epochFraction)
     {
+        // Invalidates the cached date and time used by update()
+        encodedLocalSecond = NO_SECOND;
+        startOfNextDayInFraction = 0;
+        beginningOfDayInFraction = 0;
+
         final int epochFractionPrecision = this.epochFractionPrecision;
         if (epochFractionPrecision == MILLISECONDS_EPOCH_FRACTION)
         {
@@ -133,42 +165,6 @@ public final class UtcTimestampEncoder
 
     public int initialise(final long epochFraction)
     {
-        final long minEpochFraction;
-        final long maxEpochFraction;
-        final long fractionInSecond;
-        final long fractionInDay;
-        final int fractionFieldLength;
-        final int lengthWithFraction;
-
-        final int epochFractionPrecision = this.epochFractionPrecision;
-        if (epochFractionPrecision == MILLISECONDS_EPOCH_FRACTION)
-        {
-            minEpochFraction = MIN_EPOCH_MILLIS;
-            maxEpochFraction = MAX_EPOCH_MILLIS;
-            fractionInSecond = MILLIS_IN_SECOND;
-            fractionInDay = MILLIS_IN_DAY;
-            fractionFieldLength = MILLIS_FIELD_LENGTH;
-            lengthWithFraction = LENGTH_WITH_MILLISECONDS;
-        }
-        else if (epochFractionPrecision == MICROSECONDS_EPOCH_FRACTION)
-        {
-            minEpochFraction = MIN_EPOCH_MICROS;
-            maxEpochFraction = MAX_EPOCH_MICROS;
-            fractionInSecond = MICROS_IN_SECOND;
-            fractionInDay = MICROS_IN_DAY;
-            fractionFieldLength = MICROS_FIELD_LENGTH;
-            lengthWithFraction = LENGTH_WITH_MICROSECONDS;
-        }
-        else /*(epochFractionPrecision == NANOSECONDS_EPOCH_FRACTION)*/
-        {
-            minEpochFraction = MIN_EPOCH_NANOS;
-            maxEpochFraction = MAX_EPOCH_NANOS;
-            fractionInSecond = NANOS_IN_SECOND;
-            fractionInDay = NANOS_IN_DAY;
-            fractionFieldLength = NANOS_FIELD_LENGTH;
-            lengthWithFraction = LENGTH_WITH_NANOSECONDS;
-        }
-
         validate(epochFraction, minEpochFraction, maxEpochFraction);
 
         final long localSecond = localSecond(epochFraction, fractionInSecond);
@@ -177,6 +173,7 @@ public final class UtcTimestampEncoder
 
         startOfNextDayInFraction = (epochDay + 1) * fractionInDay;
         beginningOfDayInFraction = startOfNextDayInFraction - fractionInDay;
+        encodedLocalSecond = localSecond;
 
         encodeDate(epochDay, flyweight, 0);
         flyweight.putChar(LENGTH_OF_DATE, '-');
@@ -187,7 +184,10 @@ public final class UtcTimestampEncoder
     }
 
     /**
-     * Update the current time into the buffer as an ascii UTC String
+     * Update the current time into the buffer as an ascii UTC String.
+     *
+     * The date and time of the previously encoded timestamp are kept, so if the time is in the same day only the
+     * time is rewritten, and if it's in the same second only the fraction of the second is rewritten.
      *
      * @param epochFraction the current time as the number of milliseconds, microseconds or nanoseconds since the
      *                      start of the UNIX Epoch. The unit of this parameter should align with the constructor
@@ -196,42 +196,43 @@ public final class UtcTimestampEncoder
      */
     public int update(final long epochFraction)
     {
-        if (epochFraction > startOfNextDayInFraction || epochFraction < beginningOfDayInFraction)
+        if (epochFraction >= startOfNextDayInFraction || epochFraction < beginningOfDayInFraction)
         {
             return initialise(epochFraction);
         }
 
-        final long fractionInSecond;
-        final int fractionFieldLength;
-        final int lengthWithFraction;
+        final long fractionInSecond = this.fractionInSecond;
+        final long localSecond = localSecond(epochFraction, fractionInSecond);
+        final int fractionOfSecond = fractionOfSecond(epochFraction, fractionInSecond);
 
-        final int epochFractionPrecision = this.epochFractionPrecision;
-        if (epochFractionPrecision == MILLISECONDS_EPOCH_FRACTION)
+        if (localSecond == encodedLocalSecond)
         {
-            fractionInSecond = MILLIS_IN_SECOND;
-            fractionFieldLength = MILLIS_FIELD_LENGTH;
-            lengthWithFraction = LENGTH_WITH_MILLISECONDS;
+            flyweight.putNaturalPaddedIntAscii(FRACTION_OFFSET, fractionFieldLength, fractionOfSecond);
         }
-        else if (epochFractionPrecision == MICROSECONDS_EPOCH_FRACTION)
+        else
         {
-            fractionInSecond = MICROS_IN_SECOND;
-            fractionFieldLength = MICROS_FIELD_LENGTH;
-            lengthWithFraction = LENGTH_WITH_MICROSECONDS;
-        }
-        else /*(epochFractionPrecision == NANOSECONDS_EPOCH_FRACTION)*/
-        {
-            fractionInSecond = NANOS_IN_SECOND;
-            fractionFieldLength = NANOS_FIELD_LENGTH;
-            lengthWithFraction = LENGTH_WITH_NANOSECONDS;
+            encodedLocalSecond = localSecond;
+            UtcTimeOnlyEncoder.encodeFraction(
+                localSecond, fractionOfSecond, flyweight, LENGTH_OF_DATE_AND_DASH, fractionFieldLength);
         }
 
-        final long localSecond = localSecond(epochFraction, fractionInSecond);
-        final int fractionOfSecond = fractionOfSecond(epochFraction, fractionInSecond);
+        return fractionOfSecond > 0 ? lengthWithFraction : LENGTH_WITHOUT_MILLISECONDS;
+    }
 
-        UtcTimeOnlyEncoder.encodeFraction(
-            localSecond, fractionOfSecond, flyweight, LENGTH_OF_DATE_AND_DASH, fractionFieldLength);
+    /**
+     * Update the current time into the buffer as an ascii UTC String, in the same way as {@link #update(long)},
+     * but always including the fraction of the second so that the encoded length doesn't depend on the time.
+     *
+     * @param epochFraction the current time as the number of milliseconds, microseconds or nanoseconds since the
+     *                      start of the UNIX Epoch. The unit of this parameter should align with the constructor
+     *                      parameter EpochFractionFormat.
+     * @return the length of the encoded data in the flyweight.
+     */
+    public int updateFixedLength(final long epochFraction)
+    {
+        update(epochFraction);
 
-        return fractionOfSecond > 0 ? lengthWithFraction : LENGTH_WITHOUT_MILLISECONDS;
+        return lengthWithFraction;
     }
 
     public byte[] buffer()
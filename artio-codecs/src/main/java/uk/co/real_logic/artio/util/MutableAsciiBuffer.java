@@ -21,7 +21,9 @@ import uk.co.real_logic.artio.fields.*;
 
 import java.nio.ByteBuffer;
 
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
 import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.agrona.BitUtil.SIZE_OF_LONG;
 
 public final class MutableAsciiBuffer extends UnsafeBuffer implements AsciiBuffer
 {
@@ -32,6 +34,14 @@ public final class MutableAsciiBuffer extends UnsafeBuffer implements AsciiBuffe
     private static final byte Y = (byte)'Y';
     private static final byte N = (byte)'N';
 
+    // Constants for word at a time (SWAR) scanning and checksumming
+    private static final int WORD_LAST_BYTE = SIZE_OF_LONG - 1;
+    private static final long LOW_BITS = 0x0101010101010101L;
+    private static final long HIGH_BITS = 0x8080808080808080L;
+    private static final long LOW_SEVEN_BITS = 0x7F7F7F7F7F7F7F7FL;
+    private static final long EVEN_BYTES = 0x00FF00FF00FF00FFL;
+    private static final long SHORT_LANES = 0x0001000100010001L;
+
     private static final byte[] MIN_INTEGER_VALUE = String.valueOf(Integer.MIN_VALUE).getBytes(US_ASCII);
     private static final byte[] MIN_LONG_VALUE = String.valueOf(Long.MIN_VALUE).getBytes(US_ASCII);
 
@@ -280,7 +290,21 @@ public final class MutableAsciiBuffer extends UnsafeBuffer implements AsciiBuffe
 
     public int scanBack(final int startInclusive, final int endExclusive, final byte terminator)
     {
-        for (int index = startInclusive; index >= endExclusive; index--)
+        final long pattern = repeatedByte(terminator);
+        int index = startInclusive;
+        while (index - WORD_LAST_BYTE >= endExclusive)
+        {
+            final int wordStart = index - WORD_LAST_BYTE;
+            final long matches = zeroBytes(getLong(wordStart, LITTLE_ENDIAN) ^ pattern);
+            if (matches != 0)
+            {
+                return wordStart + ((Long.SIZE - 1 - Long.numberOfLeadingZeros(matches)) >>> 3);
+            }
+
+            index -= SIZE_OF_LONG;
+        }
+
+        for (; index >= endExclusive; index--)
         {
             final byte value = getByte(index);
             if (value == terminator)
@@ -299,24 +323,46 @@ public final class MutableAsciiBuffer extends UnsafeBuffer implements AsciiBuffe
 
     public int scan(final int startInclusive, final int endInclusive, final byte terminator)
     {
-        int indexValue = UNKNOWN_INDEX;
-        for (int i = startInclusive; i <= endInclusive; i++)
+        final long pattern = repeatedByte(terminator);
+        final int lastWordStart = Math.min(endInclusive, capacity() - 1) - WORD_LAST_BYTE;
+        int index = startInclusive;
+        while (index <= lastWordStart)
         {
-            final byte value = getByte(i);
+            final long matches = zeroBytes(getLong(index, LITTLE_ENDIAN) ^ pattern);
+            if (matches != 0)
+            {
+                return index + (Long.numberOfTrailingZeros(matches) >>> 3);
+            }
+
+            index += SIZE_OF_LONG;
+        }
+
+        for (; index <= endInclusive; index++)
+        {
+            final byte value = getByte(index);
             if (value == terminator)
             {
-                indexValue = i;
-                break;
+                return index;
             }
         }
 
-        return indexValue;
+        return UNKNOWN_INDEX;
     }
 
     public int computeChecksum(final int offset, final int end)
     {
         int total = 0;
-        for (int index = offset; index < end; index++)
+        int index = offset;
+        final int lastWordStart = end - SIZE_OF_LONG;
+        while (index <= lastWordStart)
+        {
+            final long word = getLong(index);
+            // Bytes are summed as signed values, so take off 256 for every byte with its top bit set.
+            total += sumOfBytes(word) - (Long.bitCount(word & HIGH_BITS) << 8);
+            index += SIZE_OF_LONG;
+        }
+
+        for (; index < end; index++)
         {
             total += getByte(index);
         }
@@ -324,6 +370,25 @@ public final class MutableAsciiBuffer extends UnsafeBuffer implements AsciiBuffe
         return total % 256;
     }
 
+    private static long repeatedByte(final byte value)
+    {
+        return (value & 0xFFL) * LOW_BITS;
+    }
+
+    // Sets the high bit of every byte within the word that is zero, and no other bits.
+    private static long zeroBytes(final long word)
+    {
+        final long lowSevenBitsAdded = (word & LOW_SEVEN_BITS) + LOW_SEVEN_BITS;
+        return ~(lowSevenBitsAdded | word | LOW_SEVEN_BITS);
+    }
+
+    // Sum of the unsigned value of each byte within the word.
+    private static int sumOfBytes(final long word)
+    {
+        final long pairs = (word & EVEN_BYTES) + ((word >>> 8) & EVEN_BYTES);
+        return (int)((pairs * SHORT_LANES) >>> 48);
+    }
+
     public int putAscii(final int index, final String string)
     {
         final byte[] bytes = string.getBytes(US_ASCII);
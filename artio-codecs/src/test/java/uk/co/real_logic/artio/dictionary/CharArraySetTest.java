@@ -16,9 +16,11 @@
 package uk.co.real_logic.artio.dictionary;
 
 import org.junit.Test;
+import uk.co.real_logic.artio.util.MutableAsciiBuffer;
 
 import java.util.Arrays;
 
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 public class CharArraySetTest
@@ -43,4 +45,37 @@ public class CharArraySetTest
             assertTrue(example + " isn't a member of the char array set", CHAR_ARRAY_SET.contains(value, value.length));
         }
     }
+
+    @Test
+    public void shouldContainAllMembersInitialisedWithWhenReadFromBuffer()
+    {
+        final MutableAsciiBuffer buffer = new MutableAsciiBuffer(new byte[64]);
+        final int offset = 10;
+        for (final String example : EXAMPLES)
+        {
+            final int length = buffer.putStringWithoutLengthAscii(offset, example);
+            assertTrue(example + " isn't a member of the char array set",
+                CHAR_ARRAY_SET.contains(buffer, offset, length));
+        }
+    }
+
+    @Test
+    public void shouldNotContainOtherValues()
+    {
+        final char[] value = "ABC".toCharArray();
+        assertFalse(CHAR_ARRAY_SET.contains(value, value.length));
+        assertFalse(CHAR_ARRAY_SET.contains(value, 0));
+
+        final MutableAsciiBuffer buffer = new MutableAsciiBuffer(new byte[64]);
+        final int length = buffer.putStringWithoutLengthAscii(0, "BI");
+        assertFalse(CHAR_ARRAY_SET.contains(buffer, 0, length));
+    }
+
+    @Test
+    public void shouldCopyMembersFromOtherSet()
+    {
+        final CharArraySet copy = new CharArraySet(CHAR_ARRAY_SET);
+        final char[] value = "BH".toCharArray();
+        assertTrue(copy.contains(value, value.length));
+    }
 }
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2015-2019 Real Logic Ltd, Adaptive Financial Consulting Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.dictionary;
+
+import org.junit.Test;
+import uk.co.real_logic.artio.util.MutableAsciiBuffer;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.junit.Assert.assertEquals;
+import static uk.co.real_logic.artio.util.AsciiBuffer.UNKNOWN_INDEX;
+
+public class TagOrderPredictorTest
+{
+    private static final String MESSAGE = "35=8\u000111=ORDER\u0001150=F\u000110=123\u0001";
+    private static final String REORDERED_MESSAGE = "35=8\u0001150=F\u000111=ORDER\u000110=123\u0001";
+
+    private final TagOrderPredictor predictor = new TagOrderPredictor();
+
+    @Test
+    public void shouldNotPredictBeforeLearning()
+    {
+        final MutableAsciiBuffer buffer = buffer(MESSAGE);
+
+        predictor.rewind();
+
+        assertEquals(UNKNOWN_INDEX, predictor.predict(buffer, 0, buffer.capacity()));
+    }
+
+    @Test
+    public void shouldPredictTagsInTheOrderOfThePreviousMessage()
+    {
+        final MutableAsciiBuffer buffer = buffer(MESSAGE);
+        learn(buffer);
+
+        predictor.rewind();
+        assertPredicts(buffer, 0, 35);
+        assertPredicts(buffer, 5, 11);
+        assertPredicts(buffer, 14, 150);
+    }
+
+    @Test
+    public void shouldRelearnOrderAfterMisprediction()
+    {
+        learn(buffer(MESSAGE));
+
+        final MutableAsciiBuffer reordered = buffer(REORDERED_MESSAGE);
+        predictor.rewind();
+        assertPredicts(reordered, 0, 35);
+        assertEquals(UNKNOWN_INDEX, predictor.predict(reordered, 5, reordered.capacity()));
+        predictor.learn(150, reordered, 5, 8);
+
+        predictor.rewind();
+        assertPredicts(reordered, 0, 35);
+        assertPredicts(reordered, 5, 150);
+    }
+
+    private void assertPredicts(final MutableAsciiBuffer buffer, final int position, final int tag)
+    {
+        final int equalsPosition = predictor.predict(buffer, position, buffer.capacity());
+        assertEquals('=', buffer.getByte(equalsPosition));
+        assertEquals(tag, predictor.predictedTag());
+    }
+
+    private void learn(final MutableAsciiBuffer buffer)
+    {
+        predictor.rewind();
+        int position = 0;
+        while (position < buffer.capacity())
+        {
+            final int equalsPosition = buffer.scan(position, buffer.capacity() - 1, '=');
+            predictor.learn(buffer.getInt(position, equalsPosition), buffer, position, equalsPosition);
+            position = buffer.scan(equalsPosition, buffer.capacity() - 1, '\u0001') + 1;
+        }
+    }
+
+    private static MutableAsciiBuffer buffer(final String message)
+    {
+        return new MutableAsciiBuffer(message.getBytes(US_ASCII));
+    }
+}
@@ -253,6 +253,23 @@ public abstract class AbstractDecoderGeneratorTest
         assertEquals(UNKNOWN_NAME, getMethod(decoder, CHAR_ENUM_RF + "AsEnum").toString());
     }
 
+    @Test
+    public void shouldDecodeValuesFromEachMessageWhenGettersAreCalledRepeatedly() throws Exception
+    {
+        final Decoder decoder = decodeHeartbeat(DERIVED_FIELDS_MESSAGE);
+        assertEquals(2, getIntField(decoder));
+        assertEquals(2, getIntField(decoder));
+        assertEquals(new DecimalFloat(11, 1), getFloatField(decoder));
+
+        decoder.reset();
+        decode(DERIVED_FIELDS_MESSAGE.replace("116=2", "116=3").replace("117=1.1", "117=2.5"), decoder);
+
+        assertEquals(3, getIntField(decoder));
+        assertEquals(3, getIntField(decoder));
+        assertEquals(new DecimalFloat(25, 1), getFloatField(decoder));
+        assertArrayEquals(ABC, getOnBehalfOfCompId(decoder));
+    }
+
     @Test
     public void decodesValues() throws Exception
     {
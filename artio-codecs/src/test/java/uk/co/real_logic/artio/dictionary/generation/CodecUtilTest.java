@@ -59,4 +59,18 @@ public class CodecUtilTest
         final int secondHash = CodecUtil.hashCode("abczyx".toCharArray(), 3, 3);
         assertEquals(firstHash, secondHash);
     }
+
+    @Test
+    public void shouldPackAsciiWithOffset()
+    {
+        assertEquals(CodecUtil.packAscii("USD"), CodecUtil.packAscii("zyxUSD".toCharArray(), 3, 3));
+        assertEquals(0x41_42L, CodecUtil.packAscii("AB"));
+    }
+
+    @Test
+    public void shouldNotPackLongOrNonAsciiValues()
+    {
+        assertEquals(CodecUtil.NOT_PACKABLE, CodecUtil.packAscii("ABCDEFGHI"));
+        assertEquals(CodecUtil.NOT_PACKABLE, CodecUtil.packAscii("\u00C1"));
+    }
 }
@@ -24,6 +24,7 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 import uk.co.real_logic.artio.EncodingException;
 import uk.co.real_logic.artio.builder.Encoder;
+import uk.co.real_logic.artio.builder.SessionHeaderEncoder;
 import uk.co.real_logic.artio.fields.DecimalFloat;
 import uk.co.real_logic.artio.fields.UtcTimestampEncoder;
 import uk.co.real_logic.artio.util.MutableAsciiBuffer;
@@ -367,6 +368,67 @@ public class EncoderGeneratorTest
         assertThat(zero, is(new DecimalFloat()));
     }
 
+    @Test
+    public void encodesCachedSessionFields() throws Exception
+    {
+        final Encoder encoder = newHeartbeat();
+        setupSessionFields(encoder);
+        final String expectedValue = encode(encoder);
+
+        encoder.header().cacheSessionFields();
+
+        assertEncodesTo(encoder, expectedValue);
+        assertThat(expectedValue, containsString("\00149=sender\00156=target\001"));
+    }
+
+    @Test
+    public void discardsCachedSessionFieldsWhenTheyAreChanged() throws Exception
+    {
+        final Encoder encoder = newHeartbeat();
+        setupSessionFields(encoder);
+        final SessionHeaderEncoder header = encoder.header();
+        header.cacheSessionFields();
+
+        header.senderCompID("other");
+
+        final String encoded = encode(encoder);
+        assertThat(encoded, containsString("\00149=other\001"));
+        assertThat(encoded, not(containsString("sender")));
+    }
+
+    @Test
+    public void discardsCachedSessionFieldsWhenTheyAreReset() throws Exception
+    {
+        final Encoder encoder = newHeartbeat();
+        setupSessionFields(encoder);
+        final SessionHeaderEncoder header = encoder.header();
+        header.cacheSessionFields();
+
+        header.getClass().getMethod("resetTargetCompID").invoke(header);
+
+        final String encoded = encode(encoder);
+        assertThat(encoded, containsString("\00149=sender\001"));
+        assertThat(encoded, not(containsString("\00156=")));
+    }
+
+    @Test
+    public void discardsCachedSessionFieldsWhenEncoderIsReset() throws Exception
+    {
+        final Encoder encoder = newHeartbeat();
+        setupSessionFields(encoder);
+        encoder.header().cacheSessionFields();
+
+        encoder.reset();
+        setRequiredFields(encoder);
+        setupHeader(encoder);
+        setupTrailer(encoder);
+        encoder.header().senderCompID("other").targetCompID("target");
+
+        final String encoded = encode(encoder);
+        assertThat(encoded, containsString("\00149=other\00156=target\001"));
+        assertThat(encoded, not(containsString("sender")));
+    }
+
     @Test
     public void ignoresMissingOptionalValues() throws Exception
     {
@@ -933,6 +995,20 @@ public class EncoderGeneratorTest
         setCharSequence(trailer, "checkSum", "12");
     }
 
+    private void setupSessionFields(final Encoder encoder) throws Exception
+    {
+        setRequiredFields(encoder);
+        setupHeader(encoder);
+        setupTrailer(encoder);
+        encoder.header().senderCompID("sender").targetCompID("target");
+    }
+
+    private String encode(final Encoder encoder)
+    {
+        final long result = encoder.encode(buffer, 1);
+        return buffer.getAscii(Encoder.offset(result), Encoder.length(result));
+    }
+
     private void assertEncodesTo(final Encoder encoder, final String expectedValue)
     {
         final long result = encoder.encode(buffer, 1);
@@ -168,6 +168,27 @@ public class EnumGeneratorTest
         assertEquals(values[values.length - 1], decodeString.invoke(null, unknownRepresentation));
     }
 
+    @Test
+    public void shouldDecodeOnlyExactCharArrayMatches() throws Exception
+    {
+        final Enum[] values = getStringEnumConstants();
+        final Method decode = stringEnumClass.getMethod("decode", CharArrayWrapper.class);
+        final Method isValid = stringEnumClass.getMethod("isValid", CharArrayWrapper.class);
+        final CharArrayWrapper wrapper = new CharArrayWrapper();
+
+        wrapper.wrap(" AA".toCharArray(), 1, 2);
+        assertEquals(values[2], decode.invoke(null, wrapper));
+        assertTrue((boolean)isValid.invoke(null, wrapper));
+
+        wrapper.wrap("AAA".toCharArray(), 3);
+        assertEquals(values[values.length - 1], decode.invoke(null, wrapper));
+        assertFalse((boolean)isValid.invoke(null, wrapper));
+
+        wrapper.wrap("\u00C1".toCharArray(), 1);
+        assertEquals(values[values.length - 1], decode.invoke(null, wrapper));
+        assertFalse((boolean)isValid.invoke(null, wrapper));
+    }
+
     private Method stringDecode(final Class<?> clazz) throws NoSuchMethodException
     {
         return clazz.getMethod("decode", String.class);
@@ -25,9 +25,13 @@ import java.util.stream.Collectors;
 import static java.nio.charset.StandardCharsets.US_ASCII;
 import static org.junit.Assert.assertEquals;
 import static uk.co.real_logic.artio.fields.CalendricalUtil.MICROS_IN_MILLIS;
+import static uk.co.real_logic.artio.fields.CalendricalUtil.MILLIS_IN_SECOND;
 import static uk.co.real_logic.artio.fields.CalendricalUtil.NANOS_IN_MILLIS;
+import static uk.co.real_logic.artio.fields.CalendricalUtil.NANOS_IN_SECOND;
 import static uk.co.real_logic.artio.fields.UtcTimestampDecoderValidCasesTest.toEpochMillis;
 import static uk.co.real_logic.artio.fields.UtcTimestampEncoder.EpochFractionFormat.MICROSECONDS;
+import static uk.co.real_logic.artio.fields.UtcTimestampEncoder.LENGTH_WITHOUT_MILLISECONDS;
+import static uk.co.real_logic.artio.fields.UtcTimestampEncoder.LENGTH_WITH_MILLISECONDS;
 import static uk.co.real_logic.artio.fields.UtcTimestampEncoder.EpochFractionFormat.NANOSECONDS;
 
 @RunWith(Parameterized.class)
@@ -136,4 +140,68 @@ public class UtcTimestampEncoderUpdateValidCasesTest
         }
     }
 
+    @Test
+    public void canUpdateTimestampWithinTheSameSecond()
+    {
+        final UtcTimestampEncoder encoder = new UtcTimestampEncoder();
+        encoder.initialise(otherEpochMillis);
+        encoder.update(epochMillis);
+        encoder.update(otherEpochMillis);
+
+        final int length = encoder.update(startOfSecond(epochMillis, MILLIS_IN_SECOND));
+        encoder.update(epochMillis);
+        final int sameSecondLength = encoder.update(epochMillis);
+
+        assertEquals(LENGTH_WITHOUT_MILLISECONDS, length);
+        assertEquals("encoded wrong length", expectedLength, sameSecondLength);
+        assertEquals(expectedTimestamp, new String(encoder.buffer(), 0, sameSecondLength, US_ASCII));
+    }
+
+    @Test
+    public void canUpdateTimestampAtTheStartOfASecondWithFixedLength()
+    {
+        final UtcTimestampEncoder encoder = new UtcTimestampEncoder();
+        encoder.initialise(otherEpochMillis);
+        encoder.updateFixedLength(epochMillis);
+
+        final int length = encoder.updateFixedLength(startOfSecond(epochMillis, MILLIS_IN_SECOND));
+
+        assertEquals("encoded wrong length", LENGTH_WITH_MILLISECONDS, length);
+        assertEquals(
+            expectedTimestamp.substring(0, LENGTH_WITHOUT_MILLISECONDS) + ".000",
+            new String(encoder.buffer(), 0, length, US_ASCII));
+    }
+
+    @Test
+    public void canUpdateTimestampNanosWithinTheSameSecond()
+    {
+        if (validNanoSecondTestCase)
+        {
+            final UtcTimestampEncoder encoder = new UtcTimestampEncoder(NANOSECONDS);
+            encoder.initialise(startOfSecond(epochNanos, NANOS_IN_SECOND));
+
+            final int length = encoder.update(epochNanos);
+
+            assertEquals("encoded wrong length", expectedLengthNanos, length);
+            assertEquals(expectedTimestampNanos, new String(encoder.buffer(), 0, length, US_ASCII));
+        }
+    }
+
+    @Test
+    public void canUpdateTimestampAfterEncodingOne()
+    {
+        final UtcTimestampEncoder encoder = new UtcTimestampEncoder();
+        encoder.initialise(epochMillis);
+        encoder.encode(otherEpochMillis);
+
+        final int length = encoder.update(epochMillis);
+
+        assertEquals("encoded wrong length", expectedLength, length);
+        assertEquals(expectedTimestamp, new String(encoder.buffer(), 0, length, US_ASCII));
+    }
+
+    private static long startOfSecond(final long epochFraction, final long fractionInSecond)
+    {
+        return Math.floorDiv(epochFraction, fractionInSecond) * fractionInSecond;
+    }
 }
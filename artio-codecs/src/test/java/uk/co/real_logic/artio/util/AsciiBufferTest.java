@@ -18,6 +18,8 @@ package uk.co.real_logic.artio.util;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.Random;
+
 import static java.nio.charset.StandardCharsets.US_ASCII;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
@@ -142,6 +144,92 @@ public class AsciiBufferTest
         assertEquals(-1, value);
     }
 
+    @Test
+    public void shouldScanForwardsToFirstMatchAcrossWords()
+    {
+        putAscii("8=FIX.4.4\0019=145\00135=D\00134=4\00149=ABC_DEFG01\001");
+
+        assertEquals(9, buffer.scan(0, 40, '\001'));
+        assertEquals(15, buffer.scan(10, 40, '\001'));
+        assertEquals(28, buffer.scan(25, 40, '='));
+        assertEquals(UNKNOWN_INDEX, buffer.scan(0, 40, 'Z'));
+        assertEquals(UNKNOWN_INDEX, buffer.scan(10, 14, '\001'));
+    }
+
+    @Test
+    public void shouldScanBackwardsToLastMatchAcrossWords()
+    {
+        putAscii("8=FIX.4.4\0019=145\00135=D\00134=4\00149=ABC_DEFG01\001");
+
+        assertEquals(25, buffer.scanBack(29, 0, '\001'));
+        assertEquals(9, buffer.scanBack(14, 0, '\001'));
+        assertEquals(UNKNOWN_INDEX, buffer.scanBack(14, 10, '\001'));
+        assertEquals(10, buffer.scanBack(10, 10, '9'));
+    }
+
+    @Test
+    public void shouldScanAndChecksumLikeAByteAtATimeLoop()
+    {
+        final Random random = new Random(7);
+        final byte[] bytes = new byte[256];
+        for (int i = 0; i < 1000; i++)
+        {
+            random.nextBytes(bytes);
+            buffer.putBytes(0, bytes);
+
+            final int start = random.nextInt(bytes.length);
+            final int end = random.nextInt(bytes.length);
+            final byte terminator = bytes[random.nextInt(bytes.length)];
+
+            assertEquals(scanByteAtATime(bytes, start, end, terminator), buffer.scan(start, end, terminator));
+            assertEquals(
+                scanBackByteAtATime(bytes, start, end, terminator), buffer.scanBack(start, end, terminator));
+
+            final int low = Math.min(start, end);
+            final int high = Math.max(start, end);
+            assertEquals(checksumByteAtATime(bytes, low, high), buffer.computeChecksum(low, high));
+        }
+    }
+
+    private static int scanByteAtATime(
+        final byte[] bytes, final int startInclusive, final int endInclusive, final byte terminator)
+    {
+        for (int i = startInclusive; i <= endInclusive; i++)
+        {
+            if (bytes[i] == terminator)
+            {
+                return i;
+            }
+        }
+
+        return UNKNOWN_INDEX;
+    }
+
+    private static int scanBackByteAtATime(
+        final byte[] bytes, final int startInclusive, final int endExclusive, final byte terminator)
+    {
+        for (int i = startInclusive; i >= endExclusive; i--)
+        {
+            if (bytes[i] == terminator)
+            {
+                return i;
+            }
+        }
+
+        return UNKNOWN_INDEX;
+    }
+
+    private static int checksumByteAtATime(final byte[] bytes, final int offset, final int end)
+    {
+        int total = 0;
+        for (int i = offset; i < end; i++)
+        {
+            total += bytes[i];
+        }
+
+        return total % 256;
+    }
+
     private void putAscii(final String value)
     {
         buffer.putBytes(0, value.getBytes(US_ASCII));
@@ -16,6 +16,7 @@
 package uk.co.real_logic.artio.engine;
 
 import io.aeron.Aeron;
+import io.aeron.ChannelUri;
 import io.aeron.archive.client.AeronArchive;
 import org.agrona.CloseHelper;
 import org.agrona.IoUtil;
@@ -27,6 +28,7 @@ import uk.co.real_logic.artio.CommonConfiguration;
 import uk.co.real_logic.artio.dictionary.FixDictionary;
 import uk.co.real_logic.artio.dictionary.SessionConstants;
 import uk.co.real_logic.artio.engine.framer.DefaultTcpChannelSupplier;
+import uk.co.real_logic.artio.engine.framer.ReceiverPollingMode;
 import uk.co.real_logic.artio.engine.framer.TcpChannelSupplier;
 import uk.co.real_logic.artio.library.SessionConfiguration;
 import uk.co.real_logic.artio.validation.AuthenticationStrategy;
@@ -40,6 +42,9 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.function.Function;
 
+import static io.aeron.CommonContext.ENDPOINT_PARAM_NAME;
+import static io.aeron.CommonContext.IPC_CHANNEL;
+import static io.aeron.CommonContext.UDP_MEDIA;
 import static java.lang.Integer.getInteger;
 import static java.lang.System.getProperty;
 import static java.util.concurrent.TimeUnit.SECONDS;
@@ -71,6 +76,10 @@ public final class EngineConfiguration extends CommonConfiguration implements Au
      * Property name for size of logging index files
      */
     public static final String REPLAY_INDEX_FILE_SIZE_PROP = "logging.index.size";
+    /**
+     * Property name for the number of rolled replay index segments to keep for each session
+     */
+    public static final String REPLAY_INDEX_SEGMENTS_TO_RETAIN_PROP = "logging.index.segments";
 
     // Care needs to be taken when setting the fragment limits, and buffer sizes
     // The inbound bytes received and buffer sizes should always be set low enough
@@ -93,6 +102,14 @@ public final class EngineConfiguration extends CommonConfiguration implements Au
      * Property name for the size in bytes of the receiver end point's framing buffer.
      */
     public static final String RECEIVER_BUFFER_SIZE_PROP = "fix.core.receiver_buffer_size";
+    /**
+     * Property name for how the framer finds TCP connections with data to read, see {@link ReceiverPollingMode}.
+     */
+    public static final String RECEIVER_POLLING_MODE_PROP = "fix.core.receiver_polling_mode";
+    /**
+     * Property name for the max number of TCP connections to read on each duty cycle in the spin polling mode.
+     */
+    public static final String RECEIVER_POLLING_BATCH_SIZE_PROP = "fix.core.receiver_polling_batch_size";
     /**
      * Property name for the size in bytes of the TCP socket's receive buffer.
      */
@@ -117,6 +134,11 @@ public final class EngineConfiguration extends CommonConfiguration implements Au
      * Property name for the timeout before a connection that hasn't sent a logon is disconnected
      */
     public static final String NO_LOGON_DISCONNECT_TIMEOUT_PROP = "fix.core.no_logon_disconnect";
+    /**
+     * Property name for the size in bytes of the per connection buffer used to coalesce outbound writes, 0 disables
+     * write coalescing.
+     */
+    public static final String SENDER_COALESCING_BUFFER_SIZE_PROP = "fix.core.sender_coalescing_buffer_size";
 
     // ------------------------------------------------
     //          Configuration Defaults
@@ -124,6 +146,7 @@ public final class EngineConfiguration extends CommonConfiguration implements Au
 
     public static final String DEFAULT_LOG_FILE_DIR = "logs";
     public static final int DEFAULT_REPLAY_INDEX_FILE_SIZE = 2 * 1024 * 1024 + INITIAL_RECORD_OFFSET;
+    public static final int DEFAULT_REPLAY_INDEX_SEGMENTS_TO_RETAIN = 0;
     public static final int DEFAULT_LOGGER_CACHE_NUM_SETS = 8;
     public static final int DEFAULT_LOGGER_CACHE_SET_SIZE = 4;
 
@@ -131,12 +154,15 @@ public final class EngineConfiguration extends CommonConfiguration implements Au
     public static final int DEFAULT_REPLAY_FRAGMENT_LIMIT = 5;
     public static final int DEFAULT_INBOUND_BYTES_RECEIVED_LIMIT = 8 * 1024;
     public static final int DEFAULT_RECEIVER_BUFFER_SIZE = 16 * 1024;
+    public static final String DEFAULT_RECEIVER_POLLING_MODE = ReceiverPollingMode.HYBRID.name();
+    public static final int DEFAULT_RECEIVER_POLLING_BATCH_SIZE = Integer.MAX_VALUE;
     public static final int DEFAULT_RECEIVER_SOCKET_BUFFER_SIZE = 1024 * 1024;
     public static final int DEFAULT_SENDER_SOCKET_BUFFER_SIZE = 1024 * 1024;
     public static final int DEFAULT_SEQUENCE_NUMBER_INDEX_SIZE = 8 * 1024 * 1024;
     public static final int DEFAULT_SESSION_ID_BUFFER_SIZE = 4 * 1024 * 1024;
     public static final int DEFAULT_SENDER_MAX_BYTES_IN_BUFFER = 4 * 1024 * 1024;
     public static final int DEFAULT_NO_LOGON_DISCONNECT_TIMEOUT = (int)SECONDS.toMillis(5);
+    public static final int DEFAULT_SENDER_COALESCING_BUFFER_SIZE = 0;
     public static final String DEFAULT_SESSION_ID_FILE = "session_id_buffer";
     public static final String DEFAULT_SEQUENCE_NUMBERS_SENT_FILE = "sequence_numbers_sent";
     public static final String DEFAULT_SEQUENCE_NUMBERS_RECEIVED_FILE = "sequence_numbers_received";
@@ -170,11 +196,14 @@ public final class EngineConfiguration extends CommonConfiguration implements Au
     private String host = null;
     private int port;
     private int replayIndexFileSize = getInteger(REPLAY_INDEX_FILE_SIZE_PROP, DEFAULT_REPLAY_INDEX_FILE_SIZE);
+    private int replayIndexSegmentsToRetain =
+        getInteger(REPLAY_INDEX_SEGMENTS_TO_RETAIN_PROP, DEFAULT_REPLAY_INDEX_SEGMENTS_TO_RETAIN);
     private String logFileDir = getProperty(LOG_FILE_DIR_PROP, DEFAULT_LOG_FILE_DIR);
     private int loggerCacheNumSets = DEFAULT_LOGGER_CACHE_NUM_SETS;
     private int loggerCacheSetSize = DEFAULT_LOGGER_CACHE_SET_SIZE;
     private boolean logInboundMessages = true;
     private boolean logOutboundMessages = true;
+    private boolean batchInboundMessages = false;
     private boolean printStartupWarnings = true;
     private IdleStrategy framerIdleStrategy = backoffIdleStrategy();
     private IdleStrategy archiverIdleStrategy = backoffIdleStrategy();
@@ -196,6 +225,10 @@ public final class EngineConfiguration extends CommonConfiguration implements Au
         getInteger(INBOUND_BYTES_RECEIVED_LIMIT_PROP, DEFAULT_INBOUND_BYTES_RECEIVED_LIMIT);
     private int receiverBufferSize =
         getInteger(RECEIVER_BUFFER_SIZE_PROP, DEFAULT_RECEIVER_BUFFER_SIZE);
+    private ReceiverPollingMode receiverPollingMode =
+        ReceiverPollingMode.valueOf(getProperty(RECEIVER_POLLING_MODE_PROP, DEFAULT_RECEIVER_POLLING_MODE));
+    private int receiverPollingBatchSize =
+        getInteger(RECEIVER_POLLING_BATCH_SIZE_PROP, DEFAULT_RECEIVER_POLLING_BATCH_SIZE);
     private int receiverSocketBufferSize =
         getInteger(RECEIVER_SOCKET_BUFFER_SIZE_PROP, DEFAULT_RECEIVER_SOCKET_BUFFER_SIZE);
     private int senderSocketBufferSize =
@@ -208,6 +241,8 @@ public final class EngineConfiguration extends CommonConfiguration implements Au
         getInteger(SENDER_MAX_BYTES_IN_BUFFER_PROP, DEFAULT_SENDER_MAX_BYTES_IN_BUFFER);
     private int noLogonDisconnectTimeoutInMs =
         getInteger(NO_LOGON_DISCONNECT_TIMEOUT_PROP, DEFAULT_NO_LOGON_DISCONNECT_TIMEOUT);
+    private int senderCoalescingBufferSize =
+        getInteger(SENDER_COALESCING_BUFFER_SIZE_PROP, DEFAULT_SENDER_COALESCING_BUFFER_SIZE);
 
     private String libraryAeronChannel = null;
     private Function<EngineConfiguration, TcpChannelSupplier> channelSupplierFactory = DefaultTcpChannelSupplier::new;
@@ -260,6 +295,39 @@ public final class EngineConfiguration extends CommonConfiguration implements Au
         return this;
     }
 
+    /**
+     * Sets how the framer finds the TCP connections that have data to be read, see {@link ReceiverPollingMode} for
+     * the options.
+     *
+     * Default: {@link ReceiverPollingMode#HYBRID}.
+     *
+     * @param receiverPollingMode the polling mode.
+     * @return this
+     * @see EngineConfiguration#RECEIVER_POLLING_MODE_PROP
+     */
+    public EngineConfiguration receiverPollingMode(final ReceiverPollingMode receiverPollingMode)
+    {
+        this.receiverPollingMode = receiverPollingMode;
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of TCP connections that are read on each duty cycle of the framer when using
+     * {@link ReceiverPollingMode#SPIN}. Bounding the batch stops a large number of idle connections from
+     * lengthening the duty cycle, at the cost of a connection waiting up to several duty cycles to be read.
+     *
+     * Default: all connections are read on each duty cycle.
+     *
+     * @param receiverPollingBatchSize the maximum number of connections to read per duty cycle.
+     * @return this
+     * @see EngineConfiguration#RECEIVER_POLLING_BATCH_SIZE_PROP
+     */
+    public EngineConfiguration receiverPollingBatchSize(final int receiverPollingBatchSize)
+    {
+        this.receiverPollingBatchSize = receiverPollingBatchSize;
+        return this;
+    }
+
     /**
      * Sets the receiver socket buffer size.
      *
@@ -315,6 +383,24 @@ public final class EngineConfiguration extends CommonConfiguration implements Au
         return this;
     }
 
+    /**
+     * Sets the number of replay index segments to keep for each session. When a session's replay index file
+     * fills up its contents are copied into a read-only segment file before the oldest records are overwritten,
+     * so resend requests can be served from further back than the index file size allows. Once more than this
+     * number of segments have been rolled for a session the oldest one is deleted, bounding the disk usage at
+     * (segments + 1) * replayIndexFileSize per session.
+     *
+     * @param replayIndexSegmentsToRetain the number of segments to keep, 0 disables segments.
+     * @return this
+     * @see EngineConfiguration#REPLAY_INDEX_SEGMENTS_TO_RETAIN_PROP
+     * @see EngineConfiguration#DEFAULT_REPLAY_INDEX_SEGMENTS_TO_RETAIN
+     */
+    public EngineConfiguration replayIndexSegmentsToRetain(final int replayIndexSegmentsToRetain)
+    {
+        this.replayIndexSegmentsToRetain = replayIndexSegmentsToRetain;
+        return this;
+    }
+
     /**
      * Sets the set size of the logger's caches.
      * <p>
@@ -384,6 +470,25 @@ public final class EngineConfiguration extends CommonConfiguration implements Au
         return this;
     }
 
+    /**
+     * Sets batching of inbound messages.
+     * <p>
+     * When switched on all the complete messages framed from a single TCP read are published to the inbound
+     * stream as a single block rather than claiming space for each message individually. Subscribers still see
+     * each message as its own fragment. Logon and UserRequest messages, and messages too large to fit in a single
+     * fragment are still published individually.
+     * <p>
+     * Default: false.
+     *
+     * @param batchInboundMessages batching of inbound messages.
+     * @return this
+     */
+    public EngineConfiguration batchInboundMessages(final boolean batchInboundMessages)
+    {
+        this.batchInboundMessages = batchInboundMessages;
+        return this;
+    }
+
     public EngineConfiguration printStartupWarnings(final boolean printStartupWarnings)
     {
         this.printStartupWarnings = printStartupWarnings;
@@ -471,6 +576,24 @@ public final class EngineConfiguration extends CommonConfiguration implements Au
         return this;
     }
 
+    /**
+     * Sets the size of the buffer used to coalesce outbound messages for a TCP connection.
+     *
+     * When this is set to a value greater than zero the messages that the Framer reads for a connection within a
+     * single duty cycle are copied into a buffer of this size and written to the TCP connection using a single
+     * write call, rather than one call per message. Messages larger than this buffer are written directly.
+     * Each connection gets its own buffer, so this costs this many bytes of direct memory per connection.
+     *
+     * @param senderCoalescingBufferSize the size in bytes of the buffer, 0 disables write coalescing.
+     * @return this
+     * @see EngineConfiguration#SENDER_COALESCING_BUFFER_SIZE_PROP
+     */
+    public EngineConfiguration senderCoalescingBufferSize(final int senderCoalescingBufferSize)
+    {
+        this.senderCoalescingBufferSize = senderCoalescingBufferSize;
+        return this;
+    }
+
     public EngineConfiguration channelSupplierFactory(final Function<EngineConfiguration, TcpChannelSupplier> value)
     {
         this.channelSupplierFactory = value;
@@ -608,6 +731,11 @@ public final class EngineConfiguration extends CommonConfiguration implements Au
 
     /**
      * Sets the aeron channel that libraries will use to communicate with this FixEngine instance.
+     * <p>
+     * Libraries that run in the same process as the engine, or that share its media driver, should use
+     * {@link io.aeron.CommonContext#IPC_CHANNEL}. Over IPC a library reads messages straight out of the log buffer
+     * that the Framer publishes into, and vice versa, without passing through the media driver's sender and receiver,
+     * whilst the archive continues to record the same streams asynchronously.
      *
      * @param libraryAeronChannel the aeron channel that libraries will use to communicate with this FixEngine instance.
      * @return this
@@ -661,6 +789,16 @@ public final class EngineConfiguration extends CommonConfiguration implements Au
         return receiverBufferSize;
     }
 
+    public ReceiverPollingMode receiverPollingMode()
+    {
+        return receiverPollingMode;
+    }
+
+    public int receiverPollingBatchSize()
+    {
+        return receiverPollingBatchSize;
+    }
+
     public int receiverSocketBufferSize()
     {
         return receiverSocketBufferSize;
@@ -691,6 +829,11 @@ public final class EngineConfiguration extends CommonConfiguration implements Au
         return replayIndexFileSize;
     }
 
+    public int replayIndexSegmentsToRetain()
+    {
+        return replayIndexSegmentsToRetain;
+    }
+
     public int loggerCacheSetSize()
     {
         return loggerCacheSetSize;
@@ -711,6 +854,11 @@ public final class EngineConfiguration extends CommonConfiguration implements Au
         return logOutboundMessages;
     }
 
+    public boolean batchInboundMessages()
+    {
+        return batchInboundMessages;
+    }
+
     public boolean printStartupWarnings()
     {
         return printStartupWarnings;
@@ -791,6 +939,11 @@ public final class EngineConfiguration extends CommonConfiguration implements Au
         return noLogonDisconnectTimeoutInMs;
     }
 
+    public int senderCoalescingBufferSize()
+    {
+        return senderCoalescingBufferSize;
+    }
+
     public SessionPersistenceStrategy sessionPersistenceStrategy()
     {
         return sessionPersistenceStrategy;
@@ -958,6 +1111,22 @@ public final class EngineConfiguration extends CommonConfiguration implements Au
         return acceptedEnableLastMsgSeqNumProcessed;
     }
 
+    private static boolean isLoopbackUdpChannel(final String channel)
+    {
+        try
+        {
+            final ChannelUri channelUri = ChannelUri.parse(channel);
+            final String endpoint = channelUri.get(ENDPOINT_PARAM_NAME);
+            return UDP_MEDIA.equals(channelUri.media()) && endpoint != null &&
+                (endpoint.startsWith("localhost:") || endpoint.startsWith("127."));
+        }
+        catch (final IllegalArgumentException e)
+        {
+            // Leave reporting invalid channels to Aeron
+            return false;
+        }
+    }
+
     public EngineConfiguration conclude()
     {
         super.conclude("engine");
@@ -967,6 +1136,15 @@ public final class EngineConfiguration extends CommonConfiguration implements Au
             throw new IllegalArgumentException("Missing required configuration: library aeron channel");
         }
 
+        if (printStartupWarnings() && isLoopbackUdpChannel(libraryAeronChannel()))
+        {
+            System.err.printf(
+                "Warning: libraryAeronChannel=%s sends library messages through the media driver over loopback UDP, " +
+                "libraries that share this engine's media driver can use %s instead%n",
+                libraryAeronChannel(),
+                IPC_CHANNEL);
+        }
+
         if (receiverBufferSize() < sessionBufferSize())
         {
             throw new IllegalArgumentException(String.format(
@@ -976,6 +1154,12 @@ public final class EngineConfiguration extends CommonConfiguration implements Au
                 sessionBufferSize()));
         }
 
+        if (receiverPollingBatchSize() <= 0)
+        {
+            throw new IllegalArgumentException(
+                "receiverPollingBatchSize must be positive, but was " + receiverPollingBatchSize());
+        }
+
         if (deleteLogFileDirOnStart())
         {
             final File logFileDir = new File(logFileDir());
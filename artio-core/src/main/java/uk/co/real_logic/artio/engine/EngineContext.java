@@ -57,10 +57,10 @@ public class EngineContext implements AutoCloseable
     private Streams inboundLibraryStreams;
     private Streams outboundLibraryStreams;
 
-    // Indexers are owned by the indexingAgent
+    // Each archiving agent exclusively owns the indices that it writes to
+    private final List<Agent> archivingAgents = new ArrayList<>();
     private Indexer inboundIndexer;
     private Indexer outboundIndexer;
-    private Agent indexingAgent;
 
     EngineContext(
         final EngineConfiguration configuration,
@@ -158,7 +158,8 @@ public class EngineContext implements AutoCloseable
             LoggerUtil::map,
             ReplayIndexDescriptor.replayPositionBuffer(logFileDir, streamId),
             errorHandler,
-            recordingIdLookup);
+            recordingIdLookup,
+            configuration.replayIndexSegmentsToRetain());
     }
 
     private ReplayQuery newReplayQuery(final IdleStrategy idleStrategy, final int streamId)
@@ -177,7 +178,8 @@ public class EngineContext implements AutoCloseable
             idleStrategy,
             aeronArchive,
             errorHandler,
-            archiveReplayStream);
+            archiveReplayStream,
+            configuration.replayIndexSegmentsToRetain());
     }
 
     private Replayer newReplayer(
@@ -250,12 +252,9 @@ public class EngineContext implements AutoCloseable
 
             final Replayer replayer = newReplayer(replayPublication);
 
-            final List<Agent> agents = new ArrayList<>();
-            agents.add(inboundIndexer);
-            agents.add(outboundIndexer);
-            agents.add(replayer);
-
-            indexingAgent = new CompositeAgent(agents);
+            archivingAgents.add(inboundIndexer);
+            archivingAgents.add(outboundIndexer);
+            archivingAgents.add(replayer);
         }
         else
         {
@@ -266,11 +265,11 @@ public class EngineContext implements AutoCloseable
                 clock,
                 configuration.outboundMaxClaimAttempts());
 
-            indexingAgent = new GapFiller(
+            archivingAgents.add(new GapFiller(
                 inboundLibraryStreams.subscription("replayer"),
                 replayGatewayPublication,
                 configuration.agentNamePrefix(),
-                senderSequenceNumbers, new FixSessionCodecsFactory());
+                senderSequenceNumbers, new FixSessionCodecsFactory()));
         }
     }
 
@@ -325,9 +324,9 @@ public class EngineContext implements AutoCloseable
         outboundClusterCompletionPosition.completeDuringStartup();
     }
 
-    Agent indexingAgent()
+    List<Agent> archivingAgents()
     {
-        return indexingAgent;
+        return archivingAgents;
     }
 
     public SenderSequenceNumbers senderSequenceNumbers()
@@ -19,6 +19,9 @@ import io.aeron.Aeron;
 import org.agrona.ErrorHandler;
 import org.agrona.concurrent.Agent;
 import org.agrona.concurrent.AgentRunner;
+import org.agrona.concurrent.CompositeAgent;
+
+import java.util.List;
 
 /**
  * Interface for determining how an Engine's Agents are allocated to threads.
@@ -45,6 +48,45 @@ public interface EngineScheduler extends AutoCloseable
         Agent conductorAgent,
         RecordingCoordinator recordingCoordinator);
 
+    /**
+     * Invoked by the FIX Engine to start the threads, with the agents that make up the archiver passed separately.
+     * These are the inbound indexer, the outbound indexer and the replayer, or just a gap filler when outbound
+     * messages aren't logged. Each of these agents exclusively owns the indices and publications that it writes to,
+     * so they can be run on separate threads.
+     *
+     * By default they're composed onto a single agent and scheduled via
+     * {@link #launch(EngineConfiguration, ErrorHandler, Agent, Agent, Agent, Agent, RecordingCoordinator)}.
+     *
+     * @param configuration the engine's configuration object.
+     * @param errorHandler the ErrorHandler used by the engine.
+     * @param framer the framer agent to schedule.
+     * @param archivingAgents the archiver agents to schedule.
+     * @param monitoringAgent the monitoring agent to schedule.
+     * @param conductorAgent if aeron has useConductorInvoker enable it
+     * @param recordingCoordinator must be shut down after the Framer but before the conductorAgent.
+     */
+    default void launch(
+        EngineConfiguration configuration,
+        ErrorHandler errorHandler,
+        Agent framer,
+        List<Agent> archivingAgents,
+        Agent monitoringAgent,
+        Agent conductorAgent,
+        RecordingCoordinator recordingCoordinator)
+    {
+        final Agent indexingAgent = archivingAgents.size() == 1 ?
+            archivingAgents.get(0) : new CompositeAgent(archivingAgents);
+
+        launch(
+            configuration,
+            errorHandler,
+            framer,
+            indexingAgent,
+            monitoringAgent,
+            conductorAgent,
+            recordingCoordinator);
+    }
+
     /**
      * Invoked by the FIX Engine to stop the threads. Should only return once they are completed stopped.
      */
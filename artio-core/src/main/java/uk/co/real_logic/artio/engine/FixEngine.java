@@ -148,6 +148,18 @@ public final class FixEngine extends GatewayProcess
         return framerContext.resetSequenceNumber(sessionId);
     }
 
+    /**
+     * Switch the timing of messages sent through this engine on or off whilst it's running. Timing starts enabled
+     * if the {@link uk.co.real_logic.artio.CommonConfiguration#TIME_MESSAGES_PROPERTY} is set. This method can be
+     * called from any thread.
+     *
+     * @param enabled true to record timings, false otherwise.
+     */
+    public void timeMessages(final boolean enabled)
+    {
+        timers.enabled(enabled);
+    }
+
     /**
      * This method resets the state of the of the FixEngine that also performs usual end of day processing
      * operations. It must can only be called when the FixEngine object has been closed. These are:
@@ -316,7 +328,7 @@ public final class FixEngine extends GatewayProcess
             configuration,
             errorHandler,
             framerContext.framer(),
-            engineContext.indexingAgent(),
+            engineContext.archivingAgents(),
             monitoringAgent,
             conductorAgent(),
             recordingCoordinator);
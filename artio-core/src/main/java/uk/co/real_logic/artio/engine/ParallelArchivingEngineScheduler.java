@@ -0,0 +1,138 @@
+/*
+ * Copyright 2015-2019 Real Logic Ltd, Adaptive Financial Consulting Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.engine;
+
+import io.aeron.Aeron;
+import org.agrona.ErrorHandler;
+import org.agrona.concurrent.Agent;
+import org.agrona.concurrent.AgentRunner;
+import org.agrona.concurrent.IdleStrategy;
+import uk.co.real_logic.artio.CommonConfiguration;
+import uk.co.real_logic.artio.dictionary.generation.Exceptions;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Supplier;
+
+import static org.agrona.concurrent.AgentRunner.startOnThread;
+
+/**
+ * A scheduler that runs each of the archiving agents - the inbound indexer, the outbound indexer and the replayer -
+ * on its own thread, so that a burst of resend requests doesn't delay indexing and vice versa. The framer and
+ * monitoring agents each get their own thread, as with the {@link DefaultEngineScheduler}.
+ *
+ * Idle strategies generally hold per-thread state, so each archiving thread idles with a new instance from the
+ * supplied factory rather than sharing {@link EngineConfiguration#archiverIdleStrategy()}.
+ *
+ * NB: Ensure that a new instance is created for each engine.
+ */
+public class ParallelArchivingEngineScheduler implements EngineScheduler
+{
+    private final List<AgentRunner> archivingRunners = new ArrayList<>();
+    private final Supplier<IdleStrategy> archiverIdleStrategySupplier;
+    private AgentRunner framerRunner;
+    private AgentRunner monitoringRunner;
+    private RecordingCoordinator recordingCoordinator;
+
+    public ParallelArchivingEngineScheduler()
+    {
+        this(CommonConfiguration::backoffIdleStrategy);
+    }
+
+    public ParallelArchivingEngineScheduler(final Supplier<IdleStrategy> archiverIdleStrategySupplier)
+    {
+        this.archiverIdleStrategySupplier = archiverIdleStrategySupplier;
+    }
+
+    public void launch(
+        final EngineConfiguration configuration,
+        final ErrorHandler errorHandler,
+        final Agent framer,
+        final Agent indexingAgent,
+        final Agent monitoringAgent,
+        final Agent conductorAgent,
+        final RecordingCoordinator recordingCoordinator)
+    {
+        launch(
+            configuration,
+            errorHandler,
+            framer,
+            Collections.singletonList(indexingAgent),
+            monitoringAgent,
+            conductorAgent,
+            recordingCoordinator);
+    }
+
+    public void launch(
+        final EngineConfiguration configuration,
+        final ErrorHandler errorHandler,
+        final Agent framer,
+        final List<Agent> archivingAgents,
+        final Agent monitoringAgent,
+        final Agent conductorAgent,
+        final RecordingCoordinator recordingCoordinator)
+    {
+        this.recordingCoordinator = recordingCoordinator;
+        if (framerRunner != null)
+        {
+            EngineScheduler.fail();
+        }
+
+        final ThreadFactory threadFactory = configuration.threadFactory();
+
+        framerRunner = new AgentRunner(
+            configuration.framerIdleStrategy(), errorHandler, null, framer);
+        startOnThread(framerRunner, threadFactory);
+
+        for (final Agent archivingAgent : archivingAgents)
+        {
+            final AgentRunner archivingRunner = new AgentRunner(
+                archiverIdleStrategySupplier.get(), errorHandler, null, archivingAgent);
+            archivingRunners.add(archivingRunner);
+            startOnThread(archivingRunner, threadFactory);
+        }
+
+        if (monitoringAgent != null)
+        {
+            monitoringRunner = new AgentRunner(
+                configuration.monitoringThreadIdleStrategy(),
+                errorHandler,
+                null,
+                monitoringAgent);
+            startOnThread(monitoringRunner, threadFactory);
+        }
+    }
+
+    public void close()
+    {
+        EngineScheduler.awaitRunnerStart(framerRunner);
+        archivingRunners.forEach(EngineScheduler::awaitRunnerStart);
+        EngineScheduler.awaitRunnerStart(monitoringRunner);
+
+        final List<AutoCloseable> closeables = new ArrayList<>();
+        closeables.add(framerRunner);
+        closeables.addAll(archivingRunners);
+        closeables.add(recordingCoordinator);
+        closeables.add(monitoringRunner);
+        Exceptions.closeAll(closeables);
+    }
+
+    public void configure(final Aeron.Context aeronContext)
+    {
+    }
+}
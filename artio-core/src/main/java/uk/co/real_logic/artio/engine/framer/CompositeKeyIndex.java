@@ -0,0 +1,203 @@
+/*
+ * Copyright 2015-2019 Real Logic Ltd, Adaptive Financial Consulting Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.engine.framer;
+
+import org.agrona.BitUtil;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+import java.nio.ByteBuffer;
+
+import static org.agrona.BitUtil.SIZE_OF_LONG;
+
+/**
+ * An open addressing hash index from the encoded bytes of a composite key to the position of the record that holds
+ * them within the session id file.
+ * <p>
+ * The index is held off heap and doesn't copy the keys: each slot packs the hash of a key together with the position
+ * of its record, and candidate records are compared byte for byte against the probing key. This means that a key
+ * encoded into a scratch buffer can be looked up without creating a {@link uk.co.real_logic.artio.session.CompositeKey}
+ * and that loading the index on startup doesn't allocate per record.
+ */
+class CompositeKeyIndex
+{
+    static final int MISSING_RECORD = -1;
+
+    private static final int MIN_CAPACITY = 64;
+    private static final long EMPTY_SLOT = 0;
+
+    private final DirectBuffer records;
+    private final RecordKeys recordKeys;
+
+    private UnsafeBuffer slots;
+    private int mask;
+    private int resizeThreshold;
+    private int size;
+
+    /**
+     * Locates the encoded composite key within a record.
+     */
+    interface RecordKeys
+    {
+        int keyOffset(int recordPosition);
+
+        int keyLength(int recordPosition);
+    }
+
+    CompositeKeyIndex(final DirectBuffer records, final RecordKeys recordKeys, final int expectedSize)
+    {
+        this.records = records;
+        this.recordKeys = recordKeys;
+        allocate(BitUtil.findNextPositivePowerOfTwo(Math.max(MIN_CAPACITY, expectedSize * 2)));
+    }
+
+    static int hash(final DirectBuffer buffer, final int offset, final int length)
+    {
+        int hash = 0;
+        for (int i = offset, end = offset + length; i < end; i++)
+        {
+            hash = 31 * hash + buffer.getByte(i);
+        }
+
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Find the record whose key has the same encoding as the given key.
+     *
+     * @param keyBuffer the buffer holding the encoded key.
+     * @param keyOffset the offset of the encoded key.
+     * @param keyLength the length of the encoded key.
+     * @param hash the hash of the encoded key, from {@link #hash(DirectBuffer, int, int)}.
+     * @return the position of the record or {@link #MISSING_RECORD} if it isn't indexed.
+     */
+    int lookup(final DirectBuffer keyBuffer, final int keyOffset, final int keyLength, final int hash)
+    {
+        final UnsafeBuffer slots = this.slots;
+        final int mask = this.mask;
+        int index = hash & mask;
+        long slot;
+        while ((slot = slots.getLong(index * SIZE_OF_LONG)) != EMPTY_SLOT)
+        {
+            if (slotHash(slot) == hash)
+            {
+                final int recordPosition = slotRecordPosition(slot);
+                if (keyEquals(recordPosition, keyBuffer, keyOffset, keyLength))
+                {
+                    return recordPosition;
+                }
+            }
+
+            index = (index + 1) & mask;
+        }
+
+        return MISSING_RECORD;
+    }
+
+    /**
+     * Index a record, the record's key must not already be present in the index.
+     *
+     * @param hash the hash of the encoded key of the record.
+     * @param recordPosition the position of the record, must be greater than zero.
+     */
+    void insert(final int hash, final int recordPosition)
+    {
+        if (size >= resizeThreshold)
+        {
+            resize();
+        }
+
+        put(slots, mask, ((long)hash << 32) | (recordPosition & 0xFFFF_FFFFL));
+        size++;
+    }
+
+    int size()
+    {
+        return size;
+    }
+
+    void clear()
+    {
+        slots.setMemory(0, slots.capacity(), (byte)0);
+        size = 0;
+    }
+
+    private boolean keyEquals(
+        final int recordPosition, final DirectBuffer keyBuffer, final int keyOffset, final int keyLength)
+    {
+        if (recordKeys.keyLength(recordPosition) != keyLength)
+        {
+            return false;
+        }
+
+        final DirectBuffer records = this.records;
+        final int recordKeyOffset = recordKeys.keyOffset(recordPosition);
+        for (int i = 0; i < keyLength; i++)
+        {
+            if (records.getByte(recordKeyOffset + i) != keyBuffer.getByte(keyOffset + i))
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private void resize()
+    {
+        final UnsafeBuffer oldSlots = slots;
+        allocate((mask + 1) * 2);
+
+        final UnsafeBuffer slots = this.slots;
+        final int mask = this.mask;
+        for (int offset = 0, capacity = oldSlots.capacity(); offset < capacity; offset += SIZE_OF_LONG)
+        {
+            final long slot = oldSlots.getLong(offset);
+            if (slot != EMPTY_SLOT)
+            {
+                put(slots, mask, slot);
+            }
+        }
+    }
+
+    private void allocate(final int capacity)
+    {
+        slots = new UnsafeBuffer(ByteBuffer.allocateDirect(capacity * SIZE_OF_LONG));
+        mask = capacity - 1;
+        resizeThreshold = (capacity >> 1) + (capacity >> 2);
+    }
+
+    private static void put(final UnsafeBuffer slots, final int mask, final long slot)
+    {
+        int index = slotHash(slot) & mask;
+        while (slots.getLong(index * SIZE_OF_LONG) != EMPTY_SLOT)
+        {
+            index = (index + 1) & mask;
+        }
+
+        slots.putLong(index * SIZE_OF_LONG, slot);
+    }
+
+    private static int slotHash(final long slot)
+    {
+        return (int)(slot >>> 32);
+    }
+
+    private static int slotRecordPosition(final long slot)
+    {
+        return (int)slot;
+    }
+}
@@ -73,7 +73,8 @@ class EndPointFactory
             libraryId,
             gatewaySessions,
             configuration.clock(),
-            configuration.acceptorfixDictionary());
+            configuration.acceptorfixDictionary(),
+            configuration.batchInboundMessages());
     }
 
     SenderEndPoint senderEndPoint(
@@ -97,7 +98,8 @@ class EndPointFactory
             configuration.senderMaxBytesInBuffer(),
             configuration.slowConsumerTimeoutInMs(),
             System.currentTimeMillis(),
-            senderSequenceNumbers.onNewSender(connectionId));
+            senderSequenceNumbers.onNewSender(connectionId),
+            configuration.senderCoalescingBufferSize());
     }
 
     void replaySlowPeeker(final SlowPeeker replaySlowPeeker)
@@ -216,7 +216,8 @@ class Framer implements Agent, EngineEndPointHandler, ProtocolHandler
 
         acceptorHeaderDecoder = configuration.acceptorfixDictionary().makeHeaderDecoder();
 
-        receiverEndPoints = new ReceiverEndPoints(errorHandler);
+        receiverEndPoints = new ReceiverEndPoints(
+            errorHandler, configuration.receiverPollingMode(), configuration.receiverPollingBatchSize());
 
         this.librarySlowPeeker = new SubscriptionSlowPeeker(slowSubscription, librarySubscription);
 
@@ -369,6 +370,8 @@ class Framer implements Agent, EngineEndPointHandler, ProtocolHandler
     private int sendOutboundMessages()
     {
         int messagesRead = librarySubscription.controlledPoll(librarySubscriber, outboundLibraryFragmentLimit);
+        // Coalesced writes must hit the TCP connection before the slow peeker checks for slow consumers.
+        senderEndPoints.flushCoalescedMessages();
         messagesRead += librarySlowPeeker.peek(senderEndPointAssembler);
 
         if (nonLoggingPositionSender != null)
@@ -27,6 +27,7 @@ import uk.co.real_logic.artio.builder.Encoder;
 import uk.co.real_logic.artio.builder.SessionHeaderEncoder;
 import uk.co.real_logic.artio.engine.ByteBufferUtil;
 import uk.co.real_logic.artio.decoder.AbstractLogonDecoder;
+import uk.co.real_logic.artio.decoder.SessionHeaderDecoder;
 import uk.co.real_logic.artio.dictionary.FixDictionary;
 import uk.co.real_logic.artio.engine.FixEngine;
 import uk.co.real_logic.artio.engine.HeaderSetup;
@@ -584,8 +585,8 @@ class GatewaySessions
             final String username = SessionParser.username(logon);
             final String password = SessionParser.password(logon);
 
-            final CompositeKey compositeKey = sessionIdStrategy.onAcceptLogon(logon.header());
-            final SessionContext sessionContext = sessionContexts.onLogon(compositeKey);
+            final SessionHeaderDecoder header = logon.header();
+            final SessionContext sessionContext = sessionContexts.onAcceptLogon(header);
 
             if (sessionContext == DUPLICATE_SESSION)
             {
@@ -593,6 +594,8 @@ class GatewaySessions
                 return;
             }
 
+            final CompositeKey compositeKey = sessionIdStrategy.onAcceptLogon(header);
+
             sessionContext.onLogon(resetSeqNum);
             session.initialResetSeqNum(resetSeqNum);
             session.onLogon(
@@ -18,15 +18,17 @@ package uk.co.real_logic.artio.engine.framer;
 import org.agrona.DirectBuffer;
 import org.agrona.ExpandableArrayBuffer;
 import org.agrona.concurrent.UnsafeBuffer;
-import uk.co.real_logic.artio.ValidationError;
-import uk.co.real_logic.artio.dictionary.LongDictionary;
-import uk.co.real_logic.artio.dictionary.SessionConstants;
-import uk.co.real_logic.artio.fields.AsciiFieldFlyweight;
-import uk.co.real_logic.artio.otf.MessageControl;
-import uk.co.real_logic.artio.otf.OtfMessageAcceptor;
-import uk.co.real_logic.artio.otf.OtfParser;
-import uk.co.real_logic.artio.util.AsciiBuffer;
 
+import static uk.co.real_logic.artio.dictionary.SessionConstants.*;
+
+/**
+ * Replaces the Password and NewPassword fields of a message with a fixed placeholder so that they aren't archived.
+ * <p>
+ * Only the tags needed to find the passwords and rewrite the body length are looked at, rather than parsing the
+ * whole message, along with the lengths of data fields so that separators within their values are skipped. Messages
+ * without a password are passed through without being copied, otherwise the message is gathered into an internal
+ * buffer with the passwords replaced.
+ */
 class PasswordCleaner
 {
     private static final int NO_ENTRY = -1;
@@ -45,31 +47,34 @@ class PasswordCleaner
     private int bodyLengthOffset;
     private int lengthOfBodyLength;
 
-    private final FieldScanner fieldScanner = new FieldScanner();
-    private final OtfParser parser = new OtfParser(fieldScanner, new LongDictionary());
-    private final ExpandableArrayBuffer cleanedBuffer = new ExpandableArrayBuffer();
+    private final ExpandableArrayBuffer copyBuffer = new ExpandableArrayBuffer();
+    private DirectBuffer cleanedBuffer;
+    private int cleanedOffset;
     private int cleanedLength;
 
     public void clean(final DirectBuffer buffer, final int offset, final int length)
     {
-        parser.onMessage(buffer, offset, length);
+        scan(buffer, offset, length);
 
         final int passwordOffset = this.passwordOffset;
-        if (passwordOffset == NO_ENTRY)
+        final int newPasswordOffset = this.newPasswordOffset;
+        if (passwordOffset == NO_ENTRY && newPasswordOffset == NO_ENTRY)
         {
-            cleanedBuffer.putBytes(0, buffer, offset, length);
+            cleanedBuffer = buffer;
+            cleanedOffset = offset;
             cleanedLength = length;
             return;
         }
 
-        final int newPasswordOffset = this.newPasswordOffset;
+        cleanedBuffer = copyBuffer;
+        cleanedOffset = 0;
 
         final int firstOffset;
         final int firstLength;
         final int secondOffset;
         final int secondLength;
 
-        if (passwordOffset < newPasswordOffset || newPasswordOffset == NO_ENTRY)
+        if (newPasswordOffset == NO_ENTRY || (passwordOffset != NO_ENTRY && passwordOffset < newPasswordOffset))
         {
             firstOffset = passwordOffset;
             firstLength = passwordLength;
@@ -85,7 +90,7 @@ class PasswordCleaner
         }
 
         final int headLength = firstOffset - offset;
-        cleanedBuffer.putBytes(0, buffer, offset, headLength);
+        copyBuffer.putBytes(0, buffer, offset, headLength);
 
         putReplacement(headLength);
 
@@ -97,14 +102,14 @@ class PasswordCleaner
         if (secondOffset == NO_ENTRY)
         {
             final int tailLength = length - (headLength + firstLength);
-            cleanedBuffer.putBytes(nextDestOffset, buffer, nextSrcOffset, tailLength);
+            copyBuffer.putBytes(nextDestOffset, buffer, nextSrcOffset, tailLength);
 
             newPasswordLengthChange = 0;
         }
         else
         {
             final int midLength = secondOffset - nextSrcOffset;
-            cleanedBuffer.putBytes(nextDestOffset, buffer, nextSrcOffset, midLength);
+            copyBuffer.putBytes(nextDestOffset, buffer, nextSrcOffset, midLength);
 
             final int destNewPasswordOffset = nextDestOffset + midLength;
 
@@ -113,7 +118,7 @@ class PasswordCleaner
             final int tailSrcOffset = secondOffset + secondLength;
             final int tailLength = (length + offset) - (tailSrcOffset);
             final int tailDestOffset = destNewPasswordOffset + REPLACEMENT_LENGTH;
-            cleanedBuffer.putBytes(tailDestOffset, buffer, tailSrcOffset, tailLength);
+            copyBuffer.putBytes(tailDestOffset, buffer, tailSrcOffset, tailLength);
 
             newPasswordLengthChange = secondLength - REPLACEMENT_LENGTH;
         }
@@ -127,14 +132,14 @@ class PasswordCleaner
 
     private void putReplacement(final int destNewPasswordOffset)
     {
-        cleanedBuffer.putBytes(destNewPasswordOffset, REPLACEMENT, 0, REPLACEMENT_LENGTH);
+        copyBuffer.putBytes(destNewPasswordOffset, REPLACEMENT, 0, REPLACEMENT_LENGTH);
     }
 
     private void updateBodyLengthField(final int offset, final int lengthChange)
     {
         final int newBodyLength = bodyLength - lengthChange;
         final int relativeBodyLengthOffset = bodyLengthOffset - offset;
-        cleanedBuffer.putNaturalPaddedIntAscii(relativeBodyLengthOffset, lengthOfBodyLength,
+        copyBuffer.putNaturalPaddedIntAscii(relativeBodyLengthOffset, lengthOfBodyLength,
             newBodyLength);
     }
 
@@ -143,74 +148,148 @@ class PasswordCleaner
         return cleanedBuffer;
     }
 
+    public int cleanedOffset()
+    {
+        return cleanedOffset;
+    }
+
     public int cleanedLength()
     {
         return cleanedLength;
     }
 
-    private class FieldScanner implements OtfMessageAcceptor
+    private void scan(final DirectBuffer buffer, final int offset, final int length)
     {
-        public MessageControl onNext()
+        passwordOffset = NO_ENTRY;
+        newPasswordOffset = NO_ENTRY;
+        bodyLength = NO_ENTRY;
+        bodyLengthOffset = NO_ENTRY;
+        lengthOfBodyLength = NO_ENTRY;
+
+        final int end = offset + length;
+        int dataTag = NO_ENTRY;
+        int dataLength = NO_ENTRY;
+        int position = offset;
+        while (position < end)
         {
-            passwordOffset = NO_ENTRY;
-            newPasswordOffset = NO_ENTRY;
-            bodyLength = NO_ENTRY;
-            bodyLengthOffset = NO_ENTRY;
-            lengthOfBodyLength = NO_ENTRY;
-            return MessageControl.CONTINUE;
-        }
+            int tag = 0;
+            byte character;
+            while ((character = buffer.getByte(position)) != '=')
+            {
+                tag = tag * 10 + (character - '0');
+                if (++position == end)
+                {
+                    return;
+                }
+            }
+
+            final int valueOffset = position + 1;
+            final int valueEnd = tag == dataTag ?
+                valueOffset + Math.min(dataLength, end - valueOffset) : endOfValue(buffer, valueOffset, end);
+            final int valueLength = valueEnd - valueOffset;
 
-        public MessageControl onField(final int tag, final AsciiBuffer buffer, final int offset, final int length)
-        {
             switch (tag)
             {
-                case SessionConstants.PASSWORD:
-                    passwordOffset = offset;
-                    passwordLength = length;
+                case BODY_LENGTH:
+                    bodyLengthOffset = valueOffset;
+                    lengthOfBodyLength = valueLength;
+                    bodyLength = buffer.parseNaturalIntAscii(valueOffset, valueLength);
                     break;
 
-                case SessionConstants.NEW_PASSWORD:
-                    newPasswordOffset = offset;
-                    newPasswordLength = length;
+                case PASSWORD:
+                    passwordOffset = valueOffset;
+                    passwordLength = valueLength;
                     break;
 
-                case SessionConstants.BODY_LENGTH:
-                    bodyLengthOffset = offset;
-                    lengthOfBodyLength = length;
-                    bodyLength = buffer.getInt(offset, offset + length);
+                case NEW_PASSWORD:
+                    newPasswordOffset = valueOffset;
+                    newPasswordLength = valueLength;
                     break;
+
+                case CHECKSUM:
+                    return;
+
+                default:
+                    final int dataTagOfLength = dataTagOfLengthTag(tag);
+                    if (dataTagOfLength != NO_ENTRY)
+                    {
+                        // A malformed length is treated as though it wasn't a length field, so the following
+                        // field is read up to the next separator rather than rejecting the whole message.
+                        dataLength = parseLength(buffer, valueOffset, valueLength);
+                        dataTag = dataLength == NO_ENTRY ? NO_ENTRY : dataTagOfLength;
+                    }
             }
-            return MessageControl.CONTINUE;
-        }
 
-        public MessageControl onGroupHeader(final int tag, final int numInGroup)
-        {
-            return MessageControl.CONTINUE;
+            position = valueEnd + 1;
         }
+    }
 
-        public MessageControl onGroupBegin(final int tag, final int numInGroup, final int index)
+    /**
+     * Data fields may contain a separator, so their values have to be skipped using the preceding length field. Data
+     * fields usually directly follow their length field's tag number, but not always, eg: SignatureLength and
+     * Signature.
+     *
+     * @param lengthTag the tag of a field.
+     * @return the tag of the data field whose length is given by the field or {@link #NO_ENTRY} if it isn't a length.
+     */
+    private static int dataTagOfLengthTag(final int lengthTag)
+    {
+        switch (lengthTag)
         {
-            return MessageControl.CONTINUE;
+            case 90: return 91; // SecureDataLen -> SecureData
+            case 93: return 89; // SignatureLength -> Signature
+            case 95: return 96; // RawDataLength -> RawData
+            case 212: return 213; // XmlDataLen -> XmlData
+            case 348: return 349; // EncodedIssuerLen -> EncodedIssuer
+            case 350: return 351; // EncodedSecurityDescLen -> EncodedSecurityDesc
+            case 352: return 353; // EncodedListExecInstLen -> EncodedListExecInst
+            case 354: return 355; // EncodedTextLen -> EncodedText
+            case 356: return 357; // EncodedSubjectLen -> EncodedSubject
+            case 358: return 359; // EncodedHeadlineLen -> EncodedHeadline
+            case 360: return 361; // EncodedAllocTextLen -> EncodedAllocText
+            case 362: return 363; // EncodedUnderlyingIssuerLen -> EncodedUnderlyingIssuer
+            case 364: return 365; // EncodedUnderlyingSecurityDescLen -> EncodedUnderlyingSecurityDesc
+            case 445: return 446; // EncodedListStatusTextLen -> EncodedListStatusText
+            case 618: return 619; // EncodedLegIssuerLen -> EncodedLegIssuer
+            case 621: return 622; // EncodedLegSecurityDescLen -> EncodedLegSecurityDesc
+            case 1184: return 1185; // SecurityXMLLen -> SecurityXML
+            case 1401: return 1402; // EncryptedPasswordLen -> EncryptedPassword
+            case 1403: return 1404; // EncryptedNewPasswordLen -> EncryptedNewPassword
+            default: return NO_ENTRY;
         }
+    }
 
-        public MessageControl onGroupEnd(final int tag, final int numInGroup, final int index)
+    private static int parseLength(final DirectBuffer buffer, final int valueOffset, final int valueLength)
+    {
+        if (valueLength == 0)
         {
-            return MessageControl.CONTINUE;
+            return NO_ENTRY;
         }
 
-        public MessageControl onComplete()
+        int length = 0;
+        final int valueEnd = valueOffset + valueLength;
+        for (int position = valueOffset; position < valueEnd; position++)
         {
-            return MessageControl.CONTINUE;
+            final int digit = buffer.getByte(position) - '0';
+            if (digit < 0 || digit > 9 || length > (Integer.MAX_VALUE - digit) / 10)
+            {
+                return NO_ENTRY;
+            }
+
+            length = length * 10 + digit;
         }
 
-        public boolean onError(
-            final ValidationError error,
-            final long messageType,
-            final int tagNumber,
-            final AsciiFieldFlyweight value)
+        return length;
+    }
+
+    private static int endOfValue(final DirectBuffer buffer, final int valueOffset, final int end)
+    {
+        int position = valueOffset;
+        while (position < end && buffer.getByte(position) != START_OF_HEADER)
         {
-            return false;
+            position++;
         }
 
+        return position;
     }
 }
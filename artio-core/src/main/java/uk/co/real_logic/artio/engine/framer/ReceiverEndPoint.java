@@ -17,6 +17,8 @@ package uk.co.real_logic.artio.engine.framer;
 
 import org.agrona.DirectBuffer;
 import org.agrona.ErrorHandler;
+import org.agrona.collections.IntArrayList;
+import org.agrona.collections.LongArrayList;
 import org.agrona.concurrent.status.AtomicCounter;
 import uk.co.real_logic.artio.Clock;
 import uk.co.real_logic.artio.DebugLogger;
@@ -55,6 +57,9 @@ import static uk.co.real_logic.artio.util.AsciiBuffer.UNKNOWN_INDEX;
  * The receiver end point frames the TCP FIX messages into Aeron fragments.
  * It also handles backpressure coming from the Aeron stream and applies it to
  * its own TCP connections.
+ * <p>
+ * When batching is enabled the complete messages framed from a single read are published as a single block,
+ * this is flushed before anything else is published and before the receive buffer is compacted.
  */
 class ReceiverEndPoint
 {
@@ -90,6 +95,10 @@ class ReceiverEndPoint
     private final ByteBuffer byteBuffer;
     private final GatewaySessions gatewaySessions;
     private final Clock clock;
+    private final boolean batchMessages;
+    private final IntArrayList batchedMessageOffsets = new IntArrayList();
+    private final IntArrayList batchedMessageLengths = new IntArrayList();
+    private final LongArrayList batchedMessageTypes = new LongArrayList();
 
     private int libraryId;
     private GatewaySession gatewaySession;
@@ -120,7 +129,8 @@ class ReceiverEndPoint
         final int libraryId,
         final GatewaySessions gatewaySessions,
         final Clock clock,
-        final FixDictionary acceptorFixDictionary)
+        final FixDictionary acceptorFixDictionary,
+        final boolean batchMessages)
     {
         Objects.requireNonNull(publication, "publication");
         Objects.requireNonNull(sessionContexts, "sessionContexts");
@@ -140,6 +150,7 @@ class ReceiverEndPoint
         this.gatewaySessions = gatewaySessions;
         this.clock = clock;
         this.acceptorLogon = acceptorFixDictionary.makeLogonDecoder();
+        this.batchMessages = batchMessages;
 
         byteBuffer = ByteBuffer.allocateDirect(bufferSize);
         buffer = new MutableAsciiBuffer(byteBuffer);
@@ -355,7 +366,7 @@ class ReceiverEndPoint
                     }
 
                     messagesRead.incrementOrdered();
-                    if (!saveMessage(offset, messageType, length, readTimestamp))
+                    if (!batchOrSaveMessage(offset, messageType, length, readTimestamp))
                     {
                         return false;
                     }
@@ -374,6 +385,11 @@ class ReceiverEndPoint
             }
         }
 
+        if (!flushBatch())
+        {
+            return false;
+        }
+
         moveRemainingDataToBufferStart(offset);
         return true;
     }
@@ -501,8 +517,103 @@ class ReceiverEndPoint
         return backPressured;
     }
 
+    private boolean batchOrSaveMessage(
+        final int offset, final long messageType, final int length, final long readTimestamp)
+    {
+        if (batchMessages && messageType != LOGON_MESSAGE_TYPE && messageType != USER_REQUEST_MESSAGE_TYPE)
+        {
+            if (batchMessage(offset, messageType, length, readTimestamp))
+            {
+                return true;
+            }
+
+            // The batch is full, so flush it and start another one, unless the message is too large to batch.
+            if (!flushBatch())
+            {
+                return false;
+            }
+
+            if (batchMessage(offset, messageType, length, readTimestamp))
+            {
+                return true;
+            }
+        }
+
+        return saveMessage(offset, messageType, length, readTimestamp);
+    }
+
+    private boolean batchMessage(
+        final int offset, final long messageType, final int length, final long readTimestamp)
+    {
+        final boolean batched = publication.batchMessage(
+            buffer,
+            offset,
+            length,
+            libraryId,
+            messageType,
+            sessionId,
+            sequenceIndex,
+            connectionId,
+            OK,
+            0,
+            readTimestamp);
+
+        if (batched)
+        {
+            batchedMessageOffsets.addInt(offset);
+            batchedMessageLengths.addInt(length);
+            batchedMessageTypes.addLong(messageType);
+        }
+
+        return batched;
+    }
+
+    // returns false if back-pressured, in which case the batched messages are framed again on retry.
+    private boolean flushBatch()
+    {
+        final IntArrayList batchedMessageOffsets = this.batchedMessageOffsets;
+        final int batchedMessageCount = batchedMessageOffsets.size();
+        if (batchedMessageCount == 0)
+        {
+            return true;
+        }
+
+        final long position = publication.flushBatch();
+        final boolean backPressured = Pressure.isBackPressured(position);
+        if (backPressured)
+        {
+            publication.discardBatch();
+            moveRemainingDataToBufferStart(batchedMessageOffsets.getInt(0));
+        }
+        else
+        {
+            final IntArrayList batchedMessageLengths = this.batchedMessageLengths;
+            final LongArrayList batchedMessageTypes = this.batchedMessageTypes;
+            for (int i = 0; i < batchedMessageCount; i++)
+            {
+                gatewaySession.onMessage(
+                    buffer,
+                    batchedMessageOffsets.getInt(i),
+                    batchedMessageLengths.getInt(i),
+                    batchedMessageTypes.getLong(i),
+                    sessionId);
+            }
+        }
+
+        batchedMessageOffsets.clear();
+        batchedMessageLengths.clear();
+        batchedMessageTypes.clear();
+
+        return !backPressured;
+    }
+
     private boolean saveMessage(final int offset, final long messageType, final int length, final long readTimestamp)
     {
+        if (!flushBatch())
+        {
+            return false;
+        }
+
         return saveMessage(offset, messageType, length, sessionId, sequenceIndex, readTimestamp);
     }
 
@@ -529,8 +640,8 @@ class ReceiverEndPoint
 
             passwordCleaner.clean(buffer, offset, length);
 
-            offset = 0;
             buffer = passwordCleaner.cleanedBuffer();
+            offset = passwordCleaner.cleanedOffset();
             length = passwordCleaner.cleanedLength();
         }
 
@@ -549,7 +660,7 @@ class ReceiverEndPoint
 
         if (Pressure.isBackPressured(position))
         {
-            moveRemainingDataToBufferStart(offset);
+            moveRemainingDataToBufferStart(messageOffset);
             return false;
         }
         else
@@ -617,6 +728,11 @@ class ReceiverEndPoint
 
     private boolean saveInvalidMessage(final int offset, final int startOfChecksumTag, final long readTimestamp)
     {
+        if (!flushBatch())
+        {
+            return true;
+        }
+
         final long position = publication.saveMessage(
             buffer,
             offset,
@@ -636,6 +752,11 @@ class ReceiverEndPoint
     // returns true if back-pressured
     private boolean saveInvalidMessage(final int offset, final long readTimestamp)
     {
+        if (!flushBatch())
+        {
+            return true;
+        }
+
         final long position = publication.saveMessage(
             buffer,
             offset,
@@ -667,6 +788,11 @@ class ReceiverEndPoint
     private boolean saveInvalidChecksumMessage(
         final int offset, final long messageType, final int length, final long readTimestamp)
     {
+        if (!flushBatch())
+        {
+            return true;
+        }
+
         final long position = publication.saveMessage(
             buffer,
             offset,
@@ -31,6 +31,8 @@ import static uk.co.real_logic.artio.messages.DisconnectReason.ENGINE_SHUTDOWN;
 class ReceiverEndPoints extends TransportPoller
 {
     private final ErrorHandler errorHandler;
+    private final ReceiverPollingMode pollingMode;
+    private final int pollingBatchSize;
 
     // Authentication flow requires periodic polling of the receiver end points until the authentication is
     // complete, so these endpoints are always polled, rather than using the selector.
@@ -39,10 +41,20 @@ class ReceiverEndPoints extends TransportPoller
     // An endpoint that has read data out of the TCP layer but has been back-pressured when attempting to write
     // the data into the Aeron stream.
     private ReceiverEndPoint backpressuredEndPoint = null;
+    // The index of the next endpoint to be read when spinning over the endpoints in batches.
+    private int nextSpinIndex = 0;
 
     ReceiverEndPoints(final ErrorHandler errorHandler)
+    {
+        this(errorHandler, ReceiverPollingMode.HYBRID, Integer.MAX_VALUE);
+    }
+
+    ReceiverEndPoints(
+        final ErrorHandler errorHandler, final ReceiverPollingMode pollingMode, final int pollingBatchSize)
     {
         this.errorHandler = errorHandler;
+        this.pollingMode = pollingMode;
+        this.pollingBatchSize = pollingBatchSize;
     }
 
     void add(final ReceiverEndPoint endPoint)
@@ -62,7 +74,10 @@ class ReceiverEndPoints extends TransportPoller
         try
         {
             endPoints = ArrayUtil.add(endPoints, endPoint);
-            endPoint.register(selector);
+            if (pollingMode != ReceiverPollingMode.SPIN)
+            {
+                endPoint.register(selector);
+            }
         }
         catch (final IOException ex)
         {
@@ -185,8 +200,13 @@ class ReceiverEndPoints extends TransportPoller
         int bytesReceived = 0;
         final ReceiverEndPoint[] endPoints = this.endPoints;
         final int numEndPoints = endPoints.length;
+        if (pollingMode == ReceiverPollingMode.SPIN)
+        {
+            return pollSpinBatch(endPoints, numEndPoints);
+        }
+
         final int threshold = ITERATION_THRESHOLD - numRequiredPollingEndPoints;
-        if (numEndPoints <= threshold)
+        if (pollingMode == ReceiverPollingMode.HYBRID && numEndPoints <= threshold)
         {
             bytesReceived = pollArray(bytesReceived, endPoints, numEndPoints);
         }
@@ -220,6 +240,37 @@ class ReceiverEndPoints extends TransportPoller
         return bytesReceived;
     }
 
+    private int pollSpinBatch(final ReceiverEndPoint[] endPoints, final int numEndPoints)
+    {
+        if (numEndPoints == 0)
+        {
+            return 0;
+        }
+
+        int bytesReceived = 0;
+        int index = nextSpinIndex < numEndPoints ? nextSpinIndex : 0;
+        final int batchSize = Math.min(pollingBatchSize, numEndPoints);
+        for (int i = 0; i < batchSize; i++)
+        {
+            final ReceiverEndPoint endPoint = endPoints[index];
+            final int polledBytes = endPoint.poll();
+            if (polledBytes < 0)
+            {
+                // Data has already been read out of the TCP layer, so retry this endpoint before reading any more.
+                backpressuredEndPoint = endPoint;
+                bytesReceived -= polledBytes;
+                break;
+            }
+
+            bytesReceived += polledBytes;
+            index = index + 1 < numEndPoints ? index + 1 : 0;
+        }
+
+        nextSpinIndex = index;
+
+        return bytesReceived;
+    }
+
     private int pollArray(
         final int bytesAlreadyReceived, final ReceiverEndPoint[] endPoints, final int numRequiredPollingEndPoints)
     {
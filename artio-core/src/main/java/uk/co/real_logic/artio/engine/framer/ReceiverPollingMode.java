@@ -0,0 +1,45 @@
+/*
+ * Copyright 2015-2017 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.engine.framer;
+
+/**
+ * Determines how the framer discovers which TCP connections have data to be read.
+ *
+ * Connections that are still authenticating are always polled directly, regardless of the mode.
+ */
+public enum ReceiverPollingMode
+{
+    /**
+     * Read every connection directly when there are only a few of them and use a {@link java.nio.channels.Selector}
+     * when the number of connections grows above the point where a select is cheaper than a read per connection.
+     */
+    HYBRID,
+
+    /**
+     * Always use a {@link java.nio.channels.Selector} in order to find the connections that have data to be read.
+     */
+    SELECTOR,
+
+    /**
+     * Never use a {@link java.nio.channels.Selector}, instead issue a non-blocking read to a batch of connections
+     * on each duty cycle of the framer, resuming from where the previous batch left off. This suits a busy spinning
+     * framer that runs over a kernel bypass network stack, where a read of an idle socket is cheap but a select
+     * call often isn't accelerated.
+     *
+     * @see uk.co.real_logic.artio.engine.EngineConfiguration#receiverPollingBatchSize(int)
+     */
+    SPIN
+}
@@ -19,6 +19,7 @@ import io.aeron.logbuffer.ControlledFragmentHandler.Action;
 import io.aeron.protocol.DataHeaderFlyweight;
 import org.agrona.DirectBuffer;
 import org.agrona.ErrorHandler;
+import org.agrona.concurrent.UnsafeBuffer;
 import org.agrona.concurrent.status.AtomicCounter;
 import uk.co.real_logic.artio.DebugLogger;
 import uk.co.real_logic.artio.engine.ByteBufferUtil;
@@ -29,6 +30,7 @@ import uk.co.real_logic.artio.messages.MessageHeaderDecoder;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 
 import static io.aeron.logbuffer.ControlledFragmentHandler.Action.CONTINUE;
 import static uk.co.real_logic.artio.LogTag.FIX_MESSAGE_TCP;
@@ -40,6 +42,7 @@ import static uk.co.real_logic.artio.protocol.GatewayPublication.FRAME_SIZE;
 class SenderEndPoint
 {
     private static final int HEADER_LENGTH = MessageHeaderDecoder.ENCODED_LENGTH;
+    private static final int INITIAL_COALESCED_MESSAGE_CAPACITY = 16;
 
     private final long connectionId;
     private final TcpChannel channel;
@@ -53,6 +56,16 @@ class SenderEndPoint
     private final StreamTracker replayTracker;
     private final SenderSequenceNumber senderSequenceNumber;
 
+    // Null when write coalescing is disabled
+    private final ByteBuffer coalescingByteBuffer;
+    private final UnsafeBuffer coalescingBuffer;
+    private final int coalescingBufferSize;
+    // End offset within the coalescing buffer and aeron position of each coalesced message
+    private int[] coalescedMessageEnds;
+    private long[] coalescedMessagePositions;
+    private int coalescedMessageCount;
+    private boolean flushScheduled;
+
     private int libraryId;
     private long sessionId;
     private long sendingTimeoutTimeInMs;
@@ -71,7 +84,8 @@ class SenderEndPoint
         final int maxBytesInBuffer,
         final long slowConsumerTimeoutInMs,
         final long timeInMs,
-        final SenderSequenceNumber senderSequenceNumber)
+        final SenderSequenceNumber senderSequenceNumber,
+        final int coalescingBufferSize)
     {
         this.connectionId = connectionId;
         this.libraryId = libraryId;
@@ -87,9 +101,29 @@ class SenderEndPoint
         outboundTracker = new StreamTracker(outboundBlockablePosition);
         replayTracker = new StreamTracker(replayBlockablePosition);
         sendingTimeoutTimeInMs = timeInMs + slowConsumerTimeoutInMs;
+
+        this.coalescingBufferSize = coalescingBufferSize;
+        if (coalescingBufferSize > 0)
+        {
+            coalescingByteBuffer = ByteBuffer.allocateDirect(coalescingBufferSize);
+            coalescingBuffer = new UnsafeBuffer(coalescingByteBuffer);
+            coalescedMessageEnds = new int[INITIAL_COALESCED_MESSAGE_CAPACITY];
+            coalescedMessagePositions = new long[INITIAL_COALESCED_MESSAGE_CAPACITY];
+        }
+        else
+        {
+            coalescingByteBuffer = null;
+            coalescingBuffer = null;
+        }
     }
 
-    void onOutboundMessage(
+    /**
+     * Write, or coalesce, an outbound message.
+     *
+     * @return true if the message has been coalesced and this end point now needs
+     * {@link #flushCoalescedMessages(long)} to be called before the end of the current duty cycle.
+     */
+    boolean onOutboundMessage(
         final int libraryId,
         final DirectBuffer directBuffer,
         final int offset,
@@ -101,19 +135,149 @@ class SenderEndPoint
         if (isWrongLibraryId(libraryId))
         {
             invalidLibraryAttempts.increment();
-            return;
+            return false;
         }
 
         if (replayPaused)
         {
             dropFurtherBehind(bodyLength);
 
-            return;
+            return false;
         }
 
-        attemptFramedMessage(directBuffer, offset, bodyLength, timeInMs, position, outboundTracker);
+        boolean requiresFlush = false;
+        if (coalescingBuffer == null)
+        {
+            attemptFramedMessage(directBuffer, offset, bodyLength, timeInMs, position, outboundTracker);
+        }
+        else
+        {
+            requiresFlush = coalesceFramedMessage(directBuffer, offset, bodyLength, timeInMs, position);
+        }
 
         senderSequenceNumber.onNewMessage(sequenceNumber);
+
+        return requiresFlush;
+    }
+
+    private boolean coalesceFramedMessage(
+        final DirectBuffer directBuffer,
+        final int offset,
+        final int bodyLength,
+        final long timeInMs,
+        final long position)
+    {
+        final int coalescedLength = coalescedLength();
+        if (coalescedLength + bodyLength > coalescingBufferSize)
+        {
+            writeCoalescedMessages(timeInMs);
+
+            if (bodyLength > coalescingBufferSize)
+            {
+                attemptFramedMessage(directBuffer, offset, bodyLength, timeInMs, position, outboundTracker);
+                return false;
+            }
+        }
+
+        if (isSlowConsumer())
+        {
+            dropFurtherBehind(bodyLength);
+
+            return false;
+        }
+
+        final int count = coalescedMessageCount;
+        if (count == coalescedMessageEnds.length)
+        {
+            coalescedMessageEnds = Arrays.copyOf(coalescedMessageEnds, count * 2);
+            coalescedMessagePositions = Arrays.copyOf(coalescedMessagePositions, count * 2);
+        }
+
+        final int start = coalescedLength();
+        coalescingBuffer.putBytes(start, directBuffer, offset, bodyLength);
+        coalescedMessageEnds[count] = start + bodyLength;
+        coalescedMessagePositions[count] = position;
+        coalescedMessageCount = count + 1;
+
+        if (flushScheduled)
+        {
+            return false;
+        }
+
+        flushScheduled = true;
+        return true;
+    }
+
+    void flushCoalescedMessages(final long timeInMs)
+    {
+        flushScheduled = false;
+        writeCoalescedMessages(timeInMs);
+    }
+
+    private void writeCoalescedMessages(final long timeInMs)
+    {
+        final int count = coalescedMessageCount;
+        if (count == 0)
+        {
+            return;
+        }
+
+        final int length = coalescedLength();
+        coalescedMessageCount = 0;
+
+        try
+        {
+            final ByteBuffer buffer = coalescingByteBuffer;
+            ByteBufferUtil.limit(buffer, length);
+            ByteBufferUtil.position(buffer, 0);
+
+            final int written = channel.write(buffer);
+            DebugLogger.log(FIX_MESSAGE_TCP, "Written  %s%n", buffer, written);
+            updateSendingTimeoutTimeInMs(timeInMs, written);
+
+            final int[] messageEnds = this.coalescedMessageEnds;
+            final long[] messagePositions = this.coalescedMessagePositions;
+            if (written == length)
+            {
+                outboundTracker.sentPosition = messagePositions[count - 1];
+                return;
+            }
+
+            // Account for the messages exactly as if they had been written one at a time: the first message that
+            // was only partially written makes this end point a slow consumer and the rest fall further behind.
+            int index = 0;
+            int messageStart = 0;
+            while (messageEnds[index] <= written)
+            {
+                messageStart = messageEnds[index];
+                index++;
+            }
+
+            if (index > 0)
+            {
+                outboundTracker.sentPosition = messagePositions[index - 1];
+            }
+
+            final int messageEnd = messageEnds[index];
+            becomeSlowConsumer(
+                written - messageStart, messageEnd - messageStart, messagePositions[index], outboundTracker);
+
+            final int unwrittenLength = length - messageEnd;
+            if (unwrittenLength > 0)
+            {
+                dropFurtherBehind(unwrittenLength);
+            }
+        }
+        catch (final IOException ex)
+        {
+            onError(ex);
+        }
+    }
+
+    private int coalescedLength()
+    {
+        final int count = coalescedMessageCount;
+        return count == 0 ? 0 : coalescedMessageEnds[count - 1];
     }
 
     Action onReplayMessage(
@@ -272,6 +436,8 @@ class SenderEndPoint
 
     public void close()
     {
+        // Any messages coalesced during this duty cycle are discarded along with the connection.
+        coalescedMessageCount = 0;
         bytesInBuffer.close();
         invalidLibraryAttempts.close();
     }
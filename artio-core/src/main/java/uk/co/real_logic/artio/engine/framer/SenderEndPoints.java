@@ -24,6 +24,7 @@ import uk.co.real_logic.artio.engine.FixEngine;
 import uk.co.real_logic.artio.messages.FixMessageDecoder;
 import uk.co.real_logic.artio.messages.MessageHeaderDecoder;
 
+import java.util.ArrayList;
 import java.util.function.LongToIntFunction;
 
 import static io.aeron.logbuffer.ControlledFragmentHandler.Action.CONTINUE;
@@ -35,6 +36,7 @@ class SenderEndPoints implements AutoCloseable, ControlledFragmentHandler
     private final MessageHeaderDecoder messageHeader = new MessageHeaderDecoder();
     private final FixMessageDecoder fixMessage = new FixMessageDecoder();
     private final Long2ObjectHashMap<SenderEndPoint> connectionIdToSenderEndpoint = new Long2ObjectHashMap<>();
+    private final ArrayList<SenderEndPoint> endPointsToFlush = new ArrayList<>();
     private final ErrorHandler errorHandler;
     private final LongToIntFunction libraryLookup = this::libraryLookup;
 
@@ -82,10 +84,31 @@ class SenderEndPoints implements AutoCloseable, ControlledFragmentHandler
         final long position)
     {
         final SenderEndPoint endPoint = connectionIdToSenderEndpoint.get(connectionId);
-        if (endPoint != null)
+        if (endPoint != null &&
+            endPoint.onOutboundMessage(libraryId, buffer, offset, length, sequenceNumber, position, timeInMs))
+        {
+            endPointsToFlush.add(endPoint);
+        }
+    }
+
+    int flushCoalescedMessages()
+    {
+        final ArrayList<SenderEndPoint> endPointsToFlush = this.endPointsToFlush;
+        final int size = endPointsToFlush.size();
+        if (size == 0)
         {
-            endPoint.onOutboundMessage(libraryId, buffer, offset, length, sequenceNumber, position, timeInMs);
+            return 0;
         }
+
+        // End points that are disconnected during the flush have already discarded their coalesced messages.
+        final long timeInMs = this.timeInMs;
+        for (int i = 0; i < size; i++)
+        {
+            endPointsToFlush.get(i).flushCoalescedMessages(timeInMs);
+        }
+        endPointsToFlush.clear();
+
+        return size;
     }
 
     Action onReplayMessage(
@@ -16,9 +16,12 @@
 package uk.co.real_logic.artio.engine.framer;
 
 import org.agrona.ErrorHandler;
+import org.agrona.collections.Long2LongHashMap;
+import org.agrona.collections.Long2ObjectHashMap;
 import org.agrona.collections.LongHashSet;
 import org.agrona.concurrent.AtomicBuffer;
 import org.agrona.concurrent.UnsafeBuffer;
+import uk.co.real_logic.artio.decoder.SessionHeaderDecoder;
 import uk.co.real_logic.artio.engine.ByteBufferUtil;
 import uk.co.real_logic.artio.engine.MappedFile;
 import uk.co.real_logic.artio.engine.SectorFramer;
@@ -30,17 +33,15 @@ import uk.co.real_logic.artio.session.Session;
 import uk.co.real_logic.artio.session.SessionIdStrategy;
 import uk.co.real_logic.artio.storage.messages.SessionIdDecoder;
 import uk.co.real_logic.artio.storage.messages.SessionIdEncoder;
-import uk.co.real_logic.artio.util.AsciiBuffer;
-import uk.co.real_logic.artio.util.MutableAsciiBuffer;
 
 import java.io.File;
 import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.Function;
 import java.util.zip.CRC32;
 
 import static uk.co.real_logic.artio.engine.SectorFramer.*;
+import static uk.co.real_logic.artio.engine.framer.CompositeKeyIndex.MISSING_RECORD;
 import static uk.co.real_logic.artio.session.SessionIdStrategy.INSUFFICIENT_SPACE;
 import static uk.co.real_logic.artio.storage.messages.SessionIdEncoder.BLOCK_LENGTH;
 
@@ -50,6 +51,11 @@ import static uk.co.real_logic.artio.storage.messages.SessionIdEncoder.BLOCK_LEN
  * The session ids table is saved into a file. Records are written out using the {@link SessionIdEncoder}
  * and aren't allowed to span sectors. Each sector has a CRC32 checksum and each checksum is updated after writing
  * each session id record.
+ * <p>
+ * Composite keys are looked up through an off heap {@link CompositeKeyIndex} over the encoded keys in the file, so
+ * loading the file doesn't create a key or context per record and looking up an existing session doesn't allocate.
+ * Contexts are created the first time that their session is looked up. Keys that can't be saved into the file are
+ * kept in an on heap map instead.
  */
 public class SessionContexts
 {
@@ -66,19 +72,24 @@ public class SessionContexts
     private static final int HEADER_SIZE = MessageHeaderDecoder.ENCODED_LENGTH;
 
     private static final int ENCODING_BUFFER_SIZE = SECTOR_SIZE - CHECKSUM_SIZE;
+    private static final int MISSING_SESSION_POSITION = -1;
+    private static final int TYPICAL_RECORD_LENGTH = BLOCK_LENGTH + 32;
+
     private final UnsafeBuffer compositeKeyBuffer = new UnsafeBuffer(new byte[ENCODING_BUFFER_SIZE]);
 
     private final MessageHeaderDecoder headerDecoder = new MessageHeaderDecoder();
     private final MessageHeaderEncoder headerEncoder = new MessageHeaderEncoder();
     private final SessionIdEncoder sessionIdEncoder = new SessionIdEncoder();
-    private final AsciiBuffer asciiBuffer = new MutableAsciiBuffer();
+    private final SessionIdDecoder sessionIdDecoder = new SessionIdDecoder();
     private final int actingBlockLength = sessionIdEncoder.sbeBlockLength();
     private final int actingVersion = sessionIdEncoder.sbeSchemaVersion();
 
-    private final Function<CompositeKey, SessionContext> onNewLogonFunc = this::onNewLogon;
     private final LongHashSet currentlyAuthenticatedSessionIds = new LongHashSet();
     private final LongHashSet recordedSessions = new LongHashSet();
-    private final Map<CompositeKey, SessionContext> compositeToContext = new HashMap<>();
+    private final Long2LongHashMap sessionIdToPosition = new Long2LongHashMap(MISSING_SESSION_POSITION);
+    private final Long2ObjectHashMap<SessionContext> sessionIdToContext = new Long2ObjectHashMap<>();
+    private final Map<CompositeKey, SessionContext> unsavedCompositeToContext = new HashMap<>();
+    private final CompositeKeyIndex compositeKeyIndex;
 
     private final CRC32 crc32 = new CRC32();
     private final SectorFramer sectorFramer;
@@ -103,6 +114,21 @@ public class SessionContexts
         sectorFramer = new SectorFramer(buffer.capacity());
         this.idStrategy = idStrategy;
         this.errorHandler = errorHandler;
+        compositeKeyIndex = new CompositeKeyIndex(
+            buffer,
+            new CompositeKeyIndex.RecordKeys()
+            {
+                public int keyOffset(final int recordPosition)
+                {
+                    return recordPosition + BLOCK_LENGTH;
+                }
+
+                public int keyLength(final int recordPosition)
+                {
+                    return wrap(sessionIdDecoder, recordPosition).compositeKeyLength();
+                }
+            },
+            buffer.capacity() / TYPICAL_RECORD_LENGTH);
         loadBuffer();
     }
 
@@ -111,7 +137,7 @@ public class SessionContexts
         checkByteBuffer();
         initialiseBuffer();
 
-        final SessionIdDecoder sessionIdDecoder = new SessionIdDecoder();
+        final SessionIdDecoder sessionIdDecoder = this.sessionIdDecoder;
 
         int sectorEnd = 0;
         filePosition = HEADER_SIZE;
@@ -119,7 +145,7 @@ public class SessionContexts
         while (filePosition < lastRecordStart)
         {
             sectorEnd = validateSectorChecksum(filePosition, sectorEnd);
-            long sessionId = wrap(sessionIdDecoder, filePosition);
+            long sessionId = wrap(sessionIdDecoder, filePosition).sessionId();
             if (sessionId == 0)
             {
                 final int nextSectorPeekPosition = sectorEnd;
@@ -128,7 +154,7 @@ public class SessionContexts
                     return;
                 }
 
-                sessionId = wrap(sessionIdDecoder, nextSectorPeekPosition);
+                sessionId = wrap(sessionIdDecoder, nextSectorPeekPosition).sessionId();
                 if (sessionId == 0)
                 {
                     return;
@@ -138,18 +164,16 @@ public class SessionContexts
                     filePosition = nextSectorPeekPosition;
                 }
             }
-            final int sequenceIndex = sessionIdDecoder.sequenceIndex();
-            final long logonTime = sessionIdDecoder.logonTime();
             final int compositeKeyLength = sessionIdDecoder.compositeKeyLength();
-            final CompositeKey compositeKey = idStrategy.load(
-                buffer, filePosition + BLOCK_LENGTH, compositeKeyLength);
-            if (compositeKey == null)
+            final int compositeKeyOffset = filePosition + BLOCK_LENGTH;
+            if (compositeKeyLength <= 0 || compositeKeyOffset + compositeKeyLength > buffer.capacity())
             {
                 return;
             }
 
-            compositeToContext.put(compositeKey,
-                new SessionContext(sessionId, sequenceIndex, logonTime, this, filePosition));
+            compositeKeyIndex.insert(
+                CompositeKeyIndex.hash(buffer, compositeKeyOffset, compositeKeyLength), filePosition);
+            sessionIdToPosition.put(sessionId, filePosition);
             recordedSessions.add(sessionId);
             counter = Math.max(counter, sessionId + 1);
 
@@ -157,10 +181,9 @@ public class SessionContexts
         }
     }
 
-    private long wrap(final SessionIdDecoder sessionIdDecoder, final int nextSectorPeekPosition)
+    private SessionIdDecoder wrap(final SessionIdDecoder sessionIdDecoder, final int position)
     {
-        sessionIdDecoder.wrap(buffer, nextSectorPeekPosition, actingBlockLength, actingVersion);
-        return sessionIdDecoder.sessionId();
+        return sessionIdDecoder.wrap(buffer, position, actingBlockLength, actingVersion);
     }
 
     private void checkByteBuffer()
@@ -211,8 +234,35 @@ public class SessionContexts
 
     public SessionContext onLogon(final CompositeKey compositeKey)
     {
-        final SessionContext sessionContext = newSessionContext(compositeKey);
+        return onLogon(newSessionContext(compositeKey));
+    }
 
+    /**
+     * Equivalent to {@link #onLogon(CompositeKey)} with the key that the id strategy would create for the logon,
+     * but without creating the key unless it's new and can't be saved.
+     *
+     * @param header the header of the logon message.
+     * @return the context of the session or {@link #DUPLICATE_SESSION} if it is already authenticated.
+     */
+    public SessionContext onAcceptLogon(final SessionHeaderDecoder header)
+    {
+        final int compositeKeyLength = idStrategy.saveAcceptLogon(header, compositeKeyBuffer, 0);
+        if (compositeKeyLength == INSUFFICIENT_SPACE)
+        {
+            return onLogon(idStrategy.onAcceptLogon(header));
+        }
+
+        final SessionContext sessionContext = lookupSavedContext(compositeKeyLength);
+        if (sessionContext == null)
+        {
+            return onLogon(idStrategy.onAcceptLogon(header));
+        }
+
+        return onLogon(sessionContext);
+    }
+
+    private SessionContext onLogon(final SessionContext sessionContext)
+    {
         if (!currentlyAuthenticatedSessionIds.add(sessionContext.sessionId()))
         {
             return DUPLICATE_SESSION;
@@ -225,32 +275,85 @@ public class SessionContexts
 
     SessionContext newSessionContext(final CompositeKey compositeKey)
     {
-        return compositeToContext.computeIfAbsent(compositeKey, onNewLogonFunc);
+        final int compositeKeyLength = idStrategy.save(compositeKey, compositeKeyBuffer, 0);
+        if (compositeKeyLength != INSUFFICIENT_SPACE)
+        {
+            final SessionContext sessionContext = lookupSavedContext(compositeKeyLength);
+            if (sessionContext != null)
+            {
+                return sessionContext;
+            }
+        }
+
+        if (!unsavedCompositeToContext.isEmpty())
+        {
+            final SessionContext sessionContext = unsavedCompositeToContext.get(compositeKey);
+            if (sessionContext != null)
+            {
+                return sessionContext;
+            }
+        }
+
+        final long sessionId = counter++;
+        return assignSessionId(compositeKey, compositeKeyLength, sessionId, SessionContext.UNKNOWN_SEQUENCE_INDEX);
     }
 
-    private SessionContext onNewLogon(final CompositeKey compositeKey)
+    // Looks up the key that has been encoded into the compositeKeyBuffer.
+    private SessionContext lookupSavedContext(final int compositeKeyLength)
     {
-        final long sessionId = counter++;
-        return assignSessionId(compositeKey, sessionId, SessionContext.UNKNOWN_SEQUENCE_INDEX);
+        final int recordPosition = lookupRecordPosition(compositeKeyLength);
+        if (recordPosition == MISSING_RECORD)
+        {
+            return null;
+        }
+
+        final long sessionId = wrap(sessionIdDecoder, recordPosition).sessionId();
+        return savedContext(sessionId, recordPosition);
+    }
+
+    private int lookupRecordPosition(final int compositeKeyLength)
+    {
+        final UnsafeBuffer compositeKeyBuffer = this.compositeKeyBuffer;
+        return compositeKeyIndex.lookup(
+            compositeKeyBuffer,
+            0,
+            compositeKeyLength,
+            CompositeKeyIndex.hash(compositeKeyBuffer, 0, compositeKeyLength));
+    }
+
+    private SessionContext savedContext(final long sessionId, final int recordPosition)
+    {
+        SessionContext sessionContext = sessionIdToContext.get(sessionId);
+        if (sessionContext == null)
+        {
+            final SessionIdDecoder sessionIdDecoder = wrap(this.sessionIdDecoder, recordPosition);
+            sessionContext = new SessionContext(
+                sessionId, sessionIdDecoder.sequenceIndex(), sessionIdDecoder.logonTime(), this, recordPosition);
+            sessionIdToContext.put(sessionId, sessionContext);
+        }
+
+        return sessionContext;
     }
 
     private SessionContext assignSessionId(
         final CompositeKey compositeKey,
+        final int compositeKeyLength,
         final long sessionId,
         final int sequenceIndex)
     {
-        int keyPosition = OUT_OF_SPACE;
-        final int compositeKeyLength = idStrategy.save(compositeKey, compositeKeyBuffer, 0);
+        final SessionContext sessionContext;
         if (compositeKeyLength == INSUFFICIENT_SPACE)
         {
             errorHandler.onError(new IllegalStateException(String.format(
                 "Unable to save record session id %d for %s, because the buffer is too small",
                 sessionId,
                 compositeKey)));
-            return new SessionContext(sessionId, sequenceIndex, Session.NO_LOGON_TIME, this, OUT_OF_SPACE);
+            sessionContext = new SessionContext(sessionId, sequenceIndex, Session.NO_LOGON_TIME, this, OUT_OF_SPACE);
+            unsavedCompositeToContext.put(compositeKey, sessionContext);
         }
         else
         {
+            int keyPosition = OUT_OF_SPACE;
             if (filePosition != OUT_OF_SPACE)
             {
                 filePosition = sectorFramer.claim(filePosition, BLOCK_LENGTH + compositeKeyLength);
@@ -275,20 +378,39 @@ public class SessionContexts
 
                     updateChecksum(sectorFramer.sectorStart(), sectorFramer.checksumOffset());
                     mappedFile.force();
+
+                    compositeKeyIndex.insert(
+                        CompositeKeyIndex.hash(compositeKeyBuffer, 0, compositeKeyLength), keyPosition);
+                    sessionIdToPosition.put(sessionId, keyPosition);
                 }
             }
 
-            return new SessionContext(sessionId, sequenceIndex, Session.NO_LOGON_TIME, this, keyPosition);
+            sessionContext = new SessionContext(sessionId, sequenceIndex, Session.NO_LOGON_TIME, this, keyPosition);
+            if (keyPosition == OUT_OF_SPACE)
+            {
+                unsavedCompositeToContext.put(compositeKey, sessionContext);
+            }
         }
+
+        sessionIdToContext.put(sessionId, sessionContext);
+        return sessionContext;
     }
 
     void sequenceReset(final long sessionId)
     {
-        compositeToContext
-            .values()
-            .stream()
-            .filter(context -> context.sessionId() == sessionId)
-            .forEach(SessionContext::onSequenceReset);
+        SessionContext sessionContext = sessionIdToContext.get(sessionId);
+        if (sessionContext == null)
+        {
+            final int recordPosition = (int)sessionIdToPosition.get(sessionId);
+            if (recordPosition == MISSING_SESSION_POSITION)
+            {
+                return;
+            }
+
+            sessionContext = savedContext(sessionId, recordPosition);
+        }
+
+        sessionContext.onSequenceReset();
     }
 
     // TODO: optimisation, more efficient checksumming, only checksum new data
@@ -319,7 +441,10 @@ public class SessionContexts
 
         counter = LOWEST_VALID_SESSION_ID;
         currentlyAuthenticatedSessionIds.clear();
-        compositeToContext.clear();
+        compositeKeyIndex.clear();
+        sessionIdToPosition.clear();
+        sessionIdToContext.clear();
+        unsavedCompositeToContext.clear();
 
         if (backupLocation != null)
         {
@@ -346,7 +471,17 @@ public class SessionContexts
 
     long lookupSessionId(final CompositeKey compositeKey)
     {
-        final SessionContext sessionContext = compositeToContext.get(compositeKey);
+        final int compositeKeyLength = idStrategy.save(compositeKey, compositeKeyBuffer, 0);
+        if (compositeKeyLength != INSUFFICIENT_SPACE)
+        {
+            final int recordPosition = lookupRecordPosition(compositeKeyLength);
+            if (recordPosition != MISSING_RECORD)
+            {
+                return wrap(sessionIdDecoder, recordPosition).sessionId();
+            }
+        }
+
+        final SessionContext sessionContext = unsavedCompositeToContext.get(compositeKey);
         if (sessionContext == null)
         {
             return Session.UNKNOWN;
@@ -361,6 +496,6 @@ public class SessionContexts
 
     boolean isKnownSessionId(final long sessionId)
     {
-        return compositeToContext.values().stream().anyMatch(context -> context.sessionId() == sessionId);
+        return sessionIdToPosition.containsKey(sessionId) || sessionIdToContext.containsKey(sessionId);
     }
 }
@@ -35,6 +35,17 @@ public class TcpChannel implements AutoCloseable
         remoteAddress = socketChannel.getRemoteAddress().toString();
     }
 
+    /**
+     * Constructor for channels that aren't backed by a socket, which must override the methods that use it.
+     *
+     * @param remoteAddress the address that the channel reports being connected to.
+     */
+    protected TcpChannel(final String remoteAddress)
+    {
+        this.socketChannel = null;
+        this.remoteAddress = remoteAddress;
+    }
+
     public String remoteAddress()
     {
         return remoteAddress;
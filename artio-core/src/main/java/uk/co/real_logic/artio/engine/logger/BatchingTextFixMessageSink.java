@@ -0,0 +1,126 @@
+/*
+ * Copyright 2015-2019 Real Logic Ltd, Adaptive Financial Consulting Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.engine.logger;
+
+import org.agrona.CloseHelper;
+import org.agrona.DirectBuffer;
+import org.agrona.LangUtil;
+import org.agrona.concurrent.UnsafeBuffer;
+import uk.co.real_logic.artio.messages.FixMessageDecoder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static uk.co.real_logic.artio.engine.logger.LoggerUtil.putTextLine;
+
+/**
+ * Writes each FIX message as a line of text, with the field separators replaced by '|' characters. Lines are
+ * collected into a buffer and written to the channel in a single write when the buffer fills up or the logger
+ * reaches the end of a batch of messages. Messages that are too long to fit into the buffer are dropped.
+ */
+public class BatchingTextFixMessageSink implements FixMessageSink
+{
+    private final WritableByteChannel channel;
+    private final ByteBuffer byteBuffer;
+    private final UnsafeBuffer buffer;
+
+    private int position = 0;
+
+    public BatchingTextFixMessageSink(final File file, final int batchSize)
+    {
+        this(openForAppend(file), batchSize);
+    }
+
+    public BatchingTextFixMessageSink(final WritableByteChannel channel, final int batchSize)
+    {
+        this.channel = channel;
+        byteBuffer = ByteBuffer.allocateDirect(batchSize);
+        buffer = new UnsafeBuffer(byteBuffer);
+    }
+
+    public boolean onMessage(
+        final FixMessageDecoder message, final DirectBuffer srcBuffer, final int offset, final int length)
+    {
+        final int lineLength = length + 1;
+        final int capacity = buffer.capacity();
+        if (lineLength > capacity)
+        {
+            return false;
+        }
+
+        if (position + lineLength > capacity)
+        {
+            flush();
+        }
+
+        position += putTextLine(buffer, position, srcBuffer, offset, length);
+
+        return true;
+    }
+
+    public void flush()
+    {
+        if (position == 0)
+        {
+            return;
+        }
+
+        final ByteBuffer byteBuffer = this.byteBuffer;
+        byteBuffer.limit(position);
+        byteBuffer.position(0);
+        try
+        {
+            while (byteBuffer.hasRemaining())
+            {
+                channel.write(byteBuffer);
+            }
+        }
+        catch (final IOException ex)
+        {
+            LangUtil.rethrowUnchecked(ex);
+        }
+        finally
+        {
+            byteBuffer.clear();
+            position = 0;
+        }
+    }
+
+    public void close()
+    {
+        flush();
+        CloseHelper.close(channel);
+    }
+
+    private static FileChannel openForAppend(final File file)
+    {
+        try
+        {
+            return FileChannel.open(file.toPath(), CREATE, WRITE, APPEND);
+        }
+        catch (final IOException ex)
+        {
+            LangUtil.rethrowUnchecked(ex);
+            return null;
+        }
+    }
+}
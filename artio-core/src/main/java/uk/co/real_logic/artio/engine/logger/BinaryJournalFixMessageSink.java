@@ -0,0 +1,125 @@
+/*
+ * Copyright 2015-2019 Real Logic Ltd, Adaptive Financial Consulting Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.engine.logger;
+
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.AtomicBuffer;
+import uk.co.real_logic.artio.messages.FixMessageDecoder;
+
+import java.io.File;
+
+import static org.agrona.BitUtil.SIZE_OF_INT;
+import static org.agrona.BitUtil.SIZE_OF_LONG;
+
+/**
+ * Writes each FIX message as a length prefixed binary record to a sequence of memory mapped files, named
+ * {@code <prefix>-<index>.journal}. Each record is laid out as:
+ *
+ * <pre>
+ *   0                   1                   2                   3
+ *   0 1 2 3 4 5 6 7 8 9 0 1 2 3 4 5 6 7 8 9 0 1 2 3 4 5 6 7 8 9 0 1
+ *  +-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+
+ *  |                    Length of the FIX message                  |
+ *  +---------------------------------------------------------------+
+ *  |                           Timestamp                           |
+ *  |                                                               |
+ *  +---------------------------------------------------------------+
+ *  |                           Session Id                          |
+ *  |                                                               |
+ *  +---------------------------------------------------------------+
+ *  |                          FIX message                         ...
+ * ...                                                              |
+ *  +---------------------------------------------------------------+
+ * </pre>
+ *
+ * All fields are little endian. Records can be read back with {@link #read(DirectBuffer, int, JournalEntryHandler)}.
+ */
+public class BinaryJournalFixMessageSink extends RollingMappedFileSink
+{
+    public static final int LENGTH_OFFSET = 0;
+    public static final int TIMESTAMP_OFFSET = LENGTH_OFFSET + SIZE_OF_INT;
+    public static final int SESSION_ID_OFFSET = TIMESTAMP_OFFSET + SIZE_OF_LONG;
+    public static final int RECORD_HEADER_LENGTH = SESSION_ID_OFFSET + SIZE_OF_LONG;
+
+    /**
+     * Callback for records read out of a journal.
+     */
+    @FunctionalInterface
+    public interface JournalEntryHandler
+    {
+        void onEntry(long timestamp, long sessionId, DirectBuffer buffer, int offset, int length);
+    }
+
+    public BinaryJournalFixMessageSink(final File directory, final String prefix, final int fileSize)
+    {
+        super(directory, prefix, ".journal", fileSize);
+    }
+
+    /**
+     * Read the records out of a journal file.
+     *
+     * @param buffer the buffer holding the contents of the journal file.
+     * @param length the number of bytes of the buffer to read.
+     * @param handler the callback to invoke for each record.
+     * @return the number of records read.
+     */
+    public static int read(final DirectBuffer buffer, final int length, final JournalEntryHandler handler)
+    {
+        int records = 0;
+        int position = 0;
+        while (position + RECORD_HEADER_LENGTH <= length)
+        {
+            final int messageLength = buffer.getInt(position + LENGTH_OFFSET);
+            if (messageLength == 0)
+            {
+                break;
+            }
+
+            handler.onEntry(
+                buffer.getLong(position + TIMESTAMP_OFFSET),
+                buffer.getLong(position + SESSION_ID_OFFSET),
+                buffer,
+                position + RECORD_HEADER_LENGTH,
+                messageLength);
+
+            position += RECORD_HEADER_LENGTH + messageLength;
+            records++;
+        }
+
+        return records;
+    }
+
+    protected int recordLength(final int messageLength)
+    {
+        return RECORD_HEADER_LENGTH + messageLength;
+    }
+
+    protected int writeRecord(
+        final AtomicBuffer file,
+        final int filePosition,
+        final FixMessageDecoder message,
+        final DirectBuffer buffer,
+        final int offset,
+        final int length)
+    {
+        file.putLong(filePosition + TIMESTAMP_OFFSET, message.timestamp());
+        file.putLong(filePosition + SESSION_ID_OFFSET, message.session());
+        file.putBytes(filePosition + RECORD_HEADER_LENGTH, buffer, offset, length);
+        file.putInt(filePosition + LENGTH_OFFSET, length);
+
+        return RECORD_HEADER_LENGTH + length;
+    }
+}
@@ -45,6 +45,10 @@ public final class FixArchivePrinter
         int archiveScannerStreamId = DEFAULT_ARCHIVE_SCANNER_STREAM;
         FixMessagePredicate predicate = FixMessagePredicates.alwaysTrue();
         boolean follow = false;
+        long beginTimestampInclusive = Long.MIN_VALUE;
+        long endTimestampExclusive = Long.MAX_VALUE;
+        String indexDirectory = null;
+        int maxConcurrentReplays = FixArchiveScanner.DEFAULT_MAX_CONCURRENT_REPLAYS;
         Class<? extends FixDictionary> fixDictionaryType = FixDictionary.findDefault();
 
         Predicate<SessionHeaderDecoder> headerPredicate = null;
@@ -74,11 +78,21 @@ public final class FixArchivePrinter
             switch (optionName)
             {
                 case "from":
-                    predicate = from(parseLong(optionValue)).and(predicate);
+                    beginTimestampInclusive = parseLong(optionValue);
+                    predicate = from(beginTimestampInclusive).and(predicate);
                     break;
 
                 case "to":
-                    predicate = to(parseLong(optionValue)).and(predicate);
+                    endTimestampExclusive = parseLong(optionValue);
+                    predicate = to(endTimestampExclusive).and(predicate);
+                    break;
+
+                case "index-dir":
+                    indexDirectory = optionValue;
+                    break;
+
+                case "max-concurrent-replays":
+                    maxConcurrentReplays = Integer.parseInt(optionValue);
                     break;
 
                 case "message-types":
@@ -136,7 +150,8 @@ public final class FixArchivePrinter
         requiredArgument(aeronChannel, "aeron-channel");
 
         scanArchive(aeronDirectoryName, aeronChannel, queryStreamId, predicate, follow, headerPredicate,
-            archiveScannerStreamId, fixDictionaryType);
+            archiveScannerStreamId, fixDictionaryType, indexDirectory, maxConcurrentReplays, beginTimestampInclusive,
+            endTimestampExclusive);
     }
 
     private static void requiredArgument(final int eqIndex)
@@ -157,7 +172,11 @@ public final class FixArchivePrinter
         final boolean follow,
         final Predicate<SessionHeaderDecoder> headerPredicate,
         final int archiveScannerStreamId,
-        final Class<? extends FixDictionary> fixDictionaryType)
+        final Class<? extends FixDictionary> fixDictionaryType,
+        final String indexDirectory,
+        final int maxConcurrentReplays,
+        final long beginTimestampInclusive,
+        final long endTimestampExclusive)
     {
         final FixDictionary fixDictionary = FixDictionary.of(fixDictionaryType);
         FixMessagePredicate predicate = otherPredicate;
@@ -168,7 +187,9 @@ public final class FixArchivePrinter
 
         final FixArchiveScanner.Context context = new FixArchiveScanner.Context()
             .aeronDirectoryName(aeronDirectoryName)
-            .idleStrategy(CommonConfiguration.backoffIdleStrategy());
+            .idleStrategy(CommonConfiguration.backoffIdleStrategy())
+            .indexDirectory(indexDirectory)
+            .maxConcurrentReplays(maxConcurrentReplays);
 
         final FixArchiveScanner scanner = new FixArchiveScanner(context);
         scanner.scan(
@@ -176,7 +197,9 @@ public final class FixArchivePrinter
             queryStreamId,
             filterBy(FixArchivePrinter::print, predicate),
             follow,
-            archiveScannerStreamId);
+            archiveScannerStreamId,
+            beginTimestampInclusive,
+            endTimestampExclusive);
     }
 
     private static void requiredArgument(final String argument, final String description)
@@ -246,6 +269,16 @@ public final class FixArchivePrinter
             " This should be your configuration.inboundLibraryStream() or configuration.outboundLibraryStream()" +
             " Defaults to sent.",
             false);
+        printOption(
+            "index-dir",
+            "Directory to keep an index of the archive in, speeds up repeated scans using --from or --to." +
+            " Defaults to not indexing",
+            false);
+        printOption(
+            "max-concurrent-replays",
+            "Number of recordings to replay at a time, messages from them are printed in timestamp order." +
+            " Defaults to 1",
+            false);
         printOption(
             "follow",
             "Continue to print out archive messages for a recording that is still in flight. defaults to off",
@@ -16,14 +16,24 @@
 package uk.co.real_logic.artio.engine.logger;
 
 import io.aeron.Aeron;
+import io.aeron.ControlledFragmentAssembler;
 import io.aeron.FragmentAssembler;
 import io.aeron.Image;
 import io.aeron.Subscription;
 import io.aeron.archive.client.AeronArchive;
+import io.aeron.logbuffer.ControlledFragmentHandler;
+import io.aeron.logbuffer.Header;
+import org.agrona.CloseHelper;
+import org.agrona.DirectBuffer;
 import org.agrona.concurrent.IdleStrategy;
+import uk.co.real_logic.artio.messages.FixMessageDecoder;
+import uk.co.real_logic.artio.messages.MessageHeaderDecoder;
 
+import java.io.File;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.Supplier;
 
 import static io.aeron.CommonContext.IPC_CHANNEL;
 import static io.aeron.archive.client.AeronArchive.NULL_LENGTH;
@@ -33,20 +43,35 @@ import static java.util.Comparator.comparingLong;
 /**
  * Scan the archive for fix messages. Can be combined with predicates to create rich queries.
  *
+ * Unless following the archive, up to {@link Context#maxConcurrentReplays(int)} recordings are replayed at a time
+ * and their messages are merged into timestamp order. By default recordings are replayed one after another. If an
+ * index directory is configured then a side index of each recording is kept, see
+ * {@link Context#indexDirectory(String)}, so that scans for a range of timestamps only replay the parts of the
+ * recordings that can contain messages within the range.
+ *
  * @see FixMessageConsumer
  * @see FixMessagePredicate
  * @see FixMessagePredicates
  */
 public class FixArchiveScanner implements AutoCloseable
 {
+    public static final int DEFAULT_CHECKPOINT_INTERVAL_IN_BYTES = 4 * 1024 * 1024;
+    public static final int DEFAULT_MAX_CONCURRENT_REPLAYS = 1;
+
     private final Aeron aeron;
     private final AeronArchive aeronArchive;
     private final IdleStrategy idleStrategy;
+    private final File indexDirectory;
+    private final int checkpointIntervalInBytes;
+    private final int maxConcurrentReplays;
 
     public static class Context
     {
         private String aeronDirectoryName;
         private IdleStrategy idleStrategy;
+        private String indexDirectory;
+        private int checkpointIntervalInBytes = DEFAULT_CHECKPOINT_INTERVAL_IN_BYTES;
+        private int maxConcurrentReplays = DEFAULT_MAX_CONCURRENT_REPLAYS;
 
         public Context()
         {
@@ -73,11 +98,80 @@ public class FixArchiveScanner implements AutoCloseable
         {
             return idleStrategy;
         }
+
+        /**
+         * Sets the directory that the side index of each recording is kept in. Scans for a range of timestamps
+         * use the index in order to skip the parts of a recording outside of the range, and extend it as they read
+         * past the indexed part of a recording.
+         *
+         * Default: null, which disables the index.
+         *
+         * @param indexDirectory the directory that the side index of each recording is kept in.
+         * @return this
+         */
+        public Context indexDirectory(final String indexDirectory)
+        {
+            this.indexDirectory = indexDirectory;
+            return this;
+        }
+
+        public String indexDirectory()
+        {
+            return indexDirectory;
+        }
+
+        /**
+         * Sets the number of bytes of a recording covered by each checkpoint in the side index. Smaller intervals
+         * let scans skip more precisely at the cost of a larger index.
+         *
+         * @param checkpointIntervalInBytes the number of bytes of a recording covered by each checkpoint.
+         * @return this
+         */
+        public Context checkpointIntervalInBytes(final int checkpointIntervalInBytes)
+        {
+            this.checkpointIntervalInBytes = checkpointIntervalInBytes;
+            return this;
+        }
+
+        public int checkpointIntervalInBytes()
+        {
+            return checkpointIntervalInBytes;
+        }
+
+        /**
+         * Sets the maximum number of recordings that a scan replays at the same time. Messages are merged into
+         * timestamp order across the recordings that are being replayed together, so set this to at least the
+         * number of recordings for the whole scan to be in timestamp order. Each replay has its own publication
+         * and log buffers, and the archive limits the number of concurrent replays, so bear both in mind when
+         * increasing this. Following scans always replay one recording at a time.
+         *
+         * Default: {@link #DEFAULT_MAX_CONCURRENT_REPLAYS}, which replays recordings one after another.
+         *
+         * @param maxConcurrentReplays the maximum number of recordings that a scan replays at the same time.
+         * @return this
+         */
+        public Context maxConcurrentReplays(final int maxConcurrentReplays)
+        {
+            this.maxConcurrentReplays = maxConcurrentReplays;
+            return this;
+        }
+
+        public int maxConcurrentReplays()
+        {
+            return maxConcurrentReplays;
+        }
     }
 
     public FixArchiveScanner(final Context context)
     {
         this.idleStrategy = context.idleStrategy();
+        this.indexDirectory = context.indexDirectory() == null ? null : new File(context.indexDirectory());
+        this.checkpointIntervalInBytes = context.checkpointIntervalInBytes();
+        this.maxConcurrentReplays = context.maxConcurrentReplays();
+        if (maxConcurrentReplays < 1)
+        {
+            throw new IllegalArgumentException("maxConcurrentReplays must be at least 1: " + maxConcurrentReplays);
+        }
 
         final Aeron.Context aeronContext = new Aeron.Context().aeronDirectoryName(context.aeronDirectoryName());
         aeron = Aeron.connect(aeronContext);
@@ -90,6 +184,217 @@ public class FixArchiveScanner implements AutoCloseable
         final FixMessageConsumer handler,
         final boolean follow,
         final int archiveScannerStreamId)
+    {
+        scan(aeronChannel, queryStreamId, handler, follow, archiveScannerStreamId, Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    /**
+     * Scan the archive for the messages within a range of timestamps. All of the messages within the range are passed
+     * to the handler, as are some of those outside of it, so the handler should also filter on the timestamp, for
+     * example by using {@link FixMessagePredicates#between(long, long)}.
+     *
+     * @param aeronChannel the channel that the messages were archived from.
+     * @param queryStreamId the stream that the messages were archived from.
+     * @param handler the callback for each message that is scanned.
+     * @param follow true to keep following recordings that are still being archived, in which case the timestamps
+     *               don't restrict the scan.
+     * @param archiveScannerStreamId the stream to replay the archive on.
+     * @param beginTimestampInclusive the earliest timestamp of interest.
+     * @param endTimestampExclusive the timestamp that all messages of interest are before.
+     */
+    public void scan(
+        final String aeronChannel,
+        final int queryStreamId,
+        final FixMessageConsumer handler,
+        final boolean follow,
+        final int archiveScannerStreamId,
+        final long beginTimestampInclusive,
+        final long endTimestampExclusive)
+    {
+        if (follow)
+        {
+            followingScan(aeronChannel, queryStreamId, handler, archiveScannerStreamId);
+        }
+        else
+        {
+            mergingScan(
+                aeronChannel,
+                queryStreamId,
+                handler,
+                archiveScannerStreamId,
+                beginTimestampInclusive,
+                endTimestampExclusive);
+        }
+    }
+
+    private void mergingScan(
+        final String aeronChannel,
+        final int queryStreamId,
+        final FixMessageConsumer handler,
+        final int archiveScannerStreamId,
+        final long beginTimestampInclusive,
+        final long endTimestampExclusive)
+    {
+        final Iterator<ArchiveLocation> archiveLocations =
+            lookupArchiveLocations(aeronChannel, queryStreamId).iterator();
+        final List<RecordingCursor> cursors = new ArrayList<>();
+
+        try (Subscription replaySubscription = aeron.addSubscription(IPC_CHANNEL, archiveScannerStreamId))
+        {
+            // Replays are only started as earlier ones complete, so that no more than the maximum are in flight.
+            final Supplier<RecordingCursor> nextCursor = () ->
+            {
+                while (archiveLocations.hasNext())
+                {
+                    final RecordingCursor cursor = startReplay(
+                        archiveLocations.next(),
+                        replaySubscription,
+                        handler,
+                        archiveScannerStreamId,
+                        beginTimestampInclusive,
+                        endTimestampExclusive);
+
+                    if (cursor != null)
+                    {
+                        return cursor;
+                    }
+                }
+
+                return null;
+            };
+
+            while (cursors.size() < maxConcurrentReplays)
+            {
+                final RecordingCursor cursor = nextCursor.get();
+                if (cursor == null)
+                {
+                    break;
+                }
+
+                cursors.add(cursor);
+            }
+
+            mergeInTimestampOrder(cursors, nextCursor, idleStrategy);
+        }
+        finally
+        {
+            cursors.forEach(CloseHelper::close);
+        }
+    }
+
+    // Returns null if there's nothing within the timestamp range to replay.
+    private RecordingCursor startReplay(
+        final ArchiveLocation archiveLocation,
+        final Subscription replaySubscription,
+        final FixMessageConsumer handler,
+        final int archiveScannerStreamId,
+        final long beginTimestampInclusive,
+        final long endTimestampExclusive)
+    {
+        final long recordingId = archiveLocation.recordingId;
+        final long recordingStopPosition = archiveLocation.stopPosition == NULL_POSITION ?
+            aeronArchive.getRecordingPosition(recordingId) : archiveLocation.stopPosition;
+
+        long startPosition = archiveLocation.startPosition;
+        long stopPosition = recordingStopPosition;
+        RecordingCheckpoints checkpoints = null;
+        if (indexDirectory != null)
+        {
+            checkpoints = RecordingCheckpoints.load(
+                indexDirectory,
+                recordingId,
+                archiveLocation.startPosition,
+                recordingStopPosition,
+                checkpointIntervalInBytes);
+            startPosition = checkpoints.startPosition(beginTimestampInclusive);
+            stopPosition = checkpoints.stopPosition(endTimestampExclusive, recordingStopPosition);
+        }
+
+        if (stopPosition <= startPosition)
+        {
+            CloseHelper.close(checkpoints);
+            return null;
+        }
+
+        final int sessionId = (int)aeronArchive.startReplay(
+            recordingId,
+            startPosition,
+            stopPosition - startPosition,
+            IPC_CHANNEL,
+            archiveScannerStreamId);
+
+        final Image image = lookupImage(replaySubscription, sessionId);
+        return new RecordingCursor(image, stopPosition, checkpoints, handler);
+    }
+
+    /**
+     * Delivers the earliest message at the head of any of the cursors, which requires the head of every cursor that
+     * hasn't been completely read to be known. Completed cursors are closed and replaced by the next cursor, until
+     * there are none left.
+     *
+     * @param cursors the cursors to merge, the list is emptied as they complete.
+     * @param nextCursor supplies the cursor to replace a completed one, or null if there are no more.
+     * @param idleStrategy the idle strategy to use while waiting for the heads of the cursors.
+     */
+    static void mergeInTimestampOrder(
+        final List<RecordingCursor> cursors,
+        final Supplier<RecordingCursor> nextCursor,
+        final IdleStrategy idleStrategy)
+    {
+        while (!cursors.isEmpty())
+        {
+            int workCount = 0;
+            boolean allHeadsKnown = true;
+            RecordingCursor earliest = null;
+
+            for (int i = cursors.size() - 1; i >= 0; i--)
+            {
+                final RecordingCursor cursor = cursors.get(i);
+                if (!cursor.hasHead)
+                {
+                    workCount += cursor.peek();
+                }
+
+                if (cursor.hasHead)
+                {
+                    if (earliest == null || cursor.headTimestamp < earliest.headTimestamp)
+                    {
+                        earliest = cursor;
+                    }
+                }
+                else if (cursor.isComplete())
+                {
+                    cursors.remove(i);
+                    cursor.close();
+
+                    final RecordingCursor replacement = nextCursor.get();
+                    if (replacement != null)
+                    {
+                        cursors.add(replacement);
+                        allHeadsKnown = false;
+                    }
+                }
+                else
+                {
+                    allHeadsKnown = false;
+                }
+            }
+
+            if (allHeadsKnown && earliest != null)
+            {
+                earliest.deliver();
+                workCount++;
+            }
+
+            idleStrategy.idle(workCount);
+        }
+    }
+
+    private void followingScan(
+        final String aeronChannel,
+        final int queryStreamId,
+        final FixMessageConsumer handler,
+        final int archiveScannerStreamId)
     {
         final LogEntryHandler logEntryHandler = new LogEntryHandler(handler);
         final FragmentAssembler fragmentAssembler = new FragmentAssembler(logEntryHandler);
@@ -107,16 +412,8 @@ public class FixArchiveScanner implements AutoCloseable
                 final long length;
                 if (stillArchiving)
                 {
-                    if (follow)
-                    {
-                        length = NULL_LENGTH;
-                        stopPosition = NULL_POSITION;
-                    }
-                    else
-                    {
-                        stopPosition = aeronArchive.getRecordingPosition(recordingId);
-                        length = stopPosition - archiveLocation.startPosition;
-                    }
+                    length = NULL_LENGTH;
+                    stopPosition = NULL_POSITION;
                 }
                 else
                 {
@@ -189,6 +486,85 @@ public class FixArchiveScanner implements AutoCloseable
         return archiveLocations;
     }
 
+    static final class RecordingCursor implements ControlledFragmentHandler, AutoCloseable
+    {
+        private final MessageHeaderDecoder messageHeader = new MessageHeaderDecoder();
+        private final FixMessageDecoder fixMessage = new FixMessageDecoder();
+        private final ControlledFragmentAssembler assembler = new ControlledFragmentAssembler(this);
+        private final Image image;
+        private final long stopPosition;
+        private final RecordingCheckpoints checkpoints;
+        private final FixMessageConsumer handler;
+
+        private boolean hasHead;
+        private long headTimestamp;
+        private boolean delivering;
+
+        RecordingCursor(
+            final Image image,
+            final long stopPosition,
+            final RecordingCheckpoints checkpoints,
+            final FixMessageConsumer handler)
+        {
+            this.image = image;
+            this.stopPosition = stopPosition;
+            this.checkpoints = checkpoints;
+            this.handler = handler;
+        }
+
+        // Reads up to the next message without consuming it, so that its timestamp is known.
+        int peek()
+        {
+            return image.controlledPoll(assembler, 1);
+        }
+
+        void deliver()
+        {
+            delivering = true;
+            image.controlledPoll(assembler, 1);
+            delivering = false;
+        }
+
+        boolean isComplete()
+        {
+            return image.position() >= stopPosition || image.isClosed();
+        }
+
+        public Action onFragment(final DirectBuffer buffer, final int offset, final int length, final Header header)
+        {
+            messageHeader.wrap(buffer, offset);
+            if (messageHeader.templateId() != FixMessageDecoder.TEMPLATE_ID)
+            {
+                return Action.CONTINUE;
+            }
+
+            final int messageOffset = offset + MessageHeaderDecoder.ENCODED_LENGTH;
+            fixMessage.wrap(buffer, messageOffset, messageHeader.blockLength(), messageHeader.version());
+            final long timestamp = fixMessage.timestamp();
+
+            if (!delivering)
+            {
+                headTimestamp = timestamp;
+                hasHead = true;
+                return Action.ABORT;
+            }
+
+            handler.onMessage(fixMessage, buffer, messageOffset, length, header);
+            if (checkpoints != null)
+            {
+                checkpoints.onMessage(timestamp, header.position());
+            }
+            hasHead = false;
+
+            return Action.CONTINUE;
+        }
+
+        public void close()
+        {
+            CloseHelper.close(checkpoints);
+        }
+    }
+
     class ArchiveLocation
     {
         final long recordingId;
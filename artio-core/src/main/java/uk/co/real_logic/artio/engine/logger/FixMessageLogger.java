@@ -18,9 +18,13 @@ package uk.co.real_logic.artio.engine.logger;
 import io.aeron.Aeron;
 import io.aeron.FragmentAssembler;
 import io.aeron.Subscription;
+import io.aeron.logbuffer.Header;
+import org.agrona.CloseHelper;
+import org.agrona.DirectBuffer;
 import org.agrona.concurrent.Agent;
 import org.agrona.concurrent.AgentRunner;
 import uk.co.real_logic.artio.CommonConfiguration;
+import uk.co.real_logic.artio.messages.FixMessageDecoder;
 
 import java.util.function.Consumer;
 
@@ -36,8 +40,11 @@ import static uk.co.real_logic.artio.engine.EngineConfiguration.DEFAULT_OUTBOUND
  * Main method is provided as an example of usage - when integrating into your specific system you should pass in the
  * library aeron channel and stream ids used by your {@link uk.co.real_logic.artio.engine.EngineConfiguration}.
  *
- * Since this class generates Java objects for every message that passes through the system you're recommended to run
- * it in a different process to the normal Artio Engine if you're operating in a latency sensitive environment.
+ * When constructed with a {@code Consumer<String>} this class generates Java objects for every message that passes
+ * through the system, so you're recommended to run it in a different process to the normal Artio Engine if you're
+ * operating in a latency sensitive environment. Constructing it with a {@link FixMessageSink}, such as the
+ * {@link MappedTextFixMessageSink}, {@link BinaryJournalFixMessageSink} or {@link BatchingTextFixMessageSink}, passes
+ * each message on as a slice of the subscription's buffer and doesn't allocate per message.
  */
 public class FixMessageLogger implements Agent
 {
@@ -66,6 +73,11 @@ public class FixMessageLogger implements Agent
     private final Subscription inboundSubscription;
     private final Subscription replaySubscription;
     private final FragmentAssembler fragmentAssembler;
+    private final FixMessageSink fixMessageSink;
+
+    // Only written by the logger's thread, volatile so that they can be monitored from other threads.
+    private volatile long loggedMessages;
+    private volatile long droppedMessages;
 
     public FixMessageLogger(
         final Consumer<String> fixMessageConsumer,
@@ -75,26 +87,94 @@ public class FixMessageLogger implements Agent
         final int outboundStreamId,
         final int outboundReplayStreamId)
     {
+        this(
+            (message, buffer, offset, length) ->
+            {
+                fixMessageConsumer.accept(message.body());
+                return true;
+            },
+            context,
+            libraryAeronChannel,
+            inboundStreamId,
+            outboundStreamId,
+            outboundReplayStreamId);
+    }
+
+    public FixMessageLogger(
+        final FixMessageSink fixMessageSink,
+        final Aeron.Context context,
+        final String libraryAeronChannel,
+        final int inboundStreamId,
+        final int outboundStreamId,
+        final int outboundReplayStreamId)
+    {
+        this.fixMessageSink = fixMessageSink;
         aeron = Aeron.connect(context);
         inboundSubscription = aeron.addSubscription(libraryAeronChannel, inboundStreamId);
         outboundSubscription = aeron.addSubscription(libraryAeronChannel, outboundStreamId);
         replaySubscription = aeron.addSubscription(libraryAeronChannel, outboundReplayStreamId);
 
-        final LogEntryHandler logEntryHandler = new LogEntryHandler((message, buffer, offset, length, header) ->
-            fixMessageConsumer.accept(message.body()));
+        final LogEntryHandler logEntryHandler = new LogEntryHandler(this::onMessage);
         fragmentAssembler = new FragmentAssembler(logEntryHandler);
     }
 
+    private void onMessage(
+        final FixMessageDecoder message,
+        final DirectBuffer buffer,
+        final int offset,
+        final int length,
+        final Header header)
+    {
+        final int bodyOffset = message.limit() + FixMessageDecoder.bodyHeaderLength();
+        final int bodyLength = message.bodyLength();
+        if (fixMessageSink.onMessage(message, buffer, bodyOffset, bodyLength))
+        {
+            loggedMessages++;
+        }
+        else
+        {
+            droppedMessages++;
+        }
+    }
+
     public int doWork()
     {
-        return
+        final int work =
             inboundSubscription.poll(fragmentAssembler, 10) +
             outboundSubscription.poll(fragmentAssembler, 10) +
             replaySubscription.poll(fragmentAssembler, 10);
+
+        if (work > 0)
+        {
+            fixMessageSink.flush();
+        }
+
+        return work;
+    }
+
+    /**
+     * Get the number of messages that have been written by the sink.
+     *
+     * @return the number of messages that have been written by the sink.
+     */
+    public long loggedMessages()
+    {
+        return loggedMessages;
+    }
+
+    /**
+     * Get the number of messages that the sink has dropped, for example because they were too large for it.
+     *
+     * @return the number of messages that the sink has dropped.
+     */
+    public long droppedMessages()
+    {
+        return droppedMessages;
     }
 
     public void onClose()
     {
+        CloseHelper.close(fixMessageSink);
         aeron.close();
     }
 
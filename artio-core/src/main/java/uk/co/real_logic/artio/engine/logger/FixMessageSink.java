@@ -0,0 +1,55 @@
+/*
+ * Copyright 2015-2019 Real Logic Ltd, Adaptive Financial Consulting Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.engine.logger;
+
+import org.agrona.DirectBuffer;
+import uk.co.real_logic.artio.messages.FixMessageDecoder;
+
+/**
+ * Receives the FIX messages read by a {@link FixMessageLogger} as a slice of the buffer that they were read from,
+ * rather than as a Java object. The slice is only valid for the duration of the callback, so a sink needs to copy out
+ * any bytes that it wants to keep.
+ *
+ * @see MappedTextFixMessageSink
+ * @see BinaryJournalFixMessageSink
+ * @see BatchingTextFixMessageSink
+ */
+@FunctionalInterface
+public interface FixMessageSink extends AutoCloseable
+{
+    /**
+     * Callback invoked for each message that the logger reads.
+     *
+     * @param message the message header in the log, can be used to read properties about the message.
+     * @param buffer the buffer where the ascii FixMessage is stored.
+     * @param offset the offset where the message begins within the buffer.
+     * @param length the length of the FixMessage in bytes.
+     * @return true if the message has been written, false if the sink had to drop it.
+     */
+    boolean onMessage(FixMessageDecoder message, DirectBuffer buffer, int offset, int length);
+
+    /**
+     * Invoked after each batch of messages has been passed to the sink, so that sinks that buffer their writes can
+     * write them out.
+     */
+    default void flush()
+    {
+    }
+
+    default void close()
+    {
+    }
+}
@@ -15,8 +15,10 @@
  */
 package uk.co.real_logic.artio.engine.logger;
 
+import org.agrona.DirectBuffer;
 import org.agrona.ErrorHandler;
 import org.agrona.IoUtil;
+import org.agrona.MutableDirectBuffer;
 import org.agrona.concurrent.AtomicBuffer;
 import uk.co.real_logic.artio.messages.MessageHeaderDecoder;
 import uk.co.real_logic.artio.messages.MessageHeaderEncoder;
@@ -25,8 +27,13 @@ import java.io.File;
 import java.nio.ByteBuffer;
 import java.nio.MappedByteBuffer;
 
+import static uk.co.real_logic.artio.dictionary.SessionConstants.START_OF_HEADER;
+
 public final class LoggerUtil
 {
+    private static final byte TEXT_SEPARATOR = '|';
+    private static final byte LINE_SEPARATOR = '\n';
+
     public static ByteBuffer map(final File file, final int size)
     {
         if (file.exists())
@@ -137,4 +144,22 @@ public final class LoggerUtil
 
         return true;
     }
+
+    // Copies a FIX message as a single line of text, with the field separators replaced by '|' in order to make it
+    // human readable, returns the number of bytes written.
+    static int putTextLine(
+        final MutableDirectBuffer dst, final int dstOffset, final DirectBuffer src, final int offset, final int length)
+    {
+        dst.putBytes(dstOffset, src, offset, length);
+        for (int i = dstOffset, end = dstOffset + length; i < end; i++)
+        {
+            if (dst.getByte(i) == START_OF_HEADER)
+            {
+                dst.putByte(i, TEXT_SEPARATOR);
+            }
+        }
+        dst.putByte(dstOffset + length, LINE_SEPARATOR);
+
+        return length + 1;
+    }
 }
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2015-2019 Real Logic Ltd, Adaptive Financial Consulting Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.engine.logger;
+
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.AtomicBuffer;
+import uk.co.real_logic.artio.messages.FixMessageDecoder;
+
+import java.io.File;
+
+import static uk.co.real_logic.artio.engine.logger.LoggerUtil.putTextLine;
+
+/**
+ * Writes each FIX message as a line of text to a sequence of memory mapped files, with the field separators replaced
+ * by '|' characters. The files are named {@code <prefix>-<index>.log}.
+ */
+public class MappedTextFixMessageSink extends RollingMappedFileSink
+{
+    public MappedTextFixMessageSink(final File directory, final String prefix, final int fileSize)
+    {
+        super(directory, prefix, ".log", fileSize);
+    }
+
+    protected int recordLength(final int messageLength)
+    {
+        return messageLength + 1;
+    }
+
+    protected int writeRecord(
+        final AtomicBuffer file,
+        final int filePosition,
+        final FixMessageDecoder message,
+        final DirectBuffer buffer,
+        final int offset,
+        final int length)
+    {
+        return putTextLine(file, filePosition, buffer, offset, length);
+    }
+}
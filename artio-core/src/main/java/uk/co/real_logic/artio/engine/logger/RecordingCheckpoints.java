@@ -0,0 +1,289 @@
+/*
+ * Copyright 2015-2019 Real Logic Ltd, Adaptive Financial Consulting Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.engine.logger;
+
+import org.agrona.CloseHelper;
+import org.agrona.IoUtil;
+import org.agrona.LangUtil;
+import org.agrona.collections.LongArrayList;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.agrona.BitUtil.SIZE_OF_LONG;
+
+/**
+ * A persisted side index of a recording of FIX messages, used by the {@link FixArchiveScanner} in order to avoid
+ * replaying the parts of a recording that are outside of the range of timestamps being queried.
+ * <p>
+ * The recording is split into contiguous blocks, the first of which starts at the start of the recording. Each block
+ * is recorded as a checkpoint of the position at which it ends along with the minimum and maximum timestamp of the
+ * messages within it, so a block can be skipped without relying upon timestamps being in order within a recording.
+ * Blocks are appended to the index as the scanner reads past the indexed part of the recording.
+ */
+class RecordingCheckpoints implements AutoCloseable
+{
+    private static final int END_POSITION_OFFSET = 0;
+    private static final int MIN_TIMESTAMP_OFFSET = 1;
+    private static final int MAX_TIMESTAMP_OFFSET = 2;
+    private static final int FIELDS_PER_CHECKPOINT = 3;
+    static final int CHECKPOINT_LENGTH = FIELDS_PER_CHECKPOINT * SIZE_OF_LONG;
+
+    private final File file;
+    private final long recordingStartPosition;
+    private final int checkpointIntervalInBytes;
+    private final LongArrayList checkpoints;
+    private final ByteBuffer writeBuffer = ByteBuffer.allocate(CHECKPOINT_LENGTH).order(ByteOrder.LITTLE_ENDIAN);
+
+    private FileChannel fileChannel;
+    private long blockMinTimestamp = Long.MAX_VALUE;
+    private long blockMaxTimestamp = Long.MIN_VALUE;
+    private long blockEndPosition;
+
+    static File file(final File indexDirectory, final long recordingId)
+    {
+        return new File(indexDirectory, "recording-" + recordingId + ".checkpoints");
+    }
+
+    /**
+     * Load the index for a recording, discarding it if it doesn't fit within the recording.
+     *
+     * @param indexDirectory the directory holding the index files.
+     * @param recordingId the recording that is indexed.
+     * @param recordingStartPosition the position that the recording starts at.
+     * @param recordedPosition the position up to which the recording has been archived.
+     * @param checkpointIntervalInBytes the minimum size of the blocks appended to the index.
+     * @return the index.
+     */
+    static RecordingCheckpoints load(
+        final File indexDirectory,
+        final long recordingId,
+        final long recordingStartPosition,
+        final long recordedPosition,
+        final int checkpointIntervalInBytes)
+    {
+        IoUtil.ensureDirectoryExists(indexDirectory, indexDirectory.getAbsolutePath());
+        final File file = file(indexDirectory, recordingId);
+        final LongArrayList checkpoints = new LongArrayList();
+
+        if (file.exists())
+        {
+            try
+            {
+                final ByteBuffer contents = ByteBuffer.wrap(Files.readAllBytes(file.toPath()))
+                    .order(ByteOrder.LITTLE_ENDIAN);
+
+                long lastEndPosition = recordingStartPosition;
+                // A checkpoint that was only partly written when a scan stopped is ignored.
+                while (contents.remaining() >= CHECKPOINT_LENGTH)
+                {
+                    final long endPosition = contents.getLong();
+                    if (endPosition <= lastEndPosition || endPosition > recordedPosition)
+                    {
+                        // The index doesn't belong to this recording, eg: the archive has been deleted.
+                        checkpoints.clear();
+                        Files.delete(file.toPath());
+                        break;
+                    }
+
+                    checkpoints.addLong(endPosition);
+                    checkpoints.addLong(contents.getLong());
+                    checkpoints.addLong(contents.getLong());
+                    lastEndPosition = endPosition;
+                }
+
+                if (contents.remaining() > 0 && file.exists())
+                {
+                    try (FileChannel channel = FileChannel.open(file.toPath(), WRITE))
+                    {
+                        channel.truncate((long)checkpoints.size() * SIZE_OF_LONG);
+                    }
+                }
+            }
+            catch (final IOException ex)
+            {
+                LangUtil.rethrowUnchecked(ex);
+            }
+        }
+
+        return new RecordingCheckpoints(file, recordingStartPosition, checkpointIntervalInBytes, checkpoints);
+    }
+
+    RecordingCheckpoints(
+        final File file,
+        final long recordingStartPosition,
+        final int checkpointIntervalInBytes,
+        final LongArrayList checkpoints)
+    {
+        this.file = file;
+        this.recordingStartPosition = recordingStartPosition;
+        this.checkpointIntervalInBytes = checkpointIntervalInBytes;
+        this.checkpoints = checkpoints;
+    }
+
+    /**
+     * Get the position up to which the recording has been indexed.
+     *
+     * @return the position up to which the recording has been indexed.
+     */
+    long indexedPosition()
+    {
+        final int size = checkpointCount();
+        return size == 0 ? recordingStartPosition : endPosition(size - 1);
+    }
+
+    /**
+     * Find the position to start replaying from in order to see every message at or after a timestamp.
+     *
+     * @param beginTimestampInclusive the earliest timestamp of interest.
+     * @return the start of the first block that could contain a message at or after the timestamp.
+     */
+    long startPosition(final long beginTimestampInclusive)
+    {
+        long blockStartPosition = recordingStartPosition;
+        for (int i = 0, size = checkpointCount(); i < size; i++)
+        {
+            if (maxTimestamp(i) >= beginTimestampInclusive)
+            {
+                return blockStartPosition;
+            }
+
+            blockStartPosition = endPosition(i);
+        }
+
+        return blockStartPosition;
+    }
+
+    /**
+     * Find the position to stop replaying at in order to see every message before a timestamp.
+     *
+     * @param endTimestampExclusive the timestamp that all messages of interest are before.
+     * @param recordingStopPosition the position that the recording stops at.
+     * @return the end of the last block that could contain a message before the timestamp.
+     */
+    long stopPosition(final long endTimestampExclusive, final long recordingStopPosition)
+    {
+        if (indexedPosition() < recordingStopPosition)
+        {
+            // The end of the recording hasn't been indexed yet, so it has to be read.
+            return recordingStopPosition;
+        }
+
+        for (int i = checkpointCount() - 1; i >= 0; i--)
+        {
+            if (minTimestamp(i) < endTimestampExclusive)
+            {
+                return endPosition(i);
+            }
+        }
+
+        return recordingStartPosition;
+    }
+
+    /**
+     * Account for a message that has been read from the recording, adding a checkpoint once enough of the
+     * recording past the indexed position has been read.
+     *
+     * @param timestamp the timestamp of the message.
+     * @param endPosition the position of the end of the message within the recording.
+     */
+    void onMessage(final long timestamp, final long endPosition)
+    {
+        final long indexedPosition = indexedPosition();
+        if (endPosition <= indexedPosition)
+        {
+            return;
+        }
+
+        blockMinTimestamp = Math.min(blockMinTimestamp, timestamp);
+        blockMaxTimestamp = Math.max(blockMaxTimestamp, timestamp);
+        blockEndPosition = endPosition;
+
+        if (endPosition - indexedPosition >= checkpointIntervalInBytes)
+        {
+            appendCheckpoint();
+        }
+    }
+
+    public void close()
+    {
+        if (blockEndPosition > indexedPosition())
+        {
+            appendCheckpoint();
+        }
+
+        CloseHelper.close(fileChannel);
+    }
+
+    int checkpointCount()
+    {
+        return checkpoints.size() / FIELDS_PER_CHECKPOINT;
+    }
+
+    private long endPosition(final int checkpoint)
+    {
+        return checkpoints.getLong(checkpoint * FIELDS_PER_CHECKPOINT + END_POSITION_OFFSET);
+    }
+
+    private long minTimestamp(final int checkpoint)
+    {
+        return checkpoints.getLong(checkpoint * FIELDS_PER_CHECKPOINT + MIN_TIMESTAMP_OFFSET);
+    }
+
+    private long maxTimestamp(final int checkpoint)
+    {
+        return checkpoints.getLong(checkpoint * FIELDS_PER_CHECKPOINT + MAX_TIMESTAMP_OFFSET);
+    }
+
+    private void appendCheckpoint()
+    {
+        checkpoints.addLong(blockEndPosition);
+        checkpoints.addLong(blockMinTimestamp);
+        checkpoints.addLong(blockMaxTimestamp);
+
+        final ByteBuffer writeBuffer = this.writeBuffer;
+        writeBuffer.clear();
+        writeBuffer.putLong(blockEndPosition).putLong(blockMinTimestamp).putLong(blockMaxTimestamp);
+        writeBuffer.flip();
+
+        try
+        {
+            if (fileChannel == null)
+            {
+                fileChannel = FileChannel.open(file.toPath(), CREATE, WRITE, APPEND);
+            }
+
+            while (writeBuffer.hasRemaining())
+            {
+                fileChannel.write(writeBuffer);
+            }
+        }
+        catch (final IOException ex)
+        {
+            LangUtil.rethrowUnchecked(ex);
+        }
+
+        blockMinTimestamp = Long.MAX_VALUE;
+        blockMaxTimestamp = Long.MIN_VALUE;
+    }
+}
@@ -22,8 +22,8 @@ import static uk.co.real_logic.artio.dictionary.generation.CodecUtil.MISSING_LON
 
 public final class RecordingRange
 {
-    final long recordingId;
-    final long sessionId;
+    long recordingId;
+    long sessionId;
     long position = MISSING_LONG;
     int length;
     int count;
@@ -35,6 +35,15 @@ public final class RecordingRange
         this.count = 0;
     }
 
+    void reset(final long recordingId, final long sessionId)
+    {
+        this.recordingId = recordingId;
+        this.sessionId = sessionId;
+        this.position = MISSING_LONG;
+        this.length = 0;
+        this.count = 0;
+    }
+
     void add(final long addPosition, final int addLength)
     {
         final long currentPosition = this.position;
@@ -21,6 +21,8 @@ import org.agrona.DirectBuffer;
 import org.agrona.ErrorHandler;
 import org.agrona.IoUtil;
 import org.agrona.collections.Long2ObjectCache;
+import org.agrona.collections.Long2ObjectHashMap;
+import org.agrona.collections.LongArrayList;
 import org.agrona.concurrent.AtomicBuffer;
 import org.agrona.concurrent.UnsafeBuffer;
 import uk.co.real_logic.artio.engine.SequenceNumberExtractor;
@@ -31,10 +33,16 @@ import uk.co.real_logic.artio.messages.MessageHeaderEncoder;
 import uk.co.real_logic.artio.storage.messages.ReplayIndexRecordEncoder;
 
 import java.io.File;
+import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.file.Files;
 import java.util.function.LongFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import static io.aeron.logbuffer.FrameDescriptor.*;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
 import static org.agrona.UnsafeAccess.UNSAFE;
 import static uk.co.real_logic.artio.engine.SequenceNumberExtractor.NO_SEQUENCE_NUMBER;
 import static uk.co.real_logic.artio.engine.logger.ReplayIndexDescriptor.*;
@@ -51,9 +59,20 @@ import static uk.co.real_logic.artio.messages.MessageStatus.OK;
  * Head position counter
  * Tail position counter
  * Multiple ReplayIndexRecord entries
+ *
+ * If segments are retained then each time the buffer fills up it is copied into a read-only segment file at
+ * {@link ReplayIndexDescriptor#replayIndexSegmentFile(String, long, int, long)} before the oldest records get
+ * overwritten. At that point the records are in position order from the start of the buffer. Segments are written
+ * to a temporary file that is then atomically moved into place, so a query never reads a partly written segment.
+ * A segment that can't be written is reported to the error handler, and the record is indexed regardless. Segments
+ * left over from an earlier run that are beyond those retained, or that belong to an index that has been reset, are
+ * deleted when the session's index is first opened.
  */
 public class ReplayIndex implements Index
 {
+    private static final Pattern SEGMENT_FILE_NAME = Pattern.compile(
+        "replay-index-(-?\\d+)-(-?\\d+)-segment-(\\d+)(\\.tmp)?");
+
     private final LongFunction<SessionIndex> newSessionIndex = SessionIndex::new;
     private final MessageHeaderDecoder frameHeaderDecoder = new MessageHeaderDecoder();
     private final FixMessageDecoder messageFrame = new FixMessageDecoder();
@@ -72,6 +91,9 @@ public class ReplayIndex implements Index
     private final BufferFactory bufferFactory;
     private final AtomicBuffer positionBuffer;
     private final RecordingIdLookup recordingIdLookup;
+    private final int segmentsToRetain;
+    private final ErrorHandler errorHandler;
+    private final Long2ObjectHashMap<LongArrayList> fixSessionIdToSegments = new Long2ObjectHashMap<>();
 
     public ReplayIndex(
         final String logFileDir,
@@ -82,7 +104,8 @@ public class ReplayIndex implements Index
         final BufferFactory bufferFactory,
         final AtomicBuffer positionBuffer,
         final ErrorHandler errorHandler,
-        final RecordingIdLookup recordingIdLookup)
+        final RecordingIdLookup recordingIdLookup,
+        final int segmentsToRetain)
     {
         this.logFileDir = logFileDir;
         this.requiredStreamId = requiredStreamId;
@@ -90,6 +113,8 @@ public class ReplayIndex implements Index
         this.bufferFactory = bufferFactory;
         this.positionBuffer = positionBuffer;
         this.recordingIdLookup = recordingIdLookup;
+        this.segmentsToRetain = segmentsToRetain;
+        this.errorHandler = errorHandler;
 
         sequenceNumberExtractor = new SequenceNumberExtractor(errorHandler);
         checkIndexFileSize(indexFileSize);
@@ -98,6 +123,42 @@ public class ReplayIndex implements Index
         positionWriter = new IndexedPositionWriter(
             positionBuffer, errorHandler, 0, replayPositionPath);
         positionReader = new IndexedPositionReader(positionBuffer);
+        findSegmentFiles();
+    }
+
+    // Segments can only be checked against their session's index once it's opened, so they're listed up front in
+    // order to avoid listing the directory every time that a session's index is opened.
+    private void findSegmentFiles()
+    {
+        final File[] files = new File(logFileDir).listFiles();
+        if (files == null)
+        {
+            return;
+        }
+
+        for (final File file : files)
+        {
+            final Matcher matcher = SEGMENT_FILE_NAME.matcher(file.getName());
+            if (matcher.matches() && Integer.parseInt(matcher.group(2)) == requiredStreamId)
+            {
+                if (matcher.group(4) != null)
+                {
+                    // Left behind by a segment that was still being written when the engine stopped.
+                    IoUtil.deleteIfExists(file);
+                }
+                else
+                {
+                    final long fixSessionId = Long.parseLong(matcher.group(1));
+                    LongArrayList segments = fixSessionIdToSegments.get(fixSessionId);
+                    if (segments == null)
+                    {
+                        segments = new LongArrayList();
+                        fixSessionIdToSegments.put(fixSessionId, segments);
+                    }
+                    segments.addLong(Long.parseLong(matcher.group(3)));
+                }
+            }
+        }
     }
 
     private long continuedFixSessionId;
@@ -186,9 +247,11 @@ public class ReplayIndex implements Index
         private final ByteBuffer wrappedBuffer;
         private final AtomicBuffer buffer;
         private final int recordCapacity;
+        private final long fixSessionId;
 
         SessionIndex(final long fixSessionId)
         {
+            this.fixSessionId = fixSessionId;
             final File logFile = replayIndexFile(logFileDir, fixSessionId, requiredStreamId);
             final boolean exists = logFile.exists();
             this.wrappedBuffer = bufferFactory.map(logFile, indexFileSize);
@@ -210,6 +273,31 @@ public class ReplayIndex implements Index
                 final long resetPosition = beginChange(buffer);
                 endChangeOrdered(buffer, resetPosition);
             }
+
+            deleteSegmentsNotRetained(exists);
+        }
+
+        private void deleteSegmentsNotRetained(final boolean exists)
+        {
+            final LongArrayList segments = fixSessionIdToSegments.remove(fixSessionId);
+            if (segments == null)
+            {
+                return;
+            }
+
+            // The next segment is rolled once the lap of the buffer that's currently being written to has filled up.
+            final long beginChangePosition = exists ? beginChange(buffer) : 0;
+            final long nextSegment = beginChangePosition == 0 ? 0 : (beginChangePosition - 1) / recordCapacity;
+            final long oldestRetainedSegment = nextSegment - segmentsToRetain;
+            for (int i = 0, size = segments.size(); i < size; i++)
+            {
+                final long segment = segments.getLong(i);
+                if (segment < oldestRetainedSegment || segment >= nextSegment)
+                {
+                    IoUtil.deleteIfExists(
+                        replayIndexSegmentFile(logFileDir, fixSessionId, requiredStreamId, segment));
+                }
+            }
         }
 
         void onRecord(
@@ -225,6 +313,12 @@ public class ReplayIndex implements Index
             final long recordingId = recordingIdLookup.getRecordingId(aeronSessionId);
             final long beginPosition = endPosition - length;
 
+            if (segmentsToRetain > 0 && beginChangePosition != 0 && offset(beginChangePosition, recordCapacity) ==
+                INITIAL_RECORD_OFFSET)
+            {
+                rollSegment(beginChangePosition / recordCapacity - 1);
+            }
+
             beginChangeOrdered(buffer, changePosition);
             UNSAFE.storeFence();
 
@@ -241,6 +335,40 @@ public class ReplayIndex implements Index
             endChangeOrdered(buffer, changePosition);
         }
 
+        private void rollSegment(final long segment)
+        {
+            final File segmentFile = replayIndexSegmentFile(logFileDir, fixSessionId, requiredStreamId, segment);
+            final File tempFile = replayIndexSegmentTempFile(logFileDir, fixSessionId, requiredStreamId, segment);
+            try
+            {
+                final ByteBuffer segmentBuffer = bufferFactory.map(tempFile, indexFileSize);
+                try
+                {
+                    new UnsafeBuffer(segmentBuffer).putBytes(0, buffer, 0, indexFileSize);
+                }
+                finally
+                {
+                    IoUtil.unmap(segmentBuffer);
+                }
+
+                // Queries run on another thread, so the segment must only appear once it has been fully written.
+                Files.move(tempFile.toPath(), segmentFile.toPath(), ATOMIC_MOVE, REPLACE_EXISTING);
+            }
+            catch (final IOException | RuntimeException ex)
+            {
+                // The records are still indexed, only the segment's copy of the overwritten records is lost.
+                IoUtil.deleteIfExists(tempFile);
+                errorHandler.onError(ex);
+            }
+
+            final long expiredSegment = segment - segmentsToRetain;
+            if (expiredSegment >= 0)
+            {
+                IoUtil.deleteIfExists(
+                    replayIndexSegmentFile(logFileDir, fixSessionId, requiredStreamId, expiredSegment));
+            }
+        }
+
         public void close()
         {
             IoUtil.unmap(wrappedBuffer);
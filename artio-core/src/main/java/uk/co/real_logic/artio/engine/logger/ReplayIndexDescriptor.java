@@ -47,6 +47,21 @@ public final class ReplayIndexDescriptor
         return new File(String.format(logFileDir + File.separator + "replay-index-%d-%d", fixSessionId, streamId));
     }
 
+    static File replayIndexSegmentFile(
+        final String logFileDir, final long fixSessionId, final int streamId, final long segment)
+    {
+        return new File(String.format(
+            logFileDir + File.separator + "replay-index-%d-%d-segment-%d", fixSessionId, streamId, segment));
+    }
+
+    // Segments are written here first and then moved into place, so readers never see a partly written segment.
+    static File replayIndexSegmentTempFile(
+        final String logFileDir, final long fixSessionId, final int streamId, final long segment)
+    {
+        return new File(String.format(
+            logFileDir + File.separator + "replay-index-%d-%d-segment-%d.tmp", fixSessionId, streamId, segment));
+    }
+
     public static UnsafeBuffer replayPositionBuffer(final String logFileDir, final int streamId)
     {
         final String pathname = replayPositionPath(logFileDir, streamId);
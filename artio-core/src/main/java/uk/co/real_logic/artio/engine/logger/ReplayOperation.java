@@ -49,6 +49,7 @@ public class ReplayOperation
     private final ControlledFragmentAssembler assembler;
 
     private final List<RecordingRange> ranges;
+    private final ReplayQuery replayQuery;
     private final AeronArchive aeronArchive;
     private final ErrorHandler errorHandler;
     private final int archiveReplayStream;
@@ -56,6 +57,9 @@ public class ReplayOperation
     private final CountersReader countersReader;
     private final Subscription subscription;
 
+    private int rangeIndex = 0;
+    private boolean releasedRanges = false;
+
     // fields reset for each recordingRange
     private int replayedMessages = 0;
     private RecordingRange recordingRange;
@@ -65,6 +69,7 @@ public class ReplayOperation
     ReplayOperation(
         final ControlledFragmentHandler handler,
         final List<RecordingRange> ranges,
+        final ReplayQuery replayQuery,
         final AeronArchive aeronArchive,
         final ErrorHandler errorHandler,
         final Subscription subscription,
@@ -75,6 +80,7 @@ public class ReplayOperation
         assembler = new ControlledFragmentAssembler(messageTracker);
 
         this.ranges = ranges;
+        this.replayQuery = replayQuery;
         this.aeronArchive = aeronArchive;
         this.errorHandler = errorHandler;
         this.archiveReplayStream = archiveReplayStream;
@@ -92,16 +98,21 @@ public class ReplayOperation
      */
     public boolean attemptReplay()
     {
+        if (releasedRanges)
+        {
+            return true;
+        }
+
         if (recordingRange == null)
         {
             DebugLogger.log(logTag, "Acquiring Recording Range");
 
-            if (ranges.isEmpty())
+            if (rangeIndex == ranges.size())
             {
-                return true;
+                return releaseRanges();
             }
 
-            recordingRange = ranges.get(0);
+            recordingRange = ranges.get(rangeIndex);
             DebugLogger.log(logTag,
                 "ReplayOperation : Attempting Recording Range: %s%n",
                 recordingRange);
@@ -123,7 +134,7 @@ public class ReplayOperation
             }
             else
             {
-                ranges.remove(0);
+                rangeIndex++;
             }
 
             try
@@ -147,7 +158,7 @@ public class ReplayOperation
             {
                 errorHandler.onError(exception);
 
-                return true;
+                return releaseRanges();
             }
         }
 
@@ -198,7 +209,7 @@ public class ReplayOperation
         replayedMessages += recordingRangeCount;
         recordingRange = null;
 
-        return ranges.isEmpty();
+        return rangeIndex == ranges.size() && releaseRanges();
     }
 
     private boolean onEndOfImage(final int recordingRangeCount, final boolean closed, final boolean endOfStream)
@@ -215,7 +226,20 @@ public class ReplayOperation
         recordingRange = null;
         image = null;
 
-        return ranges.isEmpty();
+        return rangeIndex == ranges.size() && releaseRanges();
+    }
+
+    private boolean releaseRanges()
+    {
+        if (!releasedRanges)
+        {
+            // recordingRange may refer to a released range, so it shouldn't be used after this point
+            recordingRange = null;
+            releasedRanges = true;
+            replayQuery.releaseRanges(ranges);
+        }
+
+        return true;
     }
 
     int replayedMessages()
@@ -304,5 +328,7 @@ public class ReplayOperation
         {
             aeronArchive.stopReplay(aeronSessionId);
         }
+
+        releaseRanges();
     }
 }
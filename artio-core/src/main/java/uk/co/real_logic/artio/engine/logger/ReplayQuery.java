@@ -29,6 +29,7 @@ import uk.co.real_logic.artio.LogTag;
 import uk.co.real_logic.artio.messages.MessageHeaderDecoder;
 import uk.co.real_logic.artio.storage.messages.ReplayIndexRecordDecoder;
 
+import java.io.File;
 import java.nio.ByteBuffer;
 import java.nio.MappedByteBuffer;
 import java.util.ArrayList;
@@ -60,6 +61,11 @@ public class ReplayQuery implements AutoCloseable
     private final AeronArchive aeronArchive;
     private final ErrorHandler errorHandler;
     private final int archiveReplayStream;
+    private final int segmentsToRetain;
+
+    // Ranges and lists of them are recycled once the replay operation that they were handed out to has finished.
+    private final List<RecordingRange> freeRanges = new ArrayList<>();
+    private final List<List<RecordingRange>> freeRangeLists = new ArrayList<>();
 
     private Subscription replaySubscription;
 
@@ -72,7 +78,8 @@ public class ReplayQuery implements AutoCloseable
         final IdleStrategy idleStrategy,
         final AeronArchive aeronArchive,
         final ErrorHandler errorHandler,
-        final int archiveReplayStream)
+        final int archiveReplayStream,
+        final int segmentsToRetain)
     {
         this.logFileDir = logFileDir;
         this.indexBufferFactory = indexBufferFactory;
@@ -81,6 +88,7 @@ public class ReplayQuery implements AutoCloseable
         this.aeronArchive = aeronArchive;
         this.errorHandler = errorHandler;
         this.archiveReplayStream = archiveReplayStream;
+        this.segmentsToRetain = segmentsToRetain;
 
         fixSessionToIndex = new Long2ObjectCache<>(cacheNumSets, cacheSetSize, SessionQuery::close);
     }
@@ -110,6 +118,32 @@ public class ReplayQuery implements AutoCloseable
             .query(handler, beginSequenceNumber, beginSequenceIndex, endSequenceNumber, endSequenceIndex, logTag);
     }
 
+    List<RecordingRange> acquireRanges()
+    {
+        final int size = freeRangeLists.size();
+        return size == 0 ? new ArrayList<>() : freeRangeLists.remove(size - 1);
+    }
+
+    void releaseRanges(final List<RecordingRange> ranges)
+    {
+        freeRanges.addAll(ranges);
+        ranges.clear();
+        freeRangeLists.add(ranges);
+    }
+
+    private RecordingRange acquireRange(final long recordingId, final long sessionId)
+    {
+        final int size = freeRanges.size();
+        if (size == 0)
+        {
+            return new RecordingRange(recordingId, sessionId);
+        }
+
+        final RecordingRange range = freeRanges.remove(size - 1);
+        range.reset(recordingId, sessionId);
+        return range;
+    }
+
     public void close()
     {
         fixSessionToIndex.clear();
@@ -122,8 +156,14 @@ public class ReplayQuery implements AutoCloseable
         private final ByteBuffer wrappedBuffer;
         private final long sessionId;
         private final UnsafeBuffer buffer;
+        private final UnsafeBuffer segmentBuffer = new UnsafeBuffer(0, 0);
         private final int capacity;
 
+        // state for the query in progress
+        private List<RecordingRange> ranges;
+        private RecordingRange currentRange;
+        private int lastSequenceNumber;
+
         SessionQuery(final long sessionId)
         {
             wrappedBuffer = indexBufferFactory.map(replayIndexFile(logFileDir, sessionId, requiredStreamId));
@@ -144,17 +184,36 @@ public class ReplayQuery implements AutoCloseable
 
             final int actingBlockLength = messageFrameHeader.blockLength();
             final int actingVersion = messageFrameHeader.version();
-            final boolean upToMostRecentMessage = endSequenceNumber == MOST_RECENT_MESSAGE;
 
             // LOOKUP THE RANGE FROM THE INDEX
             // NB: this is a List as we are looking up recordings in the correct order to replay them.
-            final List<RecordingRange> ranges = new ArrayList<>();
-            RecordingRange currentRange = null;
+            ranges = acquireRanges();
+            currentRange = null;
+            lastSequenceNumber = -1;
+
+            final long oldestPosition = getIteratorPosition();
+            long iteratorPosition = searchStartPosition(
+                oldestPosition, beginSequenceNumber, beginSequenceIndex, actingBlockLength, actingVersion);
+            long stopIteratingPosition = oldestPosition + capacity;
 
-            long iteratorPosition = getIteratorPosition();
-            long stopIteratingPosition = iteratorPosition + capacity;
+            // The buffer has wrapped and the query starts before its oldest record, so look in the rolled segments
+            if (segmentsToRetain > 0 && oldestPosition > capacity && iteratorPosition == oldestPosition)
+            {
+                final boolean reachedEnd = querySegments(
+                    oldestPosition - capacity,
+                    beginSequenceNumber,
+                    beginSequenceIndex,
+                    endSequenceNumber,
+                    endSequenceIndex,
+                    actingBlockLength,
+                    actingVersion);
+
+                if (reachedEnd)
+                {
+                    stopIteratingPosition = iteratorPosition;
+                }
+            }
 
-            int lastSequenceNumber = -1;
             while (iteratorPosition != stopIteratingPosition)
             {
                 final long changePosition = endChangeVolatile(buffer);
@@ -181,26 +240,15 @@ public class ReplayQuery implements AutoCloseable
                 {
                     idleStrategy.reset();
 
-                    final boolean afterEnd = !upToMostRecentMessage && (sequenceIndex > endSequenceIndex ||
-                        (sequenceIndex == endSequenceIndex && sequenceNumber > endSequenceNumber));
-                    if (beginPosition == 0 || afterEnd)
+                    if (beginPosition == 0 ||
+                        isAfterEnd(sequenceIndex, sequenceNumber, endSequenceIndex, endSequenceNumber))
                     {
                         break;
                     }
 
-                    final boolean withinQueryRange = sequenceIndex > beginSequenceIndex ||
-                        (sequenceIndex == beginSequenceIndex && sequenceNumber >= beginSequenceNumber);
-                    if (withinQueryRange)
+                    if (!isBeforeStart(sequenceIndex, sequenceNumber, beginSequenceIndex, beginSequenceNumber))
                     {
-                        currentRange = addRange(
-                            ranges,
-                            currentRange,
-                            lastSequenceNumber,
-                            beginPosition,
-                            sequenceNumber,
-                            recordingId,
-                            readLength);
-                        lastSequenceNumber = sequenceNumber;
+                        addRange(beginPosition, sequenceNumber, recordingId, readLength);
                         iteratorPosition += RECORD_LENGTH;
                     }
                     else // before start of query
@@ -214,14 +262,217 @@ public class ReplayQuery implements AutoCloseable
                 }
             }
 
+            final List<RecordingRange> ranges = this.ranges;
             if (currentRange != null)
             {
                 ranges.add(currentRange);
             }
+            this.ranges = null;
+            currentRange = null;
 
             return newReplayOperation(handler, ranges, logTag);
         }
 
+        /**
+         * Add the records from the retained segments that are older than the oldest record still in the buffer.
+         *
+         * @return true if the end of the query was reached within the segments.
+         */
+        private boolean querySegments(
+            final long firstBufferedPosition,
+            final int beginSequenceNumber,
+            final int beginSequenceIndex,
+            final int endSequenceNumber,
+            final int endSequenceIndex,
+            final int actingBlockLength,
+            final int actingVersion)
+        {
+            final long lastSegment = (firstBufferedPosition - 1) / capacity;
+            for (long segment = Math.max(0, lastSegment - segmentsToRetain + 1); segment <= lastSegment; segment++)
+            {
+                final ByteBuffer segmentByteBuffer = mapSegment(segment);
+                if (segmentByteBuffer == null)
+                {
+                    continue;
+                }
+
+                try
+                {
+                    segmentBuffer.wrap(segmentByteBuffer);
+                    final long segmentPosition = segment * capacity;
+                    final int recordCount = (int)(Math.min(capacity, firstBufferedPosition - segmentPosition) /
+                        RECORD_LENGTH);
+                    if (querySegment(
+                        recordCount,
+                        beginSequenceNumber,
+                        beginSequenceIndex,
+                        endSequenceNumber,
+                        endSequenceIndex,
+                        actingBlockLength,
+                        actingVersion))
+                    {
+                        return true;
+                    }
+                }
+                finally
+                {
+                    if (segmentByteBuffer instanceof MappedByteBuffer)
+                    {
+                        IoUtil.unmap((MappedByteBuffer)segmentByteBuffer);
+                    }
+                }
+            }
+
+            return false;
+        }
+
+        // The indexer deletes expired segments on its own thread, so a segment can disappear between checking for
+        // it and mapping it. Either way it has expired, so its records are skipped. A segment that can't be mapped
+        // for any other reason is reported and skipped rather than failing the whole query.
+        private ByteBuffer mapSegment(final long segment)
+        {
+            final File segmentFile = replayIndexSegmentFile(logFileDir, sessionId, requiredStreamId, segment);
+            if (!segmentFile.exists())
+            {
+                return null;
+            }
+
+            try
+            {
+                return indexBufferFactory.map(segmentFile);
+            }
+            catch (final Exception ex)
+            {
+                if (segmentFile.exists())
+                {
+                    errorHandler.onError(ex);
+                }
+
+                return null;
+            }
+        }
+
+        // Segments are read-only and their records start at the beginning of the buffer, so no change checks here.
+        private boolean querySegment(
+            final int recordCount,
+            final int beginSequenceNumber,
+            final int beginSequenceIndex,
+            final int endSequenceNumber,
+            final int endSequenceIndex,
+            final int actingBlockLength,
+            final int actingVersion)
+        {
+            int low = 0;
+            int high = recordCount;
+            while (low < high)
+            {
+                final int middle = (low + high) >>> 1;
+                indexRecord.wrap(
+                    segmentBuffer, INITIAL_RECORD_OFFSET + middle * RECORD_LENGTH, actingBlockLength, actingVersion);
+                if (isBeforeStart(
+                    indexRecord.sequenceIndex(), indexRecord.sequenceNumber(), beginSequenceIndex, beginSequenceNumber))
+                {
+                    low = middle + 1;
+                }
+                else
+                {
+                    high = middle;
+                }
+            }
+
+            for (int i = low; i < recordCount; i++)
+            {
+                indexRecord.wrap(
+                    segmentBuffer, INITIAL_RECORD_OFFSET + i * RECORD_LENGTH, actingBlockLength, actingVersion);
+                final int sequenceIndex = indexRecord.sequenceIndex();
+                final int sequenceNumber = indexRecord.sequenceNumber();
+                if (isAfterEnd(sequenceIndex, sequenceNumber, endSequenceIndex, endSequenceNumber))
+                {
+                    return true;
+                }
+
+                if (!isBeforeStart(sequenceIndex, sequenceNumber, beginSequenceIndex, beginSequenceNumber))
+                {
+                    addRange(indexRecord.position(), sequenceNumber, indexRecord.recordingId(), indexRecord.length());
+                }
+            }
+
+            return false;
+        }
+
+        private boolean isBeforeStart(
+            final int sequenceIndex,
+            final int sequenceNumber,
+            final int beginSequenceIndex,
+            final int beginSequenceNumber)
+        {
+            return sequenceIndex < beginSequenceIndex ||
+                (sequenceIndex == beginSequenceIndex && sequenceNumber < beginSequenceNumber);
+        }
+
+        private boolean isAfterEnd(
+            final int sequenceIndex,
+            final int sequenceNumber,
+            final int endSequenceIndex,
+            final int endSequenceNumber)
+        {
+            return endSequenceNumber != MOST_RECENT_MESSAGE && (sequenceIndex > endSequenceIndex ||
+                (sequenceIndex == endSequenceIndex && sequenceNumber > endSequenceNumber));
+        }
+
+        /**
+         * Binary search the ring buffer for the first record at or after the beginning of the query. Records are
+         * appended in (sequenceIndex, sequenceNumber) order and unwritten records only follow written ones, so the
+         * records from the oldest position onwards are sorted. If the writer laps the search then the linear scan
+         * in {@link #query} detects it and corrects the position.
+         *
+         * @return the position of the first record that isn't before the beginning of the query.
+         */
+        private long searchStartPosition(
+            final long oldestPosition,
+            final int beginSequenceNumber,
+            final int beginSequenceIndex,
+            final int actingBlockLength,
+            final int actingVersion)
+        {
+            int low = 0;
+            int high = capacity / RECORD_LENGTH;
+            while (low < high)
+            {
+                final int middle = (low + high) >>> 1;
+                final long middlePosition = oldestPosition + (long)middle * RECORD_LENGTH;
+
+                final long changePosition = endChangeVolatile(buffer);
+                indexRecord.wrap(buffer, offset(middlePosition, capacity), actingBlockLength, actingVersion);
+                final long beginPosition = indexRecord.position();
+                final int sequenceIndex = indexRecord.sequenceIndex();
+                final int sequenceNumber = indexRecord.sequenceNumber();
+
+                UNSAFE.loadFence(); // LoadLoad required so previous loads don't move past version check below.
+
+                if (changePosition == beginChangeVolatile(buffer))
+                {
+                    idleStrategy.reset();
+
+                    if (beginPosition != 0 &&
+                        isBeforeStart(sequenceIndex, sequenceNumber, beginSequenceIndex, beginSequenceNumber))
+                    {
+                        low = middle + 1;
+                    }
+                    else
+                    {
+                        high = middle;
+                    }
+                }
+                else
+                {
+                    idleStrategy.idle();
+                }
+            }
+
+            return oldestPosition + (long)low * RECORD_LENGTH;
+        }
+
         private long skipToStart(final int beginSequenceNumber, final long iteratorPosition, final int sequenceNumber)
         {
             if (sequenceNumber < beginSequenceNumber)
@@ -259,6 +510,7 @@ public class ReplayQuery implements AutoCloseable
             return new ReplayOperation(
                 handler,
                 ranges,
+                ReplayQuery.this,
                 aeronArchive,
                 errorHandler,
                 replaySubscription,
@@ -266,10 +518,7 @@ public class ReplayQuery implements AutoCloseable
                 logTag);
         }
 
-        private RecordingRange addRange(
-            final List<RecordingRange> ranges,
-            final RecordingRange currentRange,
-            final int lastSequenceNumber,
+        private void addRange(
             final long beginPosition,
             final int sequenceNumber,
             final long recordingId,
@@ -278,12 +527,12 @@ public class ReplayQuery implements AutoCloseable
             RecordingRange range = currentRange;
             if (range == null)
             {
-                range = new RecordingRange(recordingId, sessionId);
+                range = acquireRange(recordingId, sessionId);
             }
             else if (range.recordingId != recordingId)
             {
                 ranges.add(range);
-                range = new RecordingRange(recordingId, sessionId);
+                range = acquireRange(recordingId, sessionId);
             }
 
             range.add(
@@ -295,7 +544,8 @@ public class ReplayQuery implements AutoCloseable
             {
                 range.count++;
             }
-            return range;
+            currentRange = range;
+            lastSequenceNumber = sequenceNumber;
         }
 
         private long getIteratorPosition()
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2015-2019 Real Logic Ltd, Adaptive Financial Consulting Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.engine.logger;
+
+import org.agrona.DirectBuffer;
+import org.agrona.IoUtil;
+import org.agrona.LangUtil;
+import org.agrona.concurrent.AtomicBuffer;
+import uk.co.real_logic.artio.engine.MappedFile;
+import uk.co.real_logic.artio.messages.FixMessageDecoder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+/**
+ * Base class for sinks that write records into a sequence of memory mapped files. When a record doesn't fit into the
+ * remainder of the current file it is truncated to the length of the records written and the next file in the
+ * sequence is mapped. Files are named {@code <prefix>-<index><suffix>} and existing files are never overwritten.
+ */
+public abstract class RollingMappedFileSink implements FixMessageSink
+{
+    private final File directory;
+    private final String prefix;
+    private final String suffix;
+    private final int fileSize;
+
+    private MappedFile mappedFile;
+    private int fileIndex = 0;
+    private int position;
+
+    protected RollingMappedFileSink(
+        final File directory, final String prefix, final String suffix, final int fileSize)
+    {
+        this.directory = directory;
+        this.prefix = prefix;
+        this.suffix = suffix;
+        this.fileSize = fileSize;
+        IoUtil.ensureDirectoryExists(directory, directory.getAbsolutePath());
+        mapNextFile();
+    }
+
+    public boolean onMessage(
+        final FixMessageDecoder message, final DirectBuffer buffer, final int offset, final int length)
+    {
+        final int recordLength = recordLength(length);
+        if (recordLength > fileSize)
+        {
+            return false;
+        }
+
+        if (position + recordLength > fileSize)
+        {
+            closeFile();
+            mapNextFile();
+        }
+
+        position += writeRecord(mappedFile.buffer(), position, message, buffer, offset, length);
+
+        return true;
+    }
+
+    /**
+     * Get the file that records are currently being written to.
+     *
+     * @return the file that records are currently being written to.
+     */
+    public File currentFile()
+    {
+        return mappedFile.file();
+    }
+
+    public void flush()
+    {
+        mappedFile.force();
+    }
+
+    public void close()
+    {
+        if (mappedFile != null)
+        {
+            closeFile();
+            mappedFile = null;
+        }
+    }
+
+    /**
+     * Get the number of bytes that a record for a message takes up in the file.
+     *
+     * @param messageLength the length of the FIX message in bytes.
+     * @return the number of bytes that a record for a message takes up in the file.
+     */
+    protected abstract int recordLength(int messageLength);
+
+    /**
+     * Write out a record for a message, there is always at least {@link #recordLength(int)} bytes remaining.
+     *
+     * @param file the buffer that is mapped onto the current file.
+     * @param filePosition the position within the file to write the record at.
+     * @param message the message header in the log.
+     * @param buffer the buffer where the ascii FixMessage is stored.
+     * @param offset the offset where the message begins within the buffer.
+     * @param length the length of the FixMessage in bytes.
+     * @return the number of bytes written.
+     */
+    protected abstract int writeRecord(
+        AtomicBuffer file,
+        int filePosition,
+        FixMessageDecoder message,
+        DirectBuffer buffer,
+        int offset,
+        int length);
+
+    private void mapNextFile()
+    {
+        File file;
+        do
+        {
+            file = new File(directory, prefix + "-" + fileIndex + suffix);
+            fileIndex++;
+        }
+        while (file.exists());
+
+        mappedFile = MappedFile.map(file, fileSize);
+        position = 0;
+    }
+
+    private void closeFile()
+    {
+        final File file = mappedFile.file();
+        mappedFile.force();
+        mappedFile.close();
+
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw"))
+        {
+            randomAccessFile.setLength(position);
+        }
+        catch (final IOException ex)
+        {
+            LangUtil.rethrowUnchecked(ex);
+        }
+    }
+}
@@ -16,6 +16,7 @@
 package uk.co.real_logic.artio.engine.logger;
 
 import org.agrona.ErrorHandler;
+import org.agrona.collections.Long2LongHashMap;
 import org.agrona.concurrent.AtomicBuffer;
 import uk.co.real_logic.artio.engine.SectorFramer;
 import uk.co.real_logic.artio.messages.MessageHeaderDecoder;
@@ -28,14 +29,35 @@ import static uk.co.real_logic.artio.engine.logger.SequenceNumberIndexDescriptor
 import static uk.co.real_logic.artio.storage.messages.LastKnownSequenceNumberEncoder.BLOCK_LENGTH;
 import static uk.co.real_logic.artio.storage.messages.LastKnownSequenceNumberEncoder.SCHEMA_VERSION;
 
+/**
+ * Reads the last known sequence number for a session out of the buffer written by a
+ * {@link SequenceNumberIndexWriter}.
+ * <p>
+ * Record offsets are cached in an open addressing map that is filled in incrementally as the records are scanned,
+ * so each record is only walked over once. Records never move once written, but can be wiped by a reset of the
+ * sequence numbers. The writer increments a reset generation in the file header on every reset, so the cache is
+ * discarded and rebuilt only when that generation has changed, and a lookup that misses resumes the scan from where
+ * the last one stopped rather than from the start of the index. A cached offset is also validated against the session
+ * id stored in the record before being used, to cover a reset that lands part way through a lookup.
+ * <p>
+ * The writer stores a record's session id before publishing its sequence number with an ordered write, so the
+ * sequence number is read with volatile semantics before the session id.
+ */
 public class SequenceNumberIndexReader
 {
+    private static final long MISSING_RECORD = -1L;
+    private static final long NO_SESSION_ID = 0L;
+
     private final MessageHeaderDecoder fileHeaderDecoder = new MessageHeaderDecoder();
     private final LastKnownSequenceNumberDecoder lastKnownDecoder = new LastKnownSequenceNumberDecoder();
     private final AtomicBuffer inMemoryBuffer;
     private final SectorFramer sectorFramer;
     private final IndexedPositionReader positions;
     private final ErrorHandler errorHandler;
+    private final Long2LongHashMap recordOffsets = new Long2LongHashMap(MISSING_RECORD);
+
+    private int scannedUpToPosition = HEADER_SIZE;
+    private long resetGeneration;
 
     public SequenceNumberIndexReader(final AtomicBuffer inMemoryBuffer, final ErrorHandler errorHandler)
     {
@@ -44,12 +66,37 @@ public class SequenceNumberIndexReader
         final int positionTableOffset = positionTableOffset(inMemoryBuffer.capacity());
         sectorFramer = new SectorFramer(positionTableOffset);
         validateBuffer();
+        resetGeneration = resetGeneration();
         positions = new IndexedPositionReader(positionsBuffer(inMemoryBuffer, positionTableOffset));
     }
 
     public int lastKnownSequenceNumber(final long sessionId)
     {
-        int position = SequenceNumberIndexDescriptor.HEADER_SIZE;
+        final long resetGeneration = resetGeneration();
+        if (resetGeneration != this.resetGeneration)
+        {
+            this.resetGeneration = resetGeneration;
+            resetCache();
+        }
+
+        final int recordOffset = (int)recordOffsets.get(sessionId);
+        if (recordOffset != MISSING_RECORD)
+        {
+            final int sequenceNumber = sequenceNumber(recordOffset);
+            if (sessionId(recordOffset) == sessionId)
+            {
+                return sequenceNumber;
+            }
+
+            resetCache();
+        }
+
+        return scanForRecord(sessionId);
+    }
+
+    private int scanForRecord(final long sessionId)
+    {
+        int position = scannedUpToPosition;
         while (true)
         {
             position = sectorFramer.claim(position, RECORD_SIZE);
@@ -58,17 +105,47 @@ public class SequenceNumberIndexReader
                 return UNK_SESSION;
             }
 
-            lastKnownDecoder.wrap(inMemoryBuffer, position, BLOCK_LENGTH, SCHEMA_VERSION);
-
-            if (lastKnownDecoder.sessionId() == sessionId)
+            final int sequenceNumber = sequenceNumber(position);
+            final long recordSessionId = sessionId(position);
+            if (recordSessionId == NO_SESSION_ID)
             {
-                return lastKnownDecoder.sequenceNumber();
+                // Unused record: nothing has been written beyond here yet, so resume from it on the next miss.
+                return UNK_SESSION;
             }
 
+            recordOffsets.put(recordSessionId, position);
             position += RECORD_SIZE;
+            scannedUpToPosition = position;
+
+            if (recordSessionId == sessionId)
+            {
+                return sequenceNumber;
+            }
         }
     }
 
+    private long resetGeneration()
+    {
+        return inMemoryBuffer.getLongVolatile(RESET_GENERATION_OFFSET);
+    }
+
+    private int sequenceNumber(final int recordOffset)
+    {
+        return inMemoryBuffer.getIntVolatile(recordOffset + SequenceNumberIndexWriter.SEQUENCE_NUMBER_OFFSET);
+    }
+
+    private long sessionId(final int recordOffset)
+    {
+        lastKnownDecoder.wrap(inMemoryBuffer, recordOffset, BLOCK_LENGTH, SCHEMA_VERSION);
+        return lastKnownDecoder.sessionId();
+    }
+
+    private void resetCache()
+    {
+        recordOffsets.clear();
+        scannedUpToPosition = HEADER_SIZE;
+    }
+
     public long indexedPosition(final int aeronSessionId)
     {
         return positions.indexedPosition(aeronSessionId);
@@ -219,8 +219,10 @@ public class SequenceNumberIndexWriter implements Index
 
     void resetSequenceNumbers()
     {
+        final long resetGeneration = inMemoryBuffer.getLong(RESET_GENERATION_OFFSET);
         inMemoryBuffer.setMemory(0, indexedPositionsOffset, (byte)0);
         initialiseBlankBuffer();
+        inMemoryBuffer.putLongOrdered(RESET_GENERATION_OFFSET, resetGeneration + 1);
     }
 
     private void checkTermRoll(final DirectBuffer buffer, final int offset, final long endPosition, final int length)
@@ -30,6 +30,7 @@ import uk.co.real_logic.artio.messages.SessionReplyStatus;
 import uk.co.real_logic.artio.session.Session;
 import uk.co.real_logic.artio.session.SessionWriter;
 import uk.co.real_logic.artio.timing.LibraryTimers;
+import uk.co.real_logic.artio.timing.SessionTimers;
 
 import java.io.File;
 import java.util.List;
@@ -56,6 +57,7 @@ public class FixLibrary extends GatewayProcess
     private final LibraryConfiguration configuration;
     private final LibraryScheduler scheduler;
     private final LibraryPoller poller;
+    private final LibraryTimers timers;
     private boolean isPolling = false;
 
     FixLibrary(final LibraryConfiguration configuration)
@@ -68,7 +70,7 @@ public class FixLibrary extends GatewayProcess
         {
             scheduler.configure(configuration.aeronContext());
             init(configuration);
-            final LibraryTimers timers = new LibraryTimers(configuration.clock());
+            timers = new LibraryTimers(configuration.clock());
             initMonitoringAgent(timers.all(), configuration, null);
 
             final LibraryTransport transport = new LibraryTransport(configuration, fixCounters, aeron);
@@ -405,4 +407,31 @@ public class FixLibrary extends GatewayProcess
         return poller.currentAeronChannel();
     }
 
+    /**
+     * Get the latency timers for a session owned by this library, for example to find its 99th percentile time
+     * in the handler with <code>sessionTimers(sessionId).sessionTimer().valueAtPercentile(99)</code>.
+     * <p>
+     * Timings are only recorded whilst timing is enabled, see {@link #timeMessages(boolean)}. This method should
+     * be called on the thread that calls {@link #poll(int)}, though the returned timers can be queried from any thread.
+     *
+     * @param sessionId the id of the session.
+     * @return the latency timers for the session, or null if the session isn't owned by this library.
+     */
+    public SessionTimers sessionTimers(final long sessionId)
+    {
+        return timers.sessionTimers(sessionId);
+    }
+
+    /**
+     * Switch the timing of messages received by this library on or off whilst it's running. Timing starts
+     * enabled if the {@link uk.co.real_logic.artio.CommonConfiguration#TIME_MESSAGES_PROPERTY} is set. This method
+     * should be called on the thread that calls {@link #poll(int)}.
+     *
+     * @param enabled true to record timings, false otherwise.
+     */
+    public void timeMessages(final boolean enabled)
+    {
+        timers.enabled(enabled);
+    }
+
 }
@@ -215,6 +215,10 @@ public final class LibraryConfiguration extends CommonConfiguration
 
     /**
      * Sets the list of aeron channels used to connect to the Engine
+     * <p>
+     * If the library shares a media driver with the engine, for example when both run in the same process, use
+     * {@link io.aeron.CommonContext#IPC_CHANNEL} on both sides so that messages are exchanged directly through shared
+     * memory rather than via the media driver.
      *
      * @param libraryAeronChannels the list of aeron channels used to connect to the Engine
      * @return this
@@ -36,7 +36,7 @@ import uk.co.real_logic.artio.messages.ControlNotificationDecoder.SessionsDecode
 import uk.co.real_logic.artio.protocol.*;
 import uk.co.real_logic.artio.session.*;
 import uk.co.real_logic.artio.timing.LibraryTimers;
-import uk.co.real_logic.artio.timing.Timer;
+import uk.co.real_logic.artio.timing.SessionTimers;
 import uk.co.real_logic.artio.util.MutableAsciiBuffer;
 import uk.co.real_logic.artio.validation.MessageValidationStrategy;
 
@@ -92,6 +92,8 @@ final class LibraryPoller implements LibraryEndPointHandler, ProtocolHandler, Au
 
     private final Long2ObjectHashMap<SessionSubscriber> connectionIdToSession = new Long2ObjectHashMap<>();
     private InternalSession[] sessions = new InternalSession[0];
+    // Polls the sessions in the sessions array when their deadlines are due
+    private final SessionTimerWheel sessionTimerWheel;
     private InternalSession[] pendingInitiatorSessions = new InternalSession[0];
 
     private final List<Session> unmodifiableSessions = new AbstractList<Session>()
@@ -115,8 +117,7 @@ final class LibraryPoller implements LibraryEndPointHandler, ProtocolHandler, Au
     private final EpochClock epochClock;
     private final LibraryConfiguration configuration;
     private final SessionIdStrategy sessionIdStrategy;
-    private final Timer sessionTimer;
-    private final Timer receiveTimer;
+    private final LibraryTimers timers;
     private final SessionExistsHandler sessionExistsHandler;
     private final SentPositionHandler sentPositionHandler;
     private final boolean enginesAreClustered;
@@ -163,14 +164,14 @@ final class LibraryPoller implements LibraryEndPointHandler, ProtocolHandler, Au
         this.transport = transport;
         this.fixLibrary = fixLibrary;
 
-        this.sessionTimer = timers.sessionTimer();
-        this.receiveTimer = timers.receiveTimer();
+        this.timers = timers;
 
         this.configuration = configuration;
         this.sessionIdStrategy = configuration.sessionIdStrategy();
         this.sessionExistsHandler = configuration.sessionExistsHandler();
         this.sentPositionHandler = configuration.sentPositionHandler();
         this.epochClock = epochClock;
+        this.sessionTimerWheel = new SessionTimerWheel(epochClock.time());
         this.enginesAreClustered = configuration.libraryAeronChannels().size() > 1;
     }
 
@@ -261,6 +262,7 @@ final class LibraryPoller implements LibraryEndPointHandler, ProtocolHandler, Au
     void disableSession(final InternalSession session)
     {
         sessions = ArrayUtil.remove(sessions, session);
+        sessionTimerWheel.remove(session);
         session.disable();
     }
 
@@ -614,16 +616,7 @@ final class LibraryPoller implements LibraryEndPointHandler, ProtocolHandler, Au
 
     private int pollSessions(final long timeInMs)
     {
-        final InternalSession[] sessions = this.sessions;
-        int total = 0;
-
-        for (int i = 0, size = sessions.length; i < size; i++)
-        {
-            final InternalSession session = sessions[i];
-            total += session.poll(timeInMs);
-        }
-
-        return total;
+        return sessionTimerWheel.poll(timeInMs);
     }
 
     private int pollPendingInitiatorSessions(final long timeInMs)
@@ -640,6 +633,7 @@ final class LibraryPoller implements LibraryEndPointHandler, ProtocolHandler, Au
                 this.pendingInitiatorSessions = pendingSessions = ArrayUtil.remove(pendingSessions, i);
                 size--;
                 sessions = ArrayUtil.add(sessions, session);
+                sessionTimerWheel.add(session);
             }
             else
             {
@@ -917,6 +911,7 @@ final class LibraryPoller implements LibraryEndPointHandler, ProtocolHandler, Au
         else
         {
             sessions = ArrayUtil.add(sessions, session);
+            sessionTimerWheel.add(session);
         }
     }
 
@@ -981,6 +976,8 @@ final class LibraryPoller implements LibraryEndPointHandler, ProtocolHandler, Au
                     // session will be in either pendingInitiatorSessions or sessions
                     pendingInitiatorSessions = ArrayUtil.remove(pendingInitiatorSessions, session);
                     sessions = ArrayUtil.remove(sessions, session);
+                    sessionTimerWheel.remove(session);
+                    timers.removeSessionTimers(session.id());
                 }
 
                 return action;
@@ -1156,6 +1153,8 @@ final class LibraryPoller implements LibraryEndPointHandler, ProtocolHandler, Au
                         subscriber.onTimeout(libraryId);
                     }
                     session.close();
+                    sessionTimerWheel.remove(session);
+                    timers.removeSessionTimers(sessionId);
                     // TODO(Nick): Maybe we shouldn't be creating a lot of arrays and batch this up?
                     sessions = ArrayUtil.remove(sessions, i);
                     size--;
@@ -1230,11 +1229,12 @@ final class LibraryPoller implements LibraryEndPointHandler, ProtocolHandler, Au
         final MessageValidationStrategy validationStrategy = configuration.messageValidationStrategy();
         final SessionParser parser = new SessionParser(
             session, validationStrategy, null, fixDictionary);
+        final SessionTimers sessionTimers = timers.acquireSessionTimers(session.id());
         final SessionSubscriber subscriber = new SessionSubscriber(
             parser,
             session,
-            receiveTimer,
-            sessionTimer);
+            sessionTimers.receiveTimer(),
+            sessionTimers.sessionTimer());
         subscriber.reply(reply);
         subscriber.handler(configuration.sessionAcquireHandler()
             .onSessionAcquired(session, SlowStatus.SLOW == slowStatus));
@@ -31,8 +31,8 @@ class ClaimablePublication implements AutoCloseable
 {
     static final int HEADER_LENGTH = MessageHeaderEncoder.ENCODED_LENGTH;
 
-    private final long maxClaimAttempts;
-    private final AtomicCounter fails;
+    protected final long maxClaimAttempts;
+    protected final AtomicCounter fails;
     protected final MessageHeaderEncoder header = new MessageHeaderEncoder();
     protected final BufferClaim bufferClaim = new BufferClaim();
     protected final ExclusivePublication dataPublication;
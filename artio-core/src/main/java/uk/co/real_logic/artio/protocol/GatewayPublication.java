@@ -17,9 +17,11 @@ package uk.co.real_logic.artio.protocol;
 
 import io.aeron.ExclusivePublication;
 import io.aeron.logbuffer.BufferClaim;
+import io.aeron.protocol.DataHeaderFlyweight;
 import org.agrona.DirectBuffer;
 import org.agrona.MutableDirectBuffer;
 import org.agrona.concurrent.IdleStrategy;
+import org.agrona.concurrent.UnsafeBuffer;
 import org.agrona.concurrent.status.AtomicCounter;
 import uk.co.real_logic.artio.Clock;
 import uk.co.real_logic.artio.DebugLogger;
@@ -31,8 +33,13 @@ import uk.co.real_logic.artio.messages.ControlNotificationEncoder.SessionsEncode
 import java.util.List;
 
 import static io.aeron.logbuffer.FrameDescriptor.FRAME_ALIGNMENT;
+import static io.aeron.Publication.CLOSED;
+import static io.aeron.Publication.MAX_POSITION_EXCEEDED;
+import static io.aeron.protocol.DataHeaderFlyweight.BEGIN_AND_END_FLAGS;
 import static io.aeron.protocol.DataHeaderFlyweight.BEGIN_FLAG;
 import static io.aeron.protocol.DataHeaderFlyweight.END_FLAG;
+import static io.aeron.protocol.HeaderFlyweight.CURRENT_VERSION;
+import static io.aeron.protocol.HeaderFlyweight.HDR_TYPE_DATA;
 import static java.nio.ByteOrder.LITTLE_ENDIAN;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.agrona.BitUtil.align;
@@ -52,6 +59,8 @@ public class GatewayPublication extends ClaimablePublication
 
     private static final byte[] NO_BYTES = {};
 
+    private static final int MAX_BATCH_LENGTH = 64 * 1024;
+
     private static final int HEARTBEAT_LENGTH = HEADER_LENGTH + ApplicationHeartbeatEncoder.BLOCK_LENGTH;
     private static final int LIBRARY_CONNECT_LENGTH =
         HEADER_LENGTH + LibraryConnectEncoder.BLOCK_LENGTH + LibraryConnectEncoder.libraryNameHeaderLength();
@@ -111,6 +120,10 @@ public class GatewayPublication extends ClaimablePublication
     private final int maxPayloadLength;
     private final int maxInitialBodyLength;
 
+    private final DataHeaderFlyweight batchFrameHeader = new DataHeaderFlyweight();
+    private UnsafeBuffer batchBuffer;
+    private int batchLength;
+
     public GatewayPublication(
         final ExclusivePublication dataPublication,
         final AtomicCounter fails,
@@ -256,6 +269,174 @@ public class GatewayPublication extends ClaimablePublication
         return position;
     }
 
+    /**
+     * Append a FixMessage to the current batch rather than publishing it straight away. Each message in the batch
+     * is pre-formatted as its own Aeron data frame, so once {@link #flushBatch()} has been called subscribers see
+     * exactly the same fragments as if each message had been published with
+     * {@link #saveMessage(DirectBuffer, int, int, int, long, long, int, long, MessageStatus, int, long)}.
+     *
+     * @return true if the message was added to the batch, false if it doesn't fit within a single unfragmented
+     * frame or the batch is full. In which case the batch should be flushed and the message saved individually.
+     */
+    public boolean batchMessage(
+        final DirectBuffer srcBuffer,
+        final int srcOffset,
+        final int srcLength,
+        final int libraryId,
+        final long messageType,
+        final long sessionId,
+        final int sequenceIndex,
+        final long connectionId,
+        final MessageStatus status,
+        final int sequenceNumber,
+        final long timestamp)
+    {
+        final int framedLength = FRAMED_MESSAGE_SIZE + srcLength;
+        if (framedLength > maxPayloadLength)
+        {
+            return false;
+        }
+
+        final int frameLength = DataHeaderFlyweight.HEADER_LENGTH + framedLength;
+        final int alignedFrameLength = align(frameLength, FRAME_ALIGNMENT);
+        UnsafeBuffer batchBuffer = this.batchBuffer;
+        if (batchBuffer == null)
+        {
+            final int capacity = Math.min(MAX_BATCH_LENGTH, dataPublication.maxMessageLength());
+            batchBuffer = new UnsafeBuffer(new byte[align(capacity, FRAME_ALIGNMENT)]);
+            this.batchBuffer = batchBuffer;
+        }
+
+        final int frameOffset = batchLength;
+        if (frameOffset + alignedFrameLength > batchBuffer.capacity())
+        {
+            return false;
+        }
+
+        // term id and offset are only known when the batch is flushed.
+        final DataHeaderFlyweight batchFrameHeader = this.batchFrameHeader;
+        batchFrameHeader.wrap(batchBuffer, frameOffset, DataHeaderFlyweight.HEADER_LENGTH);
+        batchFrameHeader.frameLength(frameLength);
+        batchFrameHeader.version(CURRENT_VERSION);
+        batchFrameHeader.flags((short)BEGIN_AND_END_FLAGS);
+        batchFrameHeader.headerType(HDR_TYPE_DATA);
+        batchFrameHeader.sessionId(dataPublication.sessionId());
+        batchFrameHeader.streamId(dataPublication.streamId());
+        batchFrameHeader.reservedValue(DataHeaderFlyweight.DEFAULT_RESERVED_VALUE);
+
+        final int offset = frameOffset + DataHeaderFlyweight.HEADER_LENGTH;
+        header.wrap(batchBuffer, offset)
+            .blockLength(fixMessage.sbeBlockLength())
+            .templateId(fixMessage.sbeTemplateId())
+            .schemaId(fixMessage.sbeSchemaId())
+            .version(fixMessage.sbeSchemaVersion());
+
+        fixMessage.wrap(batchBuffer, offset + header.encodedLength())
+            .libraryId(libraryId)
+            .messageType(messageType)
+            .session(sessionId)
+            .sequenceIndex(sequenceIndex)
+            .connection(connectionId)
+            .timestamp(timestamp)
+            .status(status)
+            .sequenceNumber(sequenceNumber)
+            .putBody(srcBuffer, srcOffset, srcLength);
+
+        batchLength = frameOffset + alignedFrameLength;
+
+        DebugLogger.log(FIX_MESSAGE_FLOW, "Batched  %s%n", srcBuffer, srcOffset, srcLength);
+
+        return true;
+    }
+
+    public boolean hasBatchedMessages()
+    {
+        return batchLength > 0;
+    }
+
+    /**
+     * Publish all the messages in the current batch as a single block, padding the end of the term if the batch
+     * doesn't fit within it.
+     *
+     * @return the new position of the publication or a back pressure code, in which case the batch has been kept
+     * and either needs flushing again or discarding.
+     */
+    public long flushBatch()
+    {
+        final int batchLength = this.batchLength;
+        final ExclusivePublication dataPublication = this.dataPublication;
+        final int termLength = dataPublication.termBufferLength();
+
+        long position;
+        long i = 0;
+        do
+        {
+            int termOffset = dataPublication.termOffset();
+            int termId = dataPublication.termId();
+            if (termOffset >= termLength)
+            {
+                // The publication rotates to the next term when the block is offered.
+                termOffset = 0;
+                termId++;
+            }
+
+            if (termOffset + batchLength > termLength)
+            {
+                // The padding frame's header counts towards the rest of the term, so it exactly fills the term.
+                position = dataPublication.appendPadding(termLength - termOffset - DataHeaderFlyweight.HEADER_LENGTH);
+            }
+            else
+            {
+                putBatchTermPositions(termId, termOffset);
+                position = dataPublication.offerBlock(batchBuffer, 0, batchLength);
+                if (position > 0L)
+                {
+                    this.batchLength = 0;
+                    return position;
+                }
+            }
+
+            if (position >= 0L)
+            {
+                // padded out the old term, retry straight away in the next one.
+                continue;
+            }
+
+            idleStrategy.idle();
+            fails.increment();
+            i++;
+        }
+        while (i <= maxClaimAttempts);
+
+        idleStrategy.reset();
+
+        if (position == CLOSED || position == MAX_POSITION_EXCEEDED)
+        {
+            throw new NotConnectedException(position);
+        }
+
+        return position;
+    }
+
+    public void discardBatch()
+    {
+        batchLength = 0;
+    }
+
+    private void putBatchTermPositions(final int termId, final int termOffset)
+    {
+        final UnsafeBuffer batchBuffer = this.batchBuffer;
+        final DataHeaderFlyweight batchFrameHeader = this.batchFrameHeader;
+        int frameOffset = 0;
+        while (frameOffset < batchLength)
+        {
+            batchFrameHeader.wrap(batchBuffer, frameOffset, DataHeaderFlyweight.HEADER_LENGTH);
+            batchFrameHeader.termOffset(termOffset + frameOffset);
+            batchFrameHeader.termId(termId);
+            frameOffset += align(batchFrameHeader.frameLength(), FRAME_ALIGNMENT);
+        }
+    }
+
     private void putBodyLength(final int srcLength, final int offset, final MutableDirectBuffer destBuffer)
     {
         destBuffer.putShort(offset + FixMessageEncoder.BLOCK_LENGTH, (short)srcLength, LITTLE_ENDIAN);
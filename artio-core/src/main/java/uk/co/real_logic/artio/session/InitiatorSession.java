@@ -78,6 +78,16 @@ public class InitiatorSession extends InternalSession
         return null;
     }
 
+    long nextTimerDeadlineInMs()
+    {
+        if (state() == SessionState.CONNECTED)
+        {
+            return SessionTimerWheel.POLL_IMMEDIATELY;
+        }
+
+        return super.nextTimerDeadlineInMs();
+    }
+
     public int poll(final long time)
     {
         int actions = 0;
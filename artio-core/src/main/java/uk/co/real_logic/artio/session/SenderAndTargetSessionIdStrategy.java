@@ -25,7 +25,9 @@ import uk.co.real_logic.artio.storage.messages.SenderAndTargetCompositeKeyEncode
 
 import java.util.Arrays;
 
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
 import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.agrona.BitUtil.SIZE_OF_SHORT;
 import static java.util.Objects.requireNonNull;
 
 /**
@@ -103,6 +105,27 @@ class SenderAndTargetSessionIdStrategy implements SessionIdStrategy
         return length;
     }
 
+    public int saveAcceptLogon(final SessionHeaderDecoder header, final MutableDirectBuffer buffer, final int offset)
+    {
+        requireNonNull(header, "header");
+        requireNonNull(buffer, "buffer");
+
+        final int localCompIdLength = header.targetCompIDLength();
+        final int remoteCompIdLength = header.senderCompIDLength();
+
+        final int length = localCompIdLength + remoteCompIdLength + BLOCK_AND_LENGTH_FIELDS_LENGTH;
+        if (buffer.capacity() < offset + length)
+        {
+            return INSUFFICIENT_SPACE;
+        }
+
+        int position = offset + SenderAndTargetCompositeKeyEncoder.BLOCK_LENGTH;
+        position = putVarData(buffer, position, header.targetCompID(), localCompIdLength);
+        putVarData(buffer, position, header.senderCompID(), remoteCompIdLength);
+
+        return length;
+    }
+
     public CompositeKey load(final DirectBuffer buffer, final int offset, final int length)
     {
         requireNonNull(buffer, "buffer");
@@ -120,6 +143,20 @@ class SenderAndTargetSessionIdStrategy implements SessionIdStrategy
         return new CompositeKeyImpl(localCompId, remoteCompId);
     }
 
+    // Writes the same bytes as the key encoder's put methods do for a Utf8String.
+    private static int putVarData(
+        final MutableDirectBuffer buffer, final int offset, final char[] value, final int length)
+    {
+        buffer.putShort(offset, (short)length, LITTLE_ENDIAN);
+        final int dataOffset = offset + SIZE_OF_SHORT;
+        for (int i = 0; i < length; i++)
+        {
+            buffer.putByte(dataOffset + i, (byte)value[i]);
+        }
+
+        return dataOffset + length;
+    }
+
     private static final class CompositeKeyImpl implements CompositeKey
     {
         private final byte[] localCompID;
@@ -25,7 +25,9 @@ import uk.co.real_logic.artio.storage.messages.SenderTargetAndSubCompositeKeyEnc
 
 import java.util.Arrays;
 
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
 import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.agrona.BitUtil.SIZE_OF_SHORT;
 
 /**
  * A simple, and dumb session id Strategy based upon hashing SenderCompID and TargetCompID. Makes no assumptions
@@ -103,6 +105,28 @@ class SenderTargetAndSubSessionIdStrategy implements SessionIdStrategy
         return length;
     }
 
+    public int saveAcceptLogon(final SessionHeaderDecoder header, final MutableDirectBuffer buffer, final int offset)
+    {
+        final int localCompIdLength = header.targetCompIDLength();
+        final int localSubIdLength = header.senderSubIDLength();
+        final int remoteCompIdLength = header.senderCompIDLength();
+
+        final int length =
+            localCompIdLength + localSubIdLength + remoteCompIdLength + BLOCK_AND_LENGTH_FIELDS_LENGTH;
+
+        if (buffer.capacity() < offset + length)
+        {
+            return INSUFFICIENT_SPACE;
+        }
+
+        int position = offset + SenderTargetAndSubCompositeKeyEncoder.BLOCK_LENGTH;
+        position = putVarData(buffer, position, header.targetCompID(), localCompIdLength);
+        position = putVarData(buffer, position, header.senderSubID(), localSubIdLength);
+        putVarData(buffer, position, header.senderCompID(), remoteCompIdLength);
+
+        return length;
+    }
+
     public CompositeKey load(final DirectBuffer buffer, final int offset, final int length)
     {
         keyDecoder.wrap(buffer, offset, actingBlockLength, actingVersion);
@@ -122,6 +146,20 @@ class SenderTargetAndSubSessionIdStrategy implements SessionIdStrategy
         return new CompositeKeyImpl(localCompId, localSubId, remoteCompId);
     }
 
+    // Writes the same bytes as the key encoder's put methods do for a Utf8String.
+    private static int putVarData(
+        final MutableDirectBuffer buffer, final int offset, final char[] value, final int length)
+    {
+        buffer.putShort(offset, (short)length, LITTLE_ENDIAN);
+        final int dataOffset = offset + SIZE_OF_SHORT;
+        for (int i = 0; i < length; i++)
+        {
+            buffer.putByte(dataOffset + i, (byte)value[i]);
+        }
+
+        return dataOffset + length;
+    }
+
     private static final class CompositeKeyImpl implements CompositeKey
     {
         private final byte[] localCompId;
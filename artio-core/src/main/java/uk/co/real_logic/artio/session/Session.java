@@ -16,6 +16,7 @@
 package uk.co.real_logic.artio.session;
 
 import io.aeron.logbuffer.ControlledFragmentHandler.Action;
+import org.agrona.DeadlineTimerWheel;
 import org.agrona.DirectBuffer;
 import org.agrona.Verify;
 import org.agrona.concurrent.EpochClock;
@@ -159,6 +160,11 @@ public class Session implements AutoCloseable
 
     private SessionLogonListener logonListener;
 
+    // Only set when the session is polled through a SessionTimerWheel
+    SessionTimerWheel timerWheel;
+    long timerId = DeadlineTimerWheel.NULL_TIMER;
+    long timerDeadlineInMs = SessionTimerWheel.NO_DEADLINE;
+
     private int logoutRejectReason = NO_LOGOUT_REJECT_REASON;
 
     public Session(
@@ -457,7 +463,7 @@ public class Session implements AutoCloseable
         final int sentSeqNum = newSentSeqNum();
         header
             .msgSeqNum(sentSeqNum)
-            .sendingTime(timestampEncoder.buffer(), timestampEncoder.encode(time()));
+            .sendingTime(timestampEncoder.buffer(), timestampEncoder.updateFixedLength(time()));
 
         if (enableLastMsgSeqNumProcessed)
         {
@@ -467,6 +473,7 @@ public class Session implements AutoCloseable
         if (!header.hasSenderCompID())
         {
             sessionIdStrategy.setupSession(sessionKey, header);
+            header.cacheSessionFields();
         }
         return sentSeqNum;
     }
@@ -486,11 +493,13 @@ public class Session implements AutoCloseable
 
         final int sentSeqNum = prepare(encoder.header());
 
+        // Encoders only know their length once they've finished encoding, but an Aeron claim needs the exact
+        // length upfront, so the message is encoded into the session's buffer and then copied into the claim.
         final long result = encoder.encode(asciiBuffer, 0);
         final int length = Encoder.length(result);
         final int offset = Encoder.offset(result);
 
-        return send(asciiBuffer, offset, length, sentSeqNum, encoder.messageType());
+        return saveMessage(asciiBuffer, offset, length, sentSeqNum, encoder.messageType());
     }
 
     /**
@@ -509,6 +518,12 @@ public class Session implements AutoCloseable
     {
         validateCanSendMessage();
 
+        return saveMessage(messageBuffer, offset, length, seqNum, messageType);
+    }
+
+    private long saveMessage(
+        final DirectBuffer messageBuffer, final int offset, final int length, final int seqNum, final long messageType)
+    {
         final long position = publication.saveMessage(
             messageBuffer, offset, length, libraryId, messageType, id(), sequenceIndex(), connectionId, OK, seqNum);
 
@@ -1413,14 +1428,26 @@ public class Session implements AutoCloseable
         incNextReceivedInboundMessageTime(time);
         sendingHeartbeatIntervalInMs = (long)(heartbeatIntervalInMs * HEARTBEAT_PAUSE_FACTOR);
         nextRequiredHeartbeatTimeInMs = time + sendingHeartbeatIntervalInMs;
+        onDeadlineBroughtForward();
     }
 
     protected Session state(final SessionState state)
     {
         this.state = state;
+        onDeadlineBroughtForward();
         return this;
     }
 
+    // Other deadline changes only ever move them later, which the timer wheel picks up lazily.
+    private void onDeadlineBroughtForward()
+    {
+        final SessionTimerWheel timerWheel = this.timerWheel;
+        if (timerWheel != null)
+        {
+            timerWheel.onDeadlineBroughtForward(this);
+        }
+    }
+
     public Session id(final long id)
     {
         this.id = id;
@@ -1560,6 +1587,28 @@ public class Session implements AutoCloseable
         close();
     }
 
+    /**
+     * Gets the time at which {@link #poll(long)} next needs to be called.
+     *
+     * @return the time at which this session next needs polling.
+     */
+    long nextTimerDeadlineInMs()
+    {
+        switch (state().value())
+        {
+            case DISCONNECTING_VALUE:
+            case LOGGING_OUT_VALUE:
+            case LOGGING_OUT_AND_DISCONNECTING_VALUE:
+                return SessionTimerWheel.POLL_IMMEDIATELY;
+
+            case ACTIVE_VALUE:
+                return Math.min(nextRequiredHeartbeatTimeInMs, nextRequiredInboundMessageTimeInMs);
+
+            default:
+                return nextRequiredInboundMessageTimeInMs;
+        }
+    }
+
     int poll(final long time)
     {
         final short state = state().value();
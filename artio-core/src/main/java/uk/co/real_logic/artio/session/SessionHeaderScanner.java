@@ -0,0 +1,260 @@
+/*
+ * Copyright 2015-2019 Real Logic Ltd, Adaptive Financial Consulting Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.session;
+
+import uk.co.real_logic.artio.fields.UtcTimestampDecoder;
+import uk.co.real_logic.artio.util.AsciiBuffer;
+
+import static uk.co.real_logic.artio.dictionary.SessionConstants.*;
+import static uk.co.real_logic.artio.dictionary.generation.CodecUtil.MISSING_INT;
+
+/**
+ * Extracts the header fields that the session logic needs for an application message - MsgSeqNum, PossDupFlag,
+ * SendingTime, OrigSendingTime and PossResend - in a single pass over the header, without copying every field out
+ * in the way that a full {@link uk.co.real_logic.artio.decoder.SessionHeaderDecoder} decode does.
+ * <p>
+ * The scan stops at the first field that isn't part of the standard FIX header. Messages whose header can't be
+ * scanned, for example because a required field is missing or malformed, are reported as such so that the caller
+ * can fall back to a full decode and its error handling.
+ */
+final class SessionHeaderScanner
+{
+    private static final int MISSING_FIELD = -1;
+    private static final int SECURE_DATA_LEN = 90;
+    private static final int XML_DATA_LEN = 212;
+
+    private char[] beginString = new char[8];
+    private int beginStringLength;
+    private char[] msgType = new char[4];
+    private int msgTypeLength;
+    private int msgSeqNum;
+    private boolean possDupFlag;
+    private boolean possResend;
+    private int sendingTimeOffset;
+    private int sendingTimeLength;
+    private int origSendingTimeOffset;
+    private int origSendingTimeLength;
+
+    private AsciiBuffer buffer;
+
+    /**
+     * Scan the header of a message.
+     *
+     * @param buffer the buffer containing the message.
+     * @param offset the offset of the start of the message.
+     * @param length the length of the message.
+     * @return true if all the fields required by the session were found and are well formed, false otherwise.
+     */
+    boolean scan(final AsciiBuffer buffer, final int offset, final int length)
+    {
+        this.buffer = buffer;
+        beginStringLength = 0;
+        msgTypeLength = 0;
+        msgSeqNum = MISSING_INT;
+        possDupFlag = false;
+        possResend = false;
+        sendingTimeOffset = MISSING_FIELD;
+        origSendingTimeOffset = MISSING_FIELD;
+
+        final int end = offset + length;
+        int position = offset;
+        while (position < end)
+        {
+            final int equalsPosition = buffer.scan(position, end - 1, '=');
+            if (equalsPosition == AsciiBuffer.UNKNOWN_INDEX || !isNatural(position, equalsPosition))
+            {
+                return false;
+            }
+
+            final int tag = buffer.getNatural(position, equalsPosition);
+            if (!isStandardHeaderTag(tag))
+            {
+                break;
+            }
+
+            // Data fields are length prefixed and may contain separators, leave them to the full decoder.
+            if (tag == SECURE_DATA_LEN || tag == XML_DATA_LEN)
+            {
+                return false;
+            }
+
+            final int valueOffset = equalsPosition + 1;
+            final int endOfField = buffer.scan(valueOffset, end - 1, START_OF_HEADER);
+            if (endOfField == AsciiBuffer.UNKNOWN_INDEX)
+            {
+                return false;
+            }
+
+            final int valueLength = endOfField - valueOffset;
+            switch (tag)
+            {
+                case BEGIN_STRING:
+                    beginString = buffer.getChars(beginString, valueOffset, valueLength);
+                    beginStringLength = valueLength;
+                    break;
+
+                case MESSAGE_TYPE:
+                    msgType = buffer.getChars(msgType, valueOffset, valueLength);
+                    msgTypeLength = valueLength;
+                    break;
+
+                case MSG_SEQ_NO:
+                    if (!isNatural(valueOffset, endOfField))
+                    {
+                        return false;
+                    }
+                    msgSeqNum = buffer.getNatural(valueOffset, endOfField);
+                    break;
+
+                case POSS_DUP_FLAG:
+                    possDupFlag = buffer.getBoolean(valueOffset);
+                    break;
+
+                case POSS_RESEND:
+                    possResend = buffer.getBoolean(valueOffset);
+                    break;
+
+                case SENDING_TIME:
+                    sendingTimeOffset = valueOffset;
+                    sendingTimeLength = valueLength;
+                    break;
+
+                case ORIG_SENDING_TIME:
+                    origSendingTimeOffset = valueOffset;
+                    origSendingTimeLength = valueLength;
+                    break;
+            }
+
+            position = endOfField + 1;
+        }
+
+        return beginStringLength > 0 && msgTypeLength > 0 && msgSeqNum != MISSING_INT &&
+            sendingTimeOffset != MISSING_FIELD;
+    }
+
+    char[] beginString()
+    {
+        return beginString;
+    }
+
+    int beginStringLength()
+    {
+        return beginStringLength;
+    }
+
+    char[] msgType()
+    {
+        return msgType;
+    }
+
+    int msgTypeLength()
+    {
+        return msgTypeLength;
+    }
+
+    int msgSeqNum()
+    {
+        return msgSeqNum;
+    }
+
+    boolean possDupFlag()
+    {
+        return possDupFlag;
+    }
+
+    boolean possResend()
+    {
+        return possResend;
+    }
+
+    boolean hasOrigSendingTime()
+    {
+        return origSendingTimeOffset != MISSING_FIELD;
+    }
+
+    long sendingTime()
+    {
+        return UtcTimestampDecoder.decode(buffer, sendingTimeOffset, sendingTimeLength);
+    }
+
+    long origSendingTime()
+    {
+        return UtcTimestampDecoder.decode(buffer, origSendingTimeOffset, origSendingTimeLength);
+    }
+
+    private boolean isNatural(final int startInclusive, final int endExclusive)
+    {
+        if (startInclusive == endExclusive)
+        {
+            return false;
+        }
+
+        for (int i = startInclusive; i < endExclusive; i++)
+        {
+            if (!buffer.isDigit(i))
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    // The standard header fields across FIX 4.0 to FIXT 1.1, including the NoHops repeating group.
+    private static boolean isStandardHeaderTag(final int tag)
+    {
+        switch (tag)
+        {
+            case 8:
+            case 9:
+            case 34:
+            case 35:
+            case 43:
+            case 49:
+            case 50:
+            case 52:
+            case 56:
+            case 57:
+            case 90:
+            case 91:
+            case 97:
+            case 115:
+            case 116:
+            case 122:
+            case 128:
+            case 129:
+            case 142:
+            case 143:
+            case 144:
+            case 145:
+            case 212:
+            case 213:
+            case 347:
+            case 369:
+            case 627:
+            case 628:
+            case 629:
+            case 630:
+            case 1128:
+            case 1129:
+            case 1156:
+                return true;
+
+            default:
+                return false;
+        }
+    }
+}
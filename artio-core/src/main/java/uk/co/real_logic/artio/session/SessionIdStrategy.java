@@ -95,6 +95,21 @@ public interface SessionIdStrategy
      */
     int save(CompositeKey compositeKey, MutableDirectBuffer buffer, int offset);
 
+    /**
+     * Saves the composite session key of an accepted logon to a buffer, in the same format as
+     * {@link #save(CompositeKey, MutableDirectBuffer, int)}. This lets the key be looked up without creating it,
+     * implementations should override the default in order to avoid allocating.
+     *
+     * @param header the header of the logon message.
+     * @param buffer the buffer to save it to
+     * @param offset the offset within the buffer to start saving at
+     * @return the length used to save the key, or {@link SessionIdStrategy#INSUFFICIENT_SPACE} otherwise
+     */
+    default int saveAcceptLogon(final SessionHeaderDecoder header, final MutableDirectBuffer buffer, final int offset)
+    {
+        return save(onAcceptLogon(header), buffer, offset);
+    }
+
     /**
      * Loads a composite key from a buffer.
      *
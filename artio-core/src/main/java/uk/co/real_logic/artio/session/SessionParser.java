@@ -52,10 +52,13 @@ public class SessionParser
     private final SessionHeaderDecoder header;
     private final AbstractSequenceResetDecoder sequenceReset;
     private final AbstractHeartbeatDecoder heartbeat;
+    private final SessionHeaderScanner headerScanner = new SessionHeaderScanner();
 
     private final Session session;
     private final MessageValidationStrategy validationStrategy;
+    private final boolean scanApplicationHeaders;
     private ErrorHandler errorHandler;
+    private boolean headerScanned;
 
     public SessionParser(
         final Session session,
@@ -66,6 +69,8 @@ public class SessionParser
         this.session = session;
         this.validationStrategy = validationStrategy;
         this.errorHandler = errorHandler;
+        // Only the session's own fields are needed from the header unless it gets validated
+        scanApplicationHeaders = !CODEC_VALIDATION_ENABLED || !validationStrategy.requiresHeader();
 
         logon = fixDictionary.makeLogonDecoder();
         logout = fixDictionary.makeLogoutDecoder();
@@ -189,18 +194,26 @@ public class SessionParser
         {
             return onExceptionalMessage(sequenceReset.header());
         }
+        else if (headerScanned)
+        {
+            final SessionHeaderScanner header = headerScanner;
+            return onExceptionalMessage(header.msgSeqNum(), header.msgType(), header.msgTypeLength());
+        }
         return onExceptionalMessage(header);
     }
 
     private Action onExceptionalMessage(final SessionHeaderDecoder header)
     {
-        final int msgSeqNum = header.msgSeqNum();
+        return onExceptionalMessage(header.msgSeqNum(), header.msgType(), header.msgTypeLength());
+    }
 
+    private Action onExceptionalMessage(final int msgSeqNum, final char[] msgType, final int msgTypeLength)
+    {
         return session.onInvalidMessage(
             msgSeqNum,
             MISSING_INT,
-            header.msgType(),
-            header.msgTypeLength(),
+            msgType,
+            msgTypeLength,
             SessionConstants.INCORRECT_DATA_FORMAT_FOR_VALUE);
     }
 
@@ -254,6 +267,13 @@ public class SessionParser
 
     private Action onAnyOtherMessage(final int offset, final int length)
     {
+        headerScanned = false;
+        if (scanApplicationHeaders && headerScanner.scan(asciiBuffer, offset, length))
+        {
+            headerScanned = true;
+            return onScannedMessage();
+        }
+
         final SessionHeaderDecoder header = this.header;
         header.reset();
         header.decode(asciiBuffer, offset, length);
@@ -276,6 +296,45 @@ public class SessionParser
         return CONTINUE;
     }
 
+    private Action onScannedMessage()
+    {
+        final SessionHeaderScanner header = headerScanner;
+        final int msgSeqNum = header.msgSeqNum();
+        final char[] msgType = header.msgType();
+        final int msgTypeLength = header.msgTypeLength();
+        if (CODEC_VALIDATION_ENABLED && (!isValidMsgType(msgType, msgTypeLength) ||
+            !session.onBeginString(header.beginString(), header.beginStringLength(), false)))
+        {
+            if (!isDisconnectedOrAwaitingLogout())
+            {
+                return session.onInvalidMessageType(msgSeqNum, msgType, msgTypeLength);
+            }
+
+            return CONTINUE;
+        }
+
+        final long sendingTime = CODEC_VALIDATION_ENABLED ? header.sendingTime() : MISSING_LONG;
+        final long origSendingTime;
+        if (!header.hasOrigSendingTime())
+        {
+            origSendingTime = UNKNOWN;
+        }
+        else
+        {
+            origSendingTime = CODEC_VALIDATION_ENABLED ? header.origSendingTime() : MISSING_LONG;
+        }
+
+        final boolean possDup = header.possDupFlag();
+        return session.onMessage(
+            msgSeqNum,
+            msgType,
+            msgTypeLength,
+            sendingTime,
+            origSendingTime,
+            possDup || header.possResend(),
+            possDup);
+    }
+
     private Action onMessage(final SessionHeaderDecoder header)
     {
         final long origSendingTime = origSendingTime(header);
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2015-2019 Real Logic Ltd, Adaptive Financial Consulting Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.session;
+
+import org.agrona.DeadlineTimerWheel;
+import org.agrona.collections.Long2ObjectHashMap;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.agrona.DeadlineTimerWheel.NULL_TIMER;
+
+/**
+ * Polls sessions when their next heartbeat, test request or logout deadline is due, rather than polling every
+ * session on every duty cycle.
+ * <p>
+ * Deadlines are checked lazily: when a timer expires the session is polled and then rescheduled at whatever its
+ * next deadline is by then. Deadlines that move later as messages are sent and received don't touch the wheel.
+ * Sessions notify the wheel when a deadline moves earlier, or when they move into a state that needs polling
+ * straight away, such as logging out or disconnecting.
+ * <p>
+ * Not thread-safe, should be used on the same thread that polls the sessions.
+ */
+public class SessionTimerWheel implements DeadlineTimerWheel.TimerHandler
+{
+    static final long NO_DEADLINE = Long.MAX_VALUE;
+    static final long POLL_IMMEDIATELY = Long.MIN_VALUE;
+
+    private static final int TICK_RESOLUTION_IN_MS = 1;
+    private static final int TICKS_PER_WHEEL = 1024;
+
+    private final Long2ObjectHashMap<Session> timerIdToSession = new Long2ObjectHashMap<>();
+    private final DeadlineTimerWheel timerWheel;
+
+    private ArrayList<Session> sessionsToPoll = new ArrayList<>();
+    private ArrayList<Session> pollingSessions = new ArrayList<>();
+    private long timeInMs;
+    private int actions;
+
+    public SessionTimerWheel(final long startTimeInMs)
+    {
+        timeInMs = startTimeInMs;
+        timerWheel = new DeadlineTimerWheel(MILLISECONDS, startTimeInMs, TICK_RESOLUTION_IN_MS, TICKS_PER_WHEEL);
+    }
+
+    public void add(final Session session)
+    {
+        if (session.timerWheel != this)
+        {
+            session.timerWheel = this;
+            schedule(session);
+        }
+    }
+
+    public void remove(final Session session)
+    {
+        if (session.timerWheel == this)
+        {
+            cancel(session);
+            session.timerWheel = null;
+        }
+    }
+
+    public int poll(final long timeInMs)
+    {
+        this.timeInMs = timeInMs;
+        actions = 0;
+
+        // Swapped so that sessions which still need polling straight away can reschedule themselves.
+        final ArrayList<Session> pollingSessions = sessionsToPoll;
+        sessionsToPoll = this.pollingSessions;
+        this.pollingSessions = pollingSessions;
+
+        for (int i = 0, size = pollingSessions.size(); i < size; i++)
+        {
+            final Session session = pollingSessions.get(i);
+            if (session.timerWheel == this && session.timerDeadlineInMs == POLL_IMMEDIATELY)
+            {
+                session.timerDeadlineInMs = NO_DEADLINE;
+                pollSession(session, timeInMs);
+            }
+        }
+        pollingSessions.clear();
+
+        // The wheel only advances a single tick per poll, so catch up to the current time.
+        do
+        {
+            timerWheel.poll(timeInMs, this, Integer.MAX_VALUE);
+        }
+        while (timerWheel.currentTickTime() <= timeInMs);
+
+        return actions;
+    }
+
+    public boolean onTimerExpiry(final TimeUnit timeUnit, final long now, final long timerId)
+    {
+        final Session session = timerIdToSession.remove(timerId);
+        if (session != null)
+        {
+            session.timerId = NULL_TIMER;
+            session.timerDeadlineInMs = NO_DEADLINE;
+            pollSession(session, timeInMs);
+        }
+
+        return true;
+    }
+
+    void onDeadlineBroughtForward(final Session session)
+    {
+        final long scheduledDeadlineInMs = session.timerDeadlineInMs;
+        if (scheduledDeadlineInMs != POLL_IMMEDIATELY && session.nextTimerDeadlineInMs() < scheduledDeadlineInMs)
+        {
+            cancel(session);
+            schedule(session);
+        }
+    }
+
+    private void pollSession(final Session session, final long timeInMs)
+    {
+        actions += session.poll(timeInMs);
+
+        // The session may have already rescheduled or removed itself whilst being polled.
+        if (session.timerWheel == this && session.timerDeadlineInMs == NO_DEADLINE)
+        {
+            schedule(session);
+        }
+    }
+
+    private void schedule(final Session session)
+    {
+        final long deadlineInMs = session.nextTimerDeadlineInMs();
+        if (deadlineInMs == NO_DEADLINE)
+        {
+            return;
+        }
+
+        if (deadlineInMs <= timeInMs)
+        {
+            session.timerDeadlineInMs = POLL_IMMEDIATELY;
+            sessionsToPoll.add(session);
+        }
+        else
+        {
+            final long timerId = timerWheel.scheduleTimer(deadlineInMs);
+            session.timerId = timerId;
+            session.timerDeadlineInMs = deadlineInMs;
+            timerIdToSession.put(timerId, session);
+        }
+    }
+
+    private void cancel(final Session session)
+    {
+        final long timerId = session.timerId;
+        if (timerId != NULL_TIMER)
+        {
+            timerWheel.cancelTimer(timerId);
+            timerIdToSession.remove(timerId);
+            session.timerId = NULL_TIMER;
+        }
+        else if (session.timerDeadlineInMs == POLL_IMMEDIATELY)
+        {
+            sessionsToPoll.remove(session);
+        }
+
+        session.timerDeadlineInMs = NO_DEADLINE;
+    }
+}
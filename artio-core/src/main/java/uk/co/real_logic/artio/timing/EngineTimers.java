@@ -47,4 +47,14 @@ public class EngineTimers
     {
         return timers;
     }
+
+    /**
+     * Switch the timing of messages on or off, can be called from any thread.
+     *
+     * @param enabled true to record timings, false otherwise.
+     */
+    public void enabled(final boolean enabled)
+    {
+        timers.forEach(timer -> timer.enabled(enabled));
+    }
 }
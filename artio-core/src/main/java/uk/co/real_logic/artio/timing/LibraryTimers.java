@@ -15,19 +15,36 @@
  */
 package uk.co.real_logic.artio.timing;
 
+import org.agrona.collections.Long2ObjectHashMap;
 import uk.co.real_logic.artio.Clock;
 
 import java.util.Arrays;
 import java.util.List;
 
+import static uk.co.real_logic.artio.CommonConfiguration.TIME_MESSAGES;
+
+/**
+ * The timers used by a library. Only the library wide timers are written to the histogram log, the per session
+ * timers can be queried in process.
+ *
+ * Not thread-safe, except for querying individual timers: should be used on the library's polling thread.
+ */
 public class LibraryTimers
 {
+    private static final int FIRST_SESSION_TIMER_ID = -3;
+
+    private final Long2ObjectHashMap<SessionTimers> sessionIdToTimers = new Long2ObjectHashMap<>();
+    private final Clock clock;
     private final Timer sessionTimer;
     private final Timer receiveTimer;
     private final List<Timer> timers;
 
+    private int nextSessionTimerId = FIRST_SESSION_TIMER_ID;
+    private boolean enabled = TIME_MESSAGES;
+
     public LibraryTimers(final Clock clock)
     {
+        this.clock = clock;
         sessionTimer = new Timer(clock, "Session", -1);
         receiveTimer = new Timer(clock, "Receive", -2);
         timers = Arrays.asList(sessionTimer, receiveTimer);
@@ -47,4 +64,55 @@ public class LibraryTimers
     {
         return timers;
     }
+
+    /**
+     * Get the timers for a session, creating them if needed.
+     *
+     * @param sessionId the id of the session.
+     * @return the timers for the session.
+     */
+    public SessionTimers acquireSessionTimers(final long sessionId)
+    {
+        SessionTimers sessionTimers = sessionIdToTimers.get(sessionId);
+        if (sessionTimers == null)
+        {
+            final Timer receiveTimer = new Timer(
+                clock, "Receive-" + sessionId, nextSessionTimerId--, this.receiveTimer);
+            final Timer sessionTimer = new Timer(
+                clock, "Session-" + sessionId, nextSessionTimerId--, this.sessionTimer);
+            sessionTimers = new SessionTimers(sessionId, receiveTimer, sessionTimer);
+            sessionTimers.enabled(enabled);
+            sessionIdToTimers.put(sessionId, sessionTimers);
+        }
+
+        return sessionTimers;
+    }
+
+    /**
+     * Get the timers for a session.
+     *
+     * @param sessionId the id of the session.
+     * @return the timers for the session, or null if the session isn't owned by this library.
+     */
+    public SessionTimers sessionTimers(final long sessionId)
+    {
+        return sessionIdToTimers.get(sessionId);
+    }
+
+    public void removeSessionTimers(final long sessionId)
+    {
+        sessionIdToTimers.remove(sessionId);
+    }
+
+    /**
+     * Switch the timing of messages on or off for the library wide and all per session timers.
+     *
+     * @param enabled true to record timings, false otherwise.
+     */
+    public void enabled(final boolean enabled)
+    {
+        this.enabled = enabled;
+        timers.forEach(timer -> timer.enabled(enabled));
+        sessionIdToTimers.values().forEach(sessionTimers -> sessionTimers.enabled(enabled));
+    }
 }
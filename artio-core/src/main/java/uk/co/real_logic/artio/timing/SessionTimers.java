@@ -0,0 +1,66 @@
+/*
+ * Copyright 2015-2017 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.timing;
+
+/**
+ * The timers for a single session within a library. Timings recorded by these timers are also recorded into the
+ * library wide timers of the same kind.
+ */
+public class SessionTimers
+{
+    private final long sessionId;
+    private final Timer receiveTimer;
+    private final Timer sessionTimer;
+
+    SessionTimers(final long sessionId, final Timer receiveTimer, final Timer sessionTimer)
+    {
+        this.sessionId = sessionId;
+        this.receiveTimer = receiveTimer;
+        this.sessionTimer = sessionTimer;
+    }
+
+    public long sessionId()
+    {
+        return sessionId;
+    }
+
+    /**
+     * Gets the timer for the time between a message being received by the engine and it being received by the
+     * library.
+     *
+     * @return the timer for the time between a message being received by the engine and by the library.
+     */
+    public Timer receiveTimer()
+    {
+        return receiveTimer;
+    }
+
+    /**
+     * Gets the timer for the time taken to process a message in the session logic and the application's handler.
+     *
+     * @return the timer for the time taken to process a message in the session logic and handler.
+     */
+    public Timer sessionTimer()
+    {
+        return sessionTimer;
+    }
+
+    void enabled(final boolean enabled)
+    {
+        receiveTimer.enabled(enabled);
+        sessionTimer.enabled(enabled);
+    }
+}
@@ -21,29 +21,61 @@ import uk.co.real_logic.artio.Clock;
 
 import static uk.co.real_logic.artio.CommonConfiguration.TIME_MESSAGES;
 
+/**
+ * Records the latency of an operation into an HdrHistogram.
+ *
+ * Timings are recorded on a single thread and can be read from other threads, either as an interval histogram
+ * for the histogram log or as a running total since the timer was created or last reset, via {@link #snapshot()}
+ * and {@link #valueAtPercentile(double)}. Recording defaults to the {@link uk.co.real_logic.artio.CommonConfiguration}
+ * timing property, but can be switched on and off at runtime.
+ *
+ * The recorder and histograms are only allocated once a timing has been recorded or the timings are read, so that
+ * timers that are never enabled, such as those of each session when timing is off, don't cost their footprint.
+ */
 public class Timer
 {
     private static final int NUMBER_OF_SIGNIFICANT_VALUE_DIGITS = 3;
 
-    // Only written to on recording thread
-    private final SingleWriterRecorder recorder = new SingleWriterRecorder(NUMBER_OF_SIGNIFICANT_VALUE_DIGITS);
+    // Only written to on recording thread, published on first recording
+    private volatile SingleWriterRecorder recorder;
 
     private final Clock clock;
     private final int id;
     private final String name;
-    // Only accessed upon logging thread
-    private Histogram histogram;
+    private final Timer parent;
+    private volatile boolean enabled = TIME_MESSAGES;
+
+    // Guarded by this, sampled by the logging thread and queries
+    private Histogram totalHistogram;
+    private Histogram unloggedHistogram;
+    private Histogram loggedHistogram;
+    private Histogram intervalHistogram;
 
     public Timer(final Clock clock, final String name, final int id)
+    {
+        this(clock, name, id, null);
+    }
+
+    /**
+     * Create a timer whose timings are also recorded into a parent timer, for example a per-session timer that
+     * feeds a timer for all sessions.
+     *
+     * @param clock the clock to time operations with.
+     * @param name the human readable name of the operation being timed.
+     * @param id the unique id of the timer.
+     * @param parent the timer to also record timings into, can be null.
+     */
+    public Timer(final Clock clock, final String name, final int id, final Timer parent)
     {
         this.clock = clock;
         this.name = name;
         this.id = id;
+        this.parent = parent;
     }
 
     public long recordSince(final long timestamp)
     {
-        if (TIME_MESSAGES)
+        if (enabled)
         {
             final long time = clock.time();
             final long duration = time - timestamp;
@@ -56,22 +88,106 @@ public class Timer
 
     void recordValue(final long duration)
     {
+        SingleWriterRecorder recorder = this.recorder;
+        if (recorder == null)
+        {
+            recorder = new SingleWriterRecorder(NUMBER_OF_SIGNIFICANT_VALUE_DIGITS);
+            this.recorder = recorder;
+        }
+
         recorder.recordValue(duration);
+
+        if (parent != null)
+        {
+            parent.recordValue(duration);
+        }
+    }
+
+    /**
+     * Switch the recording of timings on or off, can be called from any thread.
+     *
+     * @param enabled true to record timings, false otherwise.
+     */
+    public void enabled(final boolean enabled)
+    {
+        this.enabled = enabled;
+    }
+
+    public boolean enabled()
+    {
+        return enabled;
     }
 
-    int id()
+    public int id()
     {
         return id;
     }
 
-    String name()
+    public String name()
     {
         return name;
     }
 
-    Histogram getTimings()
+    /**
+     * Copy the timings recorded since this timer was created or last reset.
+     *
+     * @return a copy of the recorded timings.
+     */
+    public synchronized Histogram snapshot()
     {
-        histogram = recorder.getIntervalHistogram(histogram);
-        return histogram;
+        sample();
+        return totalHistogram.copy();
+    }
+
+    /**
+     * Find the timing at a given percentile of those recorded since this timer was created or last reset.
+     *
+     * @param percentile the percentile to query, between 0 and 100.
+     * @return the timing at the percentile, in the units of this timer's clock.
+     */
+    public synchronized long valueAtPercentile(final double percentile)
+    {
+        sample();
+        return totalHistogram.getValueAtPercentile(percentile);
+    }
+
+    /**
+     * Discard the timings returned by {@link #snapshot()} and {@link #valueAtPercentile(double)}. The histogram
+     * log is unaffected.
+     */
+    public synchronized void reset()
+    {
+        sample();
+        totalHistogram.reset();
+    }
+
+    synchronized Histogram getTimings()
+    {
+        sample();
+
+        final Histogram timings = unloggedHistogram;
+        unloggedHistogram = loggedHistogram;
+        unloggedHistogram.reset();
+        loggedHistogram = timings;
+
+        return timings;
+    }
+
+    private void sample()
+    {
+        if (totalHistogram == null)
+        {
+            totalHistogram = new Histogram(NUMBER_OF_SIGNIFICANT_VALUE_DIGITS);
+            unloggedHistogram = new Histogram(NUMBER_OF_SIGNIFICANT_VALUE_DIGITS);
+            loggedHistogram = new Histogram(NUMBER_OF_SIGNIFICANT_VALUE_DIGITS);
+        }
+
+        final SingleWriterRecorder recorder = this.recorder;
+        if (recorder != null)
+        {
+            intervalHistogram = recorder.getIntervalHistogram(intervalHistogram);
+            unloggedHistogram.add(intervalHistogram);
+            totalHistogram.add(intervalHistogram);
+        }
     }
 }
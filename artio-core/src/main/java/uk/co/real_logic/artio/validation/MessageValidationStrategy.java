@@ -63,6 +63,17 @@ public interface MessageValidationStrategy
      */
     int rejectReason();
 
+    /**
+     * Returns whether this strategy inspects the header at all. Strategies that don't let the session parser
+     * skip decoding the full header of application messages and only scan the fields that the session needs.
+     *
+     * @return true if {@link #validate(SessionHeaderDecoder)} needs a fully decoded header, false otherwise.
+     */
+    default boolean requiresHeader()
+    {
+        return true;
+    }
+
     /**
      * Compose two message validation strategies together to form a new message validation strategy where you
      * need to pass both strategies for a message to be valid.
@@ -113,6 +124,11 @@ public interface MessageValidationStrategy
             {
                 return rejectReason;
             }
+
+            public boolean requiresHeader()
+            {
+                return left.requiresHeader() || right.requiresHeader();
+            }
         };
     }
 }
@@ -41,6 +41,11 @@ class NoMessageValidationStrategy implements MessageValidationStrategy
         return notSupported();
     }
 
+    public boolean requiresHeader()
+    {
+        return false;
+    }
+
     private int notSupported()
     {
         throw new UnsupportedOperationException(
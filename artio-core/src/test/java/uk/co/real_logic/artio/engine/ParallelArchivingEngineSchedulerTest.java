@@ -0,0 +1,90 @@
+/*
+ * Copyright 2015-2019 Real Logic Ltd, Adaptive Financial Consulting Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.engine;
+
+import org.agrona.ErrorHandler;
+import org.agrona.concurrent.Agent;
+import org.agrona.concurrent.BusySpinIdleStrategy;
+import org.agrona.concurrent.YieldingIdleStrategy;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.*;
+import static uk.co.real_logic.artio.Timing.assertEventuallyTrue;
+
+public class ParallelArchivingEngineSchedulerTest
+{
+    private final Map<Agent, Thread> agentThreads = new ConcurrentHashMap<>();
+
+    private Agent framer = mock(Agent.class);
+    private Agent inboundIndexer = mock(Agent.class);
+    private Agent outboundIndexer = mock(Agent.class);
+    private Agent replayer = mock(Agent.class);
+    private Agent monitoringAgent = mock(Agent.class);
+    private EngineConfiguration configuration = mock(EngineConfiguration.class);
+    private ErrorHandler mockErrorHandler = mock(ErrorHandler.class);
+    private RecordingCoordinator recordingCoordinator = mock(RecordingCoordinator.class);
+
+    @Before
+    public void setUp() throws Exception
+    {
+        when(configuration.framerIdleStrategy()).thenReturn(new BusySpinIdleStrategy());
+        when(configuration.monitoringThreadIdleStrategy()).thenReturn(new BusySpinIdleStrategy());
+        when(configuration.threadFactory()).thenReturn(Thread::new);
+
+        recordThreadOf(inboundIndexer);
+        recordThreadOf(outboundIndexer);
+        recordThreadOf(replayer);
+    }
+
+    @Test
+    public void shouldRunEachArchivingAgentOnItsOwnThread()
+    {
+        try (EngineScheduler scheduler = new ParallelArchivingEngineScheduler(YieldingIdleStrategy::new))
+        {
+            scheduler.launch(
+                configuration,
+                mockErrorHandler,
+                framer,
+                Arrays.asList(inboundIndexer, outboundIndexer, replayer),
+                monitoringAgent,
+                null,
+                recordingCoordinator);
+
+            assertEventuallyTrue(
+                "Failed to invoke archiving agents",
+                () -> agentThreads.size() == 3);
+
+            assertEquals(3, agentThreads.values().stream().distinct().count());
+        }
+
+        verify(recordingCoordinator).close();
+    }
+
+    private void recordThreadOf(final Agent agent) throws Exception
+    {
+        when(agent.doWork()).then(inv ->
+        {
+            agentThreads.putIfAbsent(agent, Thread.currentThread());
+            return 0;
+        });
+    }
+}
@@ -62,6 +62,54 @@ public class PasswordCleanerTest
         "8=FIX.4.4\0019=103\00135=BE\00149=initiator\00156=acceptor\00134=1\00152=20191002-16:54:47.446" +
         "\001923=A\001924=3\001553=initiator\001925=***\001554=***\00110=062\001";
 
+    private static final String EXAMPLE_NEW_PASSWORD_ONLY_USER_REQUEST =
+        "8=FIX.4.4\0019=102\00135=BE\00149=initiator\00156=acceptor\00134=1\00152=20191002-16:54:47.446" +
+        "\001923=A\001924=3\001553=initiator\001925=newPassword\00110=062\001";
+
+    private static final String CLEAN_NEW_PASSWORD_ONLY_USER_REQUEST =
+        "8=FIX.4.4\0019=094\00135=BE\00149=initiator\00156=acceptor\00134=1\00152=20191002-16:54:47.446" +
+        "\001923=A\001924=3\001553=initiator\001925=***\00110=062\001";
+
+    private static final String RAW_DATA_LOGON =
+        "8=FIX.4.4\0019=120\00135=A\00149=initiator\00156=acceptor\00134=1\00152=20191002-16:54:47.446" +
+        "\00198=0\001108=10\001141=N\001553=bob\001554=Uv1aegoh\00195=10\00196=ab\001554=xyz\00110=062\001";
+
+    private static final String EXPECTED_CLEANED_RAW_DATA_LOGON =
+        "8=FIX.4.4\0019=115\00135=A\00149=initiator\00156=acceptor\00134=1\00152=20191002-16:54:47.446" +
+        "\00198=0\001108=10\001141=N\001553=bob\001554=***\00195=10\00196=ab\001554=xyz\00110=062\001";
+
+    private static final String ENCRYPTED_PASSWORD_LOGON =
+        "8=FIX.4.4\0019=123\00135=A\00149=initiator\00156=acceptor\00134=1\00152=20191002-16:54:47.446" +
+        "\00198=0\001108=10\001141=N\001553=bob\001554=Uv1aegoh\0011401=10\0011402=ab\001554=xyz\00110=062\001";
+
+    private static final String EXPECTED_CLEANED_ENCRYPTED_PASSWORD_LOGON =
+        "8=FIX.4.4\0019=118\00135=A\00149=initiator\00156=acceptor\00134=1\00152=20191002-16:54:47.446" +
+        "\00198=0\001108=10\001141=N\001553=bob\001554=***\0011401=10\0011402=ab\001554=xyz\00110=062\001";
+
+    private static final String ENCODED_TEXT_LOGON =
+        "8=FIX.4.4\0019=121\00135=A\00149=initiator\00156=acceptor\00134=1\00152=20191002-16:54:47.446" +
+        "\00198=0\001108=10\001141=N\001553=bob\001554=Uv1aegoh\001354=10\001355=ab\001554=xyz\00110=062\001";
+
+    private static final String EXPECTED_CLEANED_ENCODED_TEXT_LOGON =
+        "8=FIX.4.4\0019=116\00135=A\00149=initiator\00156=acceptor\00134=1\00152=20191002-16:54:47.446" +
+        "\00198=0\001108=10\001141=N\001553=bob\001554=***\001354=10\001355=ab\001554=xyz\00110=062\001";
+
+    private static final String SIGNATURE_LOGON =
+        "8=FIX.4.4\0019=119\00135=A\00149=initiator\00156=acceptor\00134=1\00152=20191002-16:54:47.446" +
+        "\00198=0\001108=10\001141=N\001553=bob\001554=Uv1aegoh\00193=10\00189=ab\001554=xyz\00110=062\001";
+
+    private static final String EXPECTED_CLEANED_SIGNATURE_LOGON =
+        "8=FIX.4.4\0019=114\00135=A\00149=initiator\00156=acceptor\00134=1\00152=20191002-16:54:47.446" +
+        "\00198=0\001108=10\001141=N\001553=bob\001554=***\00193=10\00189=ab\001554=xyz\00110=062\001";
+
+    private static final String MALFORMED_RAW_DATA_LENGTH_LOGON =
+        "8=FIX.4.4\0019=110\00135=A\00149=initiator\00156=acceptor\00134=1\00152=20191002-16:54:47.446" +
+        "\00198=0\001108=10\001141=N\00195=x\00196=ab\001553=bob\001554=Uv1aegoh\00110=062\001";
+
+    private static final String EXPECTED_CLEANED_MALFORMED_RAW_DATA_LENGTH_LOGON =
+        "8=FIX.4.4\0019=105\00135=A\00149=initiator\00156=acceptor\00134=1\00152=20191002-16:54:47.446" +
+        "\00198=0\001108=10\001141=N\00195=x\00196=ab\001553=bob\001554=***\00110=062\001";
+
     private final PasswordCleaner passwordCleaner = new PasswordCleaner();
 
     private final int offset;
@@ -102,6 +150,42 @@ public class PasswordCleanerTest
         shouldCleanMessage(EXAMPLE_USER_REQUEST_FLIPPED_FIELD_ORDER, CLEAN_USER_REQUEST_FLIPPED_FIELD_ORDER);
     }
 
+    @Test
+    public void shouldCleanNewPasswordFromUserRequestWithoutPassword()
+    {
+        shouldCleanMessage(EXAMPLE_NEW_PASSWORD_ONLY_USER_REQUEST, CLEAN_NEW_PASSWORD_ONLY_USER_REQUEST);
+    }
+
+    @Test
+    public void shouldNotCleanPasswordTagWithinRawData()
+    {
+        shouldCleanMessage(RAW_DATA_LOGON, EXPECTED_CLEANED_RAW_DATA_LOGON);
+    }
+
+    @Test
+    public void shouldNotCleanPasswordTagWithinEncryptedPassword()
+    {
+        shouldCleanMessage(ENCRYPTED_PASSWORD_LOGON, EXPECTED_CLEANED_ENCRYPTED_PASSWORD_LOGON);
+    }
+
+    @Test
+    public void shouldNotCleanPasswordTagWithinEncodedText()
+    {
+        shouldCleanMessage(ENCODED_TEXT_LOGON, EXPECTED_CLEANED_ENCODED_TEXT_LOGON);
+    }
+
+    @Test
+    public void shouldNotCleanPasswordTagWithinSignature()
+    {
+        shouldCleanMessage(SIGNATURE_LOGON, EXPECTED_CLEANED_SIGNATURE_LOGON);
+    }
+
+    @Test
+    public void shouldCleanPasswordAfterMalformedDataLength()
+    {
+        shouldCleanMessage(MALFORMED_RAW_DATA_LENGTH_LOGON, EXPECTED_CLEANED_MALFORMED_RAW_DATA_LENGTH_LOGON);
+    }
+
     private void shouldCleanMessage(final String inputMessage, final String expectedCleanedMessage)
     {
         final UnsafeBuffer buffer = new UnsafeBuffer(new byte[1024]);
@@ -110,8 +194,9 @@ public class PasswordCleanerTest
         passwordCleaner.clean(buffer, offset, length);
 
         final DirectBuffer directBuffer = passwordCleaner.cleanedBuffer();
+        final int cleanedOffset = passwordCleaner.cleanedOffset();
         final int cleanedLength = passwordCleaner.cleanedLength();
-        final String cleanedLogon = directBuffer.getStringWithoutLengthAscii(0, cleanedLength);
+        final String cleanedLogon = directBuffer.getStringWithoutLengthAscii(cleanedOffset, cleanedLength);
         assertEquals(expectedCleanedMessage, cleanedLogon);
     }
 
@@ -138,7 +138,29 @@ public class ReceiverEndPointTest
         givenReceiverEndPoint(SESSION_ID);
     }
 
+    private void givenABatchingReceiverEndPoint()
+    {
+        givenReceiverEndPoint(SESSION_ID, true);
+        when(publication.batchMessage(
+            anyBuffer(),
+            anyInt(),
+            anyInt(),
+            anyInt(),
+            anyLong(),
+            anyLong(),
+            anyInt(),
+            anyLong(),
+            any(),
+            anyInt(),
+            anyLong())).thenReturn(true);
+    }
+
     private void givenReceiverEndPoint(final long sessionId)
+    {
+        givenReceiverEndPoint(sessionId, false);
+    }
+
+    private void givenReceiverEndPoint(final long sessionId, final boolean batchMessages)
     {
         endPoint = new ReceiverEndPoint(
             mockChannel, BUFFER_SIZE, publication,
@@ -146,7 +168,8 @@ public class ReceiverEndPointTest
             messagesRead, framer, errorHandler, LIBRARY_ID,
             mockGatewaySessions,
             mockClock,
-            FixDictionary.of(FixDictionary.findDefault()));
+            FixDictionary.of(FixDictionary.findDefault()),
+            batchMessages);
         endPoint.gatewaySession(gatewaySession);
     }
 
@@ -454,6 +477,44 @@ public class ReceiverEndPointTest
         sessionReceivesTwoMessages();
     }
 
+    @Test
+    public void shouldBatchTwoCompleteFixMessagesInOnePacket()
+    {
+        givenABatchingReceiverEndPoint();
+        when(publication.flushBatch()).thenReturn(POSITION);
+
+        theEndpointReceivesTwoCompleteMessages();
+        assertEquals(2 * MSG_LEN, endPoint.poll());
+
+        batchesFramedMessageAt(0, times(1));
+        batchesFramedMessageAt(MSG_LEN, times(1));
+        verify(publication, times(1)).flushBatch();
+        savesFramedMessages(0, OK, MSG_LEN);
+
+        sessionReceivesTwoMessages();
+    }
+
+    @Test
+    public void shouldFrameBatchAgainWhenFlushIsBackpressured()
+    {
+        givenABatchingReceiverEndPoint();
+        when(publication.flushBatch()).thenReturn(BACK_PRESSURED, POSITION);
+
+        theEndpointReceivesTwoCompleteMessages();
+        assertEquals(-2 * MSG_LEN, endPoint.poll());
+
+        verify(publication).discardBatch();
+        sessionReceivesNoMessages();
+
+        pollWithNoData(0);
+
+        batchesFramedMessageAt(0, times(2));
+        batchesFramedMessageAt(MSG_LEN, times(2));
+        verify(publication, times(2)).flushBatch();
+
+        sessionReceivesTwoMessages();
+    }
+
     @Test
     public void shouldFrameLogonMessageWhenLoggerBehind()
     {
@@ -563,6 +624,14 @@ public class ReceiverEndPointTest
             eq(status), eq(0), eq(TIMESTAMP));
     }
 
+    private void batchesFramedMessageAt(final int offset, final VerificationMode mode)
+    {
+        verify(publication, mode).batchMessage(
+            anyBuffer(), eq(offset), eq(MSG_LEN), eq(LIBRARY_ID),
+            eq(MESSAGE_TYPE), eq(SESSION_ID), eq(SEQUENCE_INDEX), eq(CONNECTION_ID),
+            eq(OK), eq(0), eq(TIMESTAMP));
+    }
+
     private void savesTwoFramedMessages(final int firstMessageSaveAttempts)
     {
         final InOrder inOrder = Mockito.inOrder(publication);
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2015-2017 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.engine.framer;
+
+import org.agrona.ErrorHandler;
+import org.junit.After;
+import org.junit.Test;
+import org.mockito.InOrder;
+
+import java.nio.channels.Selector;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class ReceiverEndPointsTest
+{
+    private final ErrorHandler errorHandler = mock(ErrorHandler.class);
+    private final ReceiverEndPoint first = mock(ReceiverEndPoint.class);
+    private final ReceiverEndPoint second = mock(ReceiverEndPoint.class);
+    private final ReceiverEndPoint third = mock(ReceiverEndPoint.class);
+
+    private ReceiverEndPoints receiverEndPoints;
+
+    @After
+    public void tearDown()
+    {
+        receiverEndPoints.close();
+    }
+
+    @Test
+    public void shouldSpinOverEndPointsInBatches() throws Exception
+    {
+        givenSpinningEndPoints(2);
+
+        receiverEndPoints.pollEndPoints();
+        receiverEndPoints.pollEndPoints();
+
+        final InOrder inOrder = inOrder(first, second, third);
+        inOrder.verify(first).poll();
+        inOrder.verify(second).poll();
+        inOrder.verify(third).poll();
+        inOrder.verify(first).poll();
+        verify(first, times(2)).poll();
+        verify(second, times(1)).poll();
+        verify(third, times(1)).poll();
+    }
+
+    @Test
+    public void shouldNotRegisterSpinningEndPointsWithSelector() throws Exception
+    {
+        givenSpinningEndPoints(Integer.MAX_VALUE);
+
+        verify(first, never()).register(any(Selector.class));
+        verify(second, never()).register(any(Selector.class));
+        verify(third, never()).register(any(Selector.class));
+    }
+
+    @Test
+    public void shouldRetryBackPressuredEndPointBeforeSpinningOverOthers() throws Exception
+    {
+        givenSpinningEndPoints(Integer.MAX_VALUE);
+        when(first.poll()).thenReturn(-10);
+
+        assertEquals(10, receiverEndPoints.pollEndPoints());
+        verify(second, never()).poll();
+
+        receiverEndPoints.pollEndPoints();
+
+        verify(first).retryFrameMessages();
+        verify(second, never()).poll();
+    }
+
+    private void givenSpinningEndPoints(final int batchSize)
+    {
+        receiverEndPoints = new ReceiverEndPoints(errorHandler, ReceiverPollingMode.SPIN, batchSize);
+        receiverEndPoints.add(first);
+        receiverEndPoints.add(second);
+        receiverEndPoints.add(third);
+    }
+}
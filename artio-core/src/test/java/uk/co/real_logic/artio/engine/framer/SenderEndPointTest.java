@@ -51,6 +51,7 @@ public class SenderEndPointTest
     private static final int FRAGMENT_LENGTH = alignTerm(HEADER_LENGTH + FRAME_SIZE + BODY_LENGTH);
     private static final long BEGIN_POSITION = 8000;
     private static final int MAX_BYTES_IN_BUFFER = 3 * BODY_LENGTH;
+    private static final int COALESCING_BUFFER_SIZE = 1024;
 
     private TcpChannel tcpChannel = mock(TcpChannel.class);
     private AtomicCounter bytesInBuffer = fakeCounter();
@@ -76,7 +77,8 @@ public class SenderEndPointTest
         MAX_BYTES_IN_BUFFER,
         DEFAULT_SLOW_CONSUMER_TIMEOUT_IN_MS,
         0,
-        senderSequenceNumber);
+        senderSequenceNumber,
+        0);
 
     @Test
     public void shouldRetrySlowConsumerMessage()
@@ -416,6 +418,78 @@ public class SenderEndPointTest
         verifyNoMoreErrors();
     }
 
+    @Test
+    public void shouldCoalesceOutboundMessagesIntoOneWrite() throws IOException
+    {
+        final SenderEndPoint endPoint = newCoalescingEndPoint();
+        when(tcpChannel.write(any(ByteBuffer.class))).thenReturn(2 * BODY_LENGTH);
+
+        assertTrue(endPoint.onOutboundMessage(LIBRARY_ID, buffer, 0, BODY_LENGTH, 0, POSITION, 100));
+        assertFalse(endPoint.onOutboundMessage(
+            LIBRARY_ID, buffer, 0, BODY_LENGTH, 0, POSITION + FRAGMENT_LENGTH, 100));
+        verify(tcpChannel, never()).write(any(ByteBuffer.class));
+
+        endPoint.flushCoalescedMessages(100);
+
+        verify(tcpChannel, times(1)).write(any(ByteBuffer.class));
+        assertBytesInBuffer(0);
+        verify(framer, never()).slowStatus(anyInt(), anyLong(), anyBoolean());
+        verifyNoMoreErrors();
+    }
+
+    @Test
+    public void shouldBecomeSlowConsumerWhenCoalescedWriteIsPartial() throws IOException
+    {
+        final SenderEndPoint endPoint = newCoalescingEndPoint();
+        final int written = BODY_LENGTH + 10;
+        when(tcpChannel.write(any(ByteBuffer.class))).thenReturn(written);
+
+        endPoint.onOutboundMessage(LIBRARY_ID, buffer, 0, BODY_LENGTH, 0, POSITION, 100);
+        endPoint.onOutboundMessage(LIBRARY_ID, buffer, 0, BODY_LENGTH, 0, POSITION + FRAGMENT_LENGTH, 100);
+        endPoint.onOutboundMessage(LIBRARY_ID, buffer, 0, BODY_LENGTH, 0, POSITION + 2 * FRAGMENT_LENGTH, 100);
+
+        endPoint.flushCoalescedMessages(100);
+
+        assertBytesInBuffer(3 * BODY_LENGTH - written);
+        verify(framer).slowStatus(LIBRARY_ID, CONNECTION_ID, true);
+        verifySlowConsumerDisconnect(never());
+    }
+
+    @Test
+    public void shouldNotCoalesceMessagesOnceSlowConsumer() throws IOException
+    {
+        final SenderEndPoint endPoint = newCoalescingEndPoint();
+        when(tcpChannel.write(any(ByteBuffer.class))).thenReturn(0);
+
+        endPoint.onOutboundMessage(LIBRARY_ID, buffer, 0, BODY_LENGTH, 0, POSITION, 100);
+        endPoint.flushCoalescedMessages(100);
+        assertBytesInBuffer(BODY_LENGTH);
+
+        assertFalse(endPoint.onOutboundMessage(
+            LIBRARY_ID, buffer, 0, BODY_LENGTH, 0, POSITION + FRAGMENT_LENGTH, 100));
+        assertBytesInBuffer(2 * BODY_LENGTH);
+        verify(tcpChannel, times(1)).write(any(ByteBuffer.class));
+    }
+
+    private SenderEndPoint newCoalescingEndPoint()
+    {
+        return new SenderEndPoint(
+            CONNECTION_ID,
+            LIBRARY_ID,
+            libraryBlockablePosition,
+            replayBlockablePosition,
+            tcpChannel,
+            bytesInBuffer,
+            invalidLibraryAttempts,
+            errorHandler,
+            framer,
+            MAX_BYTES_IN_BUFFER,
+            DEFAULT_SLOW_CONSUMER_TIMEOUT_IN_MS,
+            0,
+            senderSequenceNumber,
+            COALESCING_BUFFER_SIZE);
+    }
+
     private void byteBufferNotWritten()
     {
         byteBufferWritten(never());
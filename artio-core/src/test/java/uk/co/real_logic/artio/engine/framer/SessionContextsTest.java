@@ -21,7 +21,10 @@ import org.agrona.concurrent.AtomicBuffer;
 import org.agrona.concurrent.UnsafeBuffer;
 import org.junit.Test;
 import uk.co.real_logic.artio.FileSystemCorruptionException;
+import uk.co.real_logic.artio.builder.Encoder;
 import uk.co.real_logic.artio.builder.LogonEncoder;
+import uk.co.real_logic.artio.decoder.LogonDecoder;
+import uk.co.real_logic.artio.decoder.SessionHeaderDecoder;
 import uk.co.real_logic.artio.engine.MappedFile;
 import uk.co.real_logic.artio.session.CompositeKey;
 import uk.co.real_logic.artio.session.SessionIdStrategy;
@@ -53,6 +56,7 @@ public class SessionContextsTest
     private SessionContexts sessionContexts = newSessionContexts(buffer);
     private MutableAsciiBuffer asciiBuffer = new MutableAsciiBuffer(ByteBuffer.allocate(BUFFER_SIZE));
     private LogonEncoder logonEncoder = new LogonEncoder();
+    private LogonDecoder logonDecoder = new LogonDecoder();
 
     private CompositeKey aSession = idStrategy.onInitiateLogon("a", null, null, "b", null, null);
     private CompositeKey bSession = idStrategy.onInitiateLogon("b", null, null, "a", null, null);
@@ -220,6 +224,47 @@ public class SessionContextsTest
         assertEquals(3, cContext.sessionId());
     }
 
+    @Test
+    public void acceptedLogonFindsSameSessionContextAsCompositeKey()
+    {
+        final SessionContext aContext = sessionContexts.onLogon(aSession);
+        sessionContexts.onDisconnect(aContext.sessionId());
+
+        assertSame(aContext, sessionContexts.onAcceptLogon(acceptedLogonHeader("b", "a")));
+        assertEquals(DUPLICATE_SESSION, sessionContexts.onAcceptLogon(acceptedLogonHeader("b", "a")));
+    }
+
+    @Test
+    public void acceptedLogonFindsSessionContextAfterRestart()
+    {
+        final SessionContext aContext = sessionContexts.onLogon(aSession);
+        aContext.onSequenceReset();
+        sessionContexts.onLogon(bSession);
+
+        final SessionContexts sessionContextsAfterRestart = newSessionContexts(buffer);
+
+        assertValuesEqual(aContext, sessionContextsAfterRestart.onAcceptLogon(acceptedLogonHeader("b", "a")));
+        assertEquals(aContext.sessionId(), sessionContextsAfterRestart.lookupSessionId(aSession));
+    }
+
+    @Test
+    public void acceptedLogonOfNewSessionAssignsNewSessionId()
+    {
+        final SessionContext aContext = sessionContexts.onLogon(aSession);
+
+        final SessionContext cContext = sessionContexts.onAcceptLogon(acceptedLogonHeader("c", "c"));
+
+        assertNotEquals(aContext, cContext);
+        assertEquals(cContext.sessionId(), sessionContexts.lookupSessionId(cSession));
+    }
+
+    private SessionHeaderDecoder acceptedLogonHeader(final String senderCompID, final String targetCompID)
+    {
+        final long result = logonWithSenderAndTarget(senderCompID, targetCompID);
+        logonDecoder.decode(asciiBuffer, Encoder.offset(result), Encoder.length(result));
+        return logonDecoder.header();
+    }
+
     private void verifyNoBackUp()
     {
         verify(mappedFile, never()).transferTo(any());
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2015-2019 Real Logic Ltd, Adaptive Financial Consulting Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.engine.logger;
+
+import io.aeron.Aeron;
+import io.aeron.ExclusivePublication;
+import io.aeron.Image;
+import io.aeron.Subscription;
+import io.aeron.driver.MediaDriver;
+import org.agrona.CloseHelper;
+import org.agrona.collections.LongArrayList;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.agrona.concurrent.YieldingIdleStrategy;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import uk.co.real_logic.artio.engine.logger.FixArchiveScanner.RecordingCursor;
+import uk.co.real_logic.artio.messages.ApplicationHeartbeatEncoder;
+import uk.co.real_logic.artio.messages.FixMessageEncoder;
+import uk.co.real_logic.artio.messages.MessageHeaderEncoder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static io.aeron.CommonContext.IPC_CHANNEL;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static uk.co.real_logic.artio.TestFixtures.launchJustMediaDriver;
+
+public class FixArchiveScannerTest
+{
+    private static final int STREAM_ID = 1;
+    private static final byte[] BODY = "8=FIX.4.4\u00019=5\u000135=0\u000110=000\u0001".getBytes(US_ASCII);
+
+    private final MediaDriver mediaDriver = launchJustMediaDriver();
+    private final UnsafeBuffer buffer = new UnsafeBuffer(new byte[1024]);
+    private final MessageHeaderEncoder header = new MessageHeaderEncoder();
+    private final FixMessageEncoder fixMessage = new FixMessageEncoder();
+    private final ApplicationHeartbeatEncoder heartbeat = new ApplicationHeartbeatEncoder();
+    private final LongArrayList scannedTimestamps = new LongArrayList();
+    private final FixMessageConsumer handler =
+        (message, messageBuffer, offset, length, aeronHeader) -> scannedTimestamps.addLong(message.timestamp());
+
+    private Aeron aeron;
+    private Subscription subscription;
+
+    @Before
+    public void setUp()
+    {
+        aeron = Aeron.connect();
+        subscription = aeron.addSubscription(IPC_CHANNEL, STREAM_ID);
+    }
+
+    @After
+    public void tearDown()
+    {
+        CloseHelper.close(aeron);
+        CloseHelper.close(mediaDriver);
+    }
+
+    @Test
+    public void shouldMergeRecordingsInTimestampOrder()
+    {
+        final List<RecordingCursor> cursors = new ArrayList<>();
+        cursors.add(cursorOfMessagesAt(1, 3, 5));
+        cursors.add(cursorOfMessagesAt(2, 4, 6));
+
+        FixArchiveScanner.mergeInTimestampOrder(cursors, () -> null, new YieldingIdleStrategy());
+
+        assertScannedTimestamps(1, 2, 3, 4, 5, 6);
+        assertTrue(cursors.isEmpty());
+    }
+
+    @Test
+    public void shouldCompleteRecordingWithoutAnyFixMessages()
+    {
+        final List<RecordingCursor> cursors = new ArrayList<>();
+        cursors.add(cursorOfHeartbeats(3));
+        cursors.add(cursorOfMessagesAt(1, 2));
+
+        FixArchiveScanner.mergeInTimestampOrder(cursors, () -> null, new YieldingIdleStrategy());
+
+        assertScannedTimestamps(1, 2);
+        assertTrue(cursors.isEmpty());
+    }
+
+    @Test
+    public void shouldReplaceCompletedRecordings()
+    {
+        final List<RecordingCursor> cursors = new ArrayList<>();
+        cursors.add(cursorOfMessagesAt(1, 3, 5));
+        final List<RecordingCursor> nextCursors = new ArrayList<>();
+        nextCursors.add(cursorOfMessagesAt(2, 4, 6));
+
+        FixArchiveScanner.mergeInTimestampOrder(
+            cursors,
+            () -> nextCursors.isEmpty() ? null : nextCursors.remove(0),
+            new YieldingIdleStrategy());
+
+        // Recordings are only merged with those that are being replayed at the same time.
+        assertScannedTimestamps(1, 3, 5, 2, 4, 6);
+        assertTrue(cursors.isEmpty());
+    }
+
+    private RecordingCursor cursorOfMessagesAt(final long... timestamps)
+    {
+        final ExclusivePublication publication = aeron.addExclusivePublication(IPC_CHANNEL, STREAM_ID);
+        final Image image = awaitImage(publication);
+        for (final long timestamp : timestamps)
+        {
+            fixMessage
+                .wrapAndApplyHeader(buffer, 0, header)
+                .timestamp(timestamp)
+                .putBody(BODY, 0, BODY.length);
+            offer(publication, MessageHeaderEncoder.ENCODED_LENGTH + fixMessage.encodedLength());
+        }
+
+        return new RecordingCursor(image, publication.position(), null, handler);
+    }
+
+    private RecordingCursor cursorOfHeartbeats(final int count)
+    {
+        final ExclusivePublication publication = aeron.addExclusivePublication(IPC_CHANNEL, STREAM_ID);
+        final Image image = awaitImage(publication);
+        for (int i = 0; i < count; i++)
+        {
+            heartbeat
+                .wrapAndApplyHeader(buffer, 0, header)
+                .libraryId(1);
+            offer(publication, MessageHeaderEncoder.ENCODED_LENGTH + heartbeat.encodedLength());
+        }
+
+        return new RecordingCursor(image, publication.position(), null, handler);
+    }
+
+    private Image awaitImage(final ExclusivePublication publication)
+    {
+        Image image;
+        while ((image = subscription.imageBySessionId(publication.sessionId())) == null)
+        {
+            Thread.yield();
+        }
+
+        return image;
+    }
+
+    private void offer(final ExclusivePublication publication, final int length)
+    {
+        while (publication.offer(buffer, 0, length) < 0)
+        {
+            Thread.yield();
+        }
+    }
+
+    private void assertScannedTimestamps(final long... expectedTimestamps)
+    {
+        final long[] scannedTimestamps = new long[this.scannedTimestamps.size()];
+        for (int i = 0; i < scannedTimestamps.length; i++)
+        {
+            scannedTimestamps[i] = this.scannedTimestamps.getLong(i);
+        }
+
+        assertEquals(Arrays.toString(expectedTimestamps), Arrays.toString(scannedTimestamps));
+    }
+}
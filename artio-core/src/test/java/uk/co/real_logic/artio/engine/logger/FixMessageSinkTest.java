@@ -0,0 +1,148 @@
+/*
+ * Copyright 2015-2019 Real Logic Ltd, Adaptive Financial Consulting Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.engine.logger;
+
+import org.agrona.IoUtil;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import uk.co.real_logic.artio.messages.FixMessageDecoder;
+import uk.co.real_logic.artio.messages.FixMessageEncoder;
+import uk.co.real_logic.artio.messages.MessageHeaderEncoder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.hamcrest.Matchers.contains;
+import static org.junit.Assert.*;
+
+public class FixMessageSinkTest
+{
+    private static final long SESSION_ID = 3;
+    private static final long TIMESTAMP = 1_000;
+    private static final String MESSAGE = "8=FIX.4.4\u00019=5\u000135=0\u000110=000\u0001";
+    private static final String LINE = "8=FIX.4.4|9=5|35=0|10=000|\n";
+
+    private final UnsafeBuffer buffer = new UnsafeBuffer(new byte[1024]);
+    private final FixMessageDecoder decoder = new FixMessageDecoder();
+    private final File directory = new File(IoUtil.tmpDirName(), "FixMessageSinkTest");
+
+    private int bodyOffset;
+    private int bodyLength;
+
+    @Before
+    public void setUp()
+    {
+        IoUtil.delete(directory, true);
+
+        final MessageHeaderEncoder header = new MessageHeaderEncoder();
+        final FixMessageEncoder encoder = new FixMessageEncoder();
+        encoder
+            .wrapAndApplyHeader(buffer, 0, header)
+            .session(SESSION_ID)
+            .timestamp(TIMESTAMP)
+            .putBody(MESSAGE.getBytes(US_ASCII), 0, MESSAGE.length());
+
+        decoder.wrap(buffer, MessageHeaderEncoder.ENCODED_LENGTH, encoder.sbeBlockLength(), encoder.sbeSchemaVersion());
+        bodyOffset = decoder.limit() + FixMessageDecoder.bodyHeaderLength();
+        bodyLength = decoder.bodyLength();
+    }
+
+    @After
+    public void tearDown()
+    {
+        IoUtil.delete(directory, true);
+    }
+
+    @Test
+    public void shouldWriteMessagesAsLinesOfTextInBatches()
+    {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final BatchingTextFixMessageSink sink = new BatchingTextFixMessageSink(Channels.newChannel(output), 1024);
+
+        assertTrue(write(sink));
+        assertTrue(write(sink));
+        assertEquals(0, output.size());
+
+        sink.flush();
+
+        assertEquals(LINE + LINE, new String(output.toByteArray(), US_ASCII));
+    }
+
+    @Test
+    public void shouldDropMessagesLargerThanTheBatch()
+    {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final BatchingTextFixMessageSink sink = new BatchingTextFixMessageSink(Channels.newChannel(output), 10);
+
+        assertFalse(write(sink));
+    }
+
+    @Test
+    public void shouldRollMappedTextFilesWhenFull() throws IOException
+    {
+        final MappedTextFixMessageSink sink = new MappedTextFixMessageSink(directory, "audit", LINE.length() + 1);
+        final File firstFile = sink.currentFile();
+
+        assertTrue(write(sink));
+        assertTrue(write(sink));
+        final File secondFile = sink.currentFile();
+        sink.close();
+
+        assertNotEquals(firstFile, secondFile);
+        assertEquals(LINE, new String(Files.readAllBytes(firstFile.toPath()), US_ASCII));
+        assertEquals(LINE, new String(Files.readAllBytes(secondFile.toPath()), US_ASCII));
+    }
+
+    @Test
+    public void shouldReadBackBinaryJournalEntries() throws IOException
+    {
+        final BinaryJournalFixMessageSink sink = new BinaryJournalFixMessageSink(directory, "journal", 1024);
+        final File file = sink.currentFile();
+
+        assertTrue(write(sink));
+        assertTrue(write(sink));
+        sink.close();
+
+        final List<String> messages = new ArrayList<>();
+        final byte[] journal = Files.readAllBytes(file.toPath());
+        final int records = BinaryJournalFixMessageSink.read(
+            new UnsafeBuffer(ByteBuffer.wrap(journal)),
+            journal.length,
+            (timestamp, sessionId, buffer, offset, length) ->
+            {
+                assertEquals(TIMESTAMP, timestamp);
+                assertEquals(SESSION_ID, sessionId);
+                messages.add(buffer.getStringWithoutLengthAscii(offset, length));
+            });
+
+        assertEquals(2, records);
+        assertThat(messages, contains(MESSAGE, MESSAGE));
+    }
+
+    private boolean write(final FixMessageSink sink)
+    {
+        return sink.onMessage(decoder, buffer, bodyOffset, bodyLength);
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2015-2019 Real Logic Ltd, Adaptive Financial Consulting Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.engine.logger;
+
+import org.agrona.IoUtil;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class RecordingCheckpointsTest
+{
+    private static final long RECORDING_ID = 2;
+    private static final long START = 1024;
+    private static final long STOP = START + 400;
+    private static final int INTERVAL = 100;
+
+    private final File directory = new File(IoUtil.tmpDirName(), "RecordingCheckpointsTest");
+
+    @Before
+    public void setUp()
+    {
+        IoUtil.delete(directory, true);
+    }
+
+    @After
+    public void tearDown()
+    {
+        IoUtil.delete(directory, true);
+    }
+
+    @Test
+    public void shouldReplayWholeRecordingWhenNotIndexed()
+    {
+        try (RecordingCheckpoints checkpoints = load())
+        {
+            assertEquals(START, checkpoints.startPosition(150));
+            assertEquals(STOP, checkpoints.stopPosition(250, STOP));
+        }
+    }
+
+    @Test
+    public void shouldSkipBlocksOutsideOfTimestampRange()
+    {
+        indexRecording();
+
+        try (RecordingCheckpoints checkpoints = load())
+        {
+            assertEquals(4, checkpoints.checkpointCount());
+            assertEquals(STOP, checkpoints.indexedPosition());
+
+            // Blocks have timestamps [100, 150), [200, 250), [300, 350), [400, 450)
+            assertEquals(START + 100, checkpoints.startPosition(200));
+            assertEquals(START + 100, checkpoints.startPosition(175));
+            assertEquals(START + 300, checkpoints.startPosition(420));
+            assertEquals(STOP, checkpoints.startPosition(500));
+
+            assertEquals(START + 200, checkpoints.stopPosition(250, STOP));
+            assertEquals(START + 300, checkpoints.stopPosition(301, STOP));
+            assertEquals(START, checkpoints.stopPosition(100, STOP));
+        }
+    }
+
+    @Test
+    public void shouldReplayUnindexedEndOfRecording()
+    {
+        indexRecording();
+
+        try (RecordingCheckpoints checkpoints = load())
+        {
+            assertEquals(STOP + 50, checkpoints.stopPosition(250, STOP + 50));
+        }
+    }
+
+    @Test
+    public void shouldOnlyIndexPastIndexedPosition()
+    {
+        indexRecording();
+
+        try (RecordingCheckpoints checkpoints = load())
+        {
+            checkpoints.onMessage(1, START + 50);
+            checkpoints.onMessage(500, STOP + 60);
+        }
+
+        try (RecordingCheckpoints checkpoints = load(STOP + 60))
+        {
+            assertEquals(5, checkpoints.checkpointCount());
+            assertEquals(STOP + 60, checkpoints.indexedPosition());
+            assertEquals(START, checkpoints.startPosition(1));
+            assertEquals(STOP, checkpoints.startPosition(500));
+        }
+    }
+
+    @Test
+    public void shouldIgnorePartlyWrittenCheckpoint() throws IOException
+    {
+        indexRecording();
+
+        final File file = RecordingCheckpoints.file(directory, RECORDING_ID);
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw"))
+        {
+            raf.setLength(raf.length() - 1);
+        }
+
+        try (RecordingCheckpoints checkpoints = load())
+        {
+            assertEquals(3, checkpoints.checkpointCount());
+            assertEquals(START + 300, checkpoints.indexedPosition());
+        }
+
+        assertEquals(3 * RecordingCheckpoints.CHECKPOINT_LENGTH, file.length());
+    }
+
+    @Test
+    public void shouldDiscardIndexThatDoesNotFitRecording()
+    {
+        indexRecording();
+
+        try (RecordingCheckpoints checkpoints = load(START + 200))
+        {
+            assertEquals(0, checkpoints.checkpointCount());
+            assertEquals(START, checkpoints.indexedPosition());
+        }
+
+        assertFalse(RecordingCheckpoints.file(directory, RECORDING_ID).exists());
+    }
+
+    private void indexRecording()
+    {
+        try (RecordingCheckpoints checkpoints = load())
+        {
+            for (int block = 1; block <= 4; block++)
+            {
+                final long blockStart = START + (block - 1) * INTERVAL;
+                final long timestamp = block * 100;
+                checkpoints.onMessage(timestamp + 49, blockStart + 50);
+                checkpoints.onMessage(timestamp, blockStart + INTERVAL);
+            }
+        }
+    }
+
+    private RecordingCheckpoints load()
+    {
+        return load(STOP);
+    }
+
+    private RecordingCheckpoints load(final long recordedPosition)
+    {
+        return RecordingCheckpoints.load(directory, RECORDING_ID, START, recordedPosition, INTERVAL);
+    }
+}
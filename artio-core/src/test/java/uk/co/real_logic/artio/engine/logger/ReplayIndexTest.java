@@ -44,6 +44,7 @@ import java.nio.ByteBuffer;
 import java.util.stream.IntStream;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.*;
 import static uk.co.real_logic.artio.LogTag.REPLAY;
@@ -79,6 +80,11 @@ public class ReplayIndexTest extends AbstractLogTest
     private RecordingIdLookup recordingIdLookup;
 
     private void newReplayIndex()
+    {
+        newReplayIndex(0);
+    }
+
+    private void newReplayIndex(final int segmentsToRetain)
     {
         replayIndex = new ReplayIndex(
             DEFAULT_LOG_FILE_DIR,
@@ -89,7 +95,23 @@ public class ReplayIndexTest extends AbstractLogTest
             newBufferFactory,
             replayPositionBuffer,
             errorHandler,
-            recordingIdLookup);
+            recordingIdLookup,
+            segmentsToRetain);
+    }
+
+    private void newReplayQuery(final int segmentsToRetain)
+    {
+        query = new ReplayQuery(
+            DEFAULT_LOG_FILE_DIR,
+            DEFAULT_LOGGER_CACHE_NUM_SETS,
+            DEFAULT_LOGGER_CACHE_SET_SIZE,
+            existingBufferFactory,
+            DEFAULT_OUTBOUND_LIBRARY_STREAM,
+            new NoOpIdleStrategy(),
+            aeronArchive,
+            errorHandler,
+            DEFAULT_ARCHIVE_REPLAY_STREAM,
+            segmentsToRetain);
     }
 
     private Aeron aeron()
@@ -117,16 +139,7 @@ public class ReplayIndexTest extends AbstractLogTest
         IoUtil.deleteIfExists(logFile);
 
         newReplayIndex();
-        query = new ReplayQuery(
-            DEFAULT_LOG_FILE_DIR,
-            DEFAULT_LOGGER_CACHE_NUM_SETS,
-            DEFAULT_LOGGER_CACHE_SET_SIZE,
-            existingBufferFactory,
-            DEFAULT_OUTBOUND_LIBRARY_STREAM,
-            new NoOpIdleStrategy(),
-            aeronArchive,
-            errorHandler,
-            DEFAULT_ARCHIVE_REPLAY_STREAM);
+        newReplayQuery(0);
 
         returnBuffer(indexBuffer, SESSION_ID);
         returnBuffer(ByteBuffer.allocate(16 * 1024), SESSION_ID_2);
@@ -269,6 +282,29 @@ public class ReplayIndexTest extends AbstractLogTest
         assertEquals(2, msgCount);
     }
 
+    @Test(timeout = 20_000L)
+    public void shouldQueryFromMiddleOfIndex()
+    {
+        IntStream.rangeClosed(1, 10).forEach(
+            (seqNum) -> indexExampleMessage(SESSION_ID, seqNum, SEQUENCE_INDEX));
+
+        final int msgCount = query(6, SEQUENCE_INDEX, 8, SEQUENCE_INDEX);
+
+        assertEquals(3, msgCount);
+        verifyMessagesRead(3);
+    }
+
+    @Test(timeout = 20_000L)
+    public void shouldQueryRepeatedlyWithRecycledRanges()
+    {
+        IntStream.rangeClosed(1, 3).forEach(
+            (seqNum) -> indexExampleMessage(SESSION_ID, seqNum, SEQUENCE_INDEX));
+
+        assertEquals(1, query(1, SEQUENCE_INDEX, 1, SEQUENCE_INDEX));
+        assertEquals(2, query(2, SEQUENCE_INDEX, 3, SEQUENCE_INDEX));
+        assertEquals(3, query(1, SEQUENCE_INDEX, MOST_RECENT_MESSAGE, SEQUENCE_INDEX));
+    }
+
     @Test //(timeout = 20_000L)
     public void shouldNotStopIndexingWhenBufferFull()
     {
@@ -288,6 +324,139 @@ public class ReplayIndexTest extends AbstractLogTest
         verifyMessagesRead(expectedMessages);
     }
 
+    @Test
+    public void shouldQueryRecordsRolledIntoSegments()
+    {
+        final File segmentFile = segmentFile();
+        when(existingBufferFactory.map(segmentFile)).thenAnswer(
+            (inv) -> LoggerUtil.mapExistingFile(segmentFile));
+
+        try
+        {
+            final int recordsAfterWrap = 10;
+            indexRecordsRolledIntoSegment(recordsAfterWrap);
+
+            // the first 10 records have been overwritten in the index file and are only in the segment
+            final int endSequenceNumber = 2 * recordsAfterWrap;
+            final int msgCount = query(1, SEQUENCE_INDEX, endSequenceNumber, SEQUENCE_INDEX);
+
+            assertTrue(segmentFile.exists());
+            assertFalse(segmentTempFile().exists());
+            assertEquals(endSequenceNumber, msgCount);
+            verifyMessagesRead(endSequenceNumber);
+        }
+        finally
+        {
+            IoUtil.deleteIfExists(segmentFile);
+        }
+    }
+
+    @Test
+    public void shouldSkipSegmentsDeletedWhileBeingQueried()
+    {
+        final File segmentFile = segmentFile();
+        when(existingBufferFactory.map(segmentFile)).thenAnswer(
+            (inv) ->
+            {
+                // Simulates the indexer expiring the segment after the query has found it.
+                IoUtil.delete(segmentFile, false);
+                return LoggerUtil.mapExistingFile(segmentFile);
+            });
+
+        try
+        {
+            final int recordsAfterWrap = 10;
+            indexRecordsRolledIntoSegment(recordsAfterWrap);
+
+            final int msgCount = query(1, SEQUENCE_INDEX, 2 * recordsAfterWrap, SEQUENCE_INDEX);
+
+            assertEquals(recordsAfterWrap, msgCount);
+            verify(errorHandler, never()).onError(any());
+        }
+        finally
+        {
+            IoUtil.deleteIfExists(segmentFile);
+        }
+    }
+
+    @Test
+    public void shouldIndexRecordsWhenRollingASegmentFails()
+    {
+        IoUtil.deleteIfExists(segmentFile());
+        when(newBufferFactory.map(eq(segmentTempFile()), anyInt())).thenThrow(new IllegalStateException("No space"));
+
+        replayIndex.close();
+        newReplayIndex(1);
+        newReplayQuery(1);
+
+        final int recordsAfterWrap = 10;
+        IntStream.rangeClosed(1, totalMessages + recordsAfterWrap).forEach(
+            (seqNum) -> indexExampleMessage(SESSION_ID, seqNum, SEQUENCE_INDEX));
+
+        verify(errorHandler).onError(any(IllegalStateException.class));
+        assertFalse(segmentFile().exists());
+
+        final int msgCount = query(totalMessages + 1, SEQUENCE_INDEX, totalMessages + recordsAfterWrap, SEQUENCE_INDEX);
+        assertEquals(recordsAfterWrap, msgCount);
+    }
+
+    @Test
+    public void shouldDeleteSegmentsOfAResetIndexWhenItIsOpened() throws IOException
+    {
+        final File segmentFile = segmentFile();
+        final File tempFile = segmentTempFile();
+        IoUtil.ensureDirectoryExists(new File(DEFAULT_LOG_FILE_DIR), DEFAULT_LOG_FILE_DIR);
+        IoUtil.deleteIfExists(segmentFile);
+        IoUtil.deleteIfExists(tempFile);
+
+        try
+        {
+            assertTrue(segmentFile.createNewFile());
+            assertTrue(tempFile.createNewFile());
+
+            replayIndex.close();
+            newReplayIndex(1);
+
+            assertFalse(tempFile.exists());
+            assertTrue(segmentFile.exists());
+
+            indexExampleMessage(SESSION_ID, SEQUENCE_NUMBER, SEQUENCE_INDEX);
+
+            assertFalse(segmentFile.exists());
+        }
+        finally
+        {
+            IoUtil.deleteIfExists(segmentFile);
+            IoUtil.deleteIfExists(tempFile);
+        }
+    }
+
+    private void indexRecordsRolledIntoSegment(final int recordsAfterWrap)
+    {
+        final File tempFile = segmentTempFile();
+        IoUtil.deleteIfExists(segmentFile());
+        IoUtil.deleteIfExists(tempFile);
+        when(newBufferFactory.map(eq(tempFile), anyInt())).thenAnswer(
+            (inv) -> LoggerUtil.map(tempFile, (Integer)inv.getArguments()[1]));
+
+        replayIndex.close();
+        newReplayIndex(1);
+        newReplayQuery(1);
+
+        IntStream.rangeClosed(1, totalMessages + recordsAfterWrap).forEach(
+            (seqNum) -> indexExampleMessage(SESSION_ID, seqNum, SEQUENCE_INDEX));
+    }
+
+    private File segmentFile()
+    {
+        return ReplayIndexDescriptor.replayIndexSegmentFile(DEFAULT_LOG_FILE_DIR, SESSION_ID, STREAM_ID, 0);
+    }
+
+    private File segmentTempFile()
+    {
+        return ReplayIndexDescriptor.replayIndexSegmentTempFile(DEFAULT_LOG_FILE_DIR, SESSION_ID, STREAM_ID, 0);
+    }
+
     @Test(timeout = 20_000L)
     public void shouldUpdatePositionForIndexedRecord()
     {
@@ -313,6 +313,68 @@ public class SequenceNumberIndexTest extends AbstractLogTest
         assertUnknownSession();
     }
 
+    @Test
+    public void shouldFindSessionIndexedAfterAnEarlierLookupMissed()
+    {
+        indexFixMessage();
+        assertLastKnownSequenceNumberIs(SESSION_ID_2, SessionInfo.UNK_SESSION);
+
+        bufferContainsExampleMessage(true, SESSION_ID_2, SEQUENCE_NUMBER, SEQUENCE_INDEX);
+        indexRecord();
+
+        assertLastKnownSequenceNumberIs(SESSION_ID_2, SEQUENCE_NUMBER);
+        assertLastKnownSequenceNumberIs(SESSION_ID, SEQUENCE_NUMBER);
+    }
+
+    @Test
+    public void shouldFindSessionsIndexedAfterSequenceNumbersReset()
+    {
+        indexFixMessage();
+        assertLastKnownSequenceNumberIs(SESSION_ID, SEQUENCE_NUMBER);
+
+        writer.resetSequenceNumbers();
+        assertUnknownSession();
+
+        bufferContainsExampleMessage(true, SESSION_ID_2, SEQUENCE_NUMBER, SEQUENCE_INDEX);
+        indexRecord();
+
+        assertLastKnownSequenceNumberIs(SESSION_ID_2, SEQUENCE_NUMBER);
+        assertUnknownSession();
+    }
+
+    @Test
+    public void shouldFindUncachedSessionIndexedAfterSequenceNumbersReset()
+    {
+        indexFixMessage();
+        assertLastKnownSequenceNumberIs(SESSION_ID, SEQUENCE_NUMBER);
+
+        writer.resetSequenceNumbers();
+
+        bufferContainsExampleMessage(true, SESSION_ID_2, SEQUENCE_NUMBER, SEQUENCE_INDEX);
+        indexRecord();
+
+        assertLastKnownSequenceNumberIs(SESSION_ID_2, SEQUENCE_NUMBER);
+        assertUnknownSession();
+    }
+
+    @Test
+    public void shouldNotRescanIndexFromStartWhenLookingUpUnknownSessions()
+    {
+        indexFixMessage();
+        assertLastKnownSequenceNumberIs(SESSION_ID, SEQUENCE_NUMBER);
+
+        // Rewrite the already scanned record behind the reader's back, without a reset, so that it can only be
+        // found by rescanning the index from its start.
+        final long rewrittenSessionId = 1_000;
+        inMemoryBuffer.putLong(HEADER_SIZE, rewrittenSessionId);
+
+        for (long unknownSessionId = SESSION_ID_2; unknownSessionId < rewrittenSessionId; unknownSessionId++)
+        {
+            assertLastKnownSequenceNumberIs(unknownSessionId, SessionInfo.UNK_SESSION);
+        }
+        assertLastKnownSequenceNumberIs(rewrittenSessionId, SessionInfo.UNK_SESSION);
+    }
+
     private SequenceNumberIndexReader newInstanceAfterRestart()
     {
         final AtomicBuffer inMemoryBuffer = newBuffer();
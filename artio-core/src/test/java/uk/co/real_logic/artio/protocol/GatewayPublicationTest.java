@@ -0,0 +1,163 @@
+/*
+ * Copyright 2015-2018 Real Logic Ltd, Adaptive Financial Consulting Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.protocol;
+
+import io.aeron.Aeron;
+import io.aeron.ChannelUriStringBuilder;
+import io.aeron.ExclusivePublication;
+import io.aeron.Subscription;
+import io.aeron.driver.MediaDriver;
+import io.aeron.logbuffer.FragmentHandler;
+import org.agrona.CloseHelper;
+import org.agrona.collections.IntArrayList;
+import org.agrona.concurrent.NoOpIdleStrategy;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.agrona.concurrent.status.AtomicCounter;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import uk.co.real_logic.artio.Clock;
+import uk.co.real_logic.artio.messages.FixMessageDecoder;
+import uk.co.real_logic.artio.messages.MessageHeaderDecoder;
+import uk.co.real_logic.artio.messages.MessageHeaderEncoder;
+
+import static io.aeron.protocol.DataHeaderFlyweight.HEADER_LENGTH;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static uk.co.real_logic.artio.TestFixtures.launchJustMediaDriver;
+import static uk.co.real_logic.artio.messages.MessageStatus.OK;
+
+public class GatewayPublicationTest
+{
+    private static final int STREAM_ID = 1;
+    private static final int TERM_LENGTH = 64 * 1024;
+    private static final int ALIGNED_FRAME_LENGTH = 256;
+    private static final int BODY_LENGTH =
+        ALIGNED_FRAME_LENGTH - HEADER_LENGTH - MessageHeaderEncoder.ENCODED_LENGTH - GatewayPublication.FRAME_SIZE;
+    private static final int MAX_CLAIM_ATTEMPTS = 10;
+
+    private final MediaDriver mediaDriver = launchJustMediaDriver();
+    private final AtomicCounter fails = mock(AtomicCounter.class);
+    private final UnsafeBuffer body = new UnsafeBuffer(new byte[BODY_LENGTH]);
+    private final MessageHeaderDecoder messageHeader = new MessageHeaderDecoder();
+    private final FixMessageDecoder fixMessage = new FixMessageDecoder();
+    private final IntArrayList receivedSequenceNumbers = new IntArrayList();
+    private final FragmentHandler onFixMessage = (buffer, offset, length, header) ->
+    {
+        messageHeader.wrap(buffer, offset);
+        assertEquals(FixMessageDecoder.TEMPLATE_ID, messageHeader.templateId());
+        fixMessage.wrap(
+            buffer, offset + MessageHeaderDecoder.ENCODED_LENGTH, messageHeader.blockLength(), messageHeader.version());
+        assertEquals(BODY_LENGTH, fixMessage.bodyLength());
+        receivedSequenceNumbers.addInt(fixMessage.sequenceNumber());
+    };
+
+    private Aeron aeron;
+    private Subscription subscription;
+    private ExclusivePublication dataPublication;
+    private GatewayPublication publication;
+
+    @Before
+    public void setUp()
+    {
+        aeron = Aeron.connect();
+        final String channel = new ChannelUriStringBuilder().media("ipc").termLength(TERM_LENGTH).build();
+        subscription = aeron.addSubscription(channel, STREAM_ID);
+        dataPublication = aeron.addExclusivePublication(channel, STREAM_ID);
+        while (!dataPublication.isConnected())
+        {
+            Thread.yield();
+        }
+
+        publication = new GatewayPublication(
+            dataPublication, fails, new NoOpIdleStrategy(), Clock.systemNanoTime(), MAX_CLAIM_ATTEMPTS);
+    }
+
+    @After
+    public void tearDown()
+    {
+        CloseHelper.close(aeron);
+        CloseHelper.close(mediaDriver);
+
+        Mockito.framework().clearInlineMocks();
+    }
+
+    @Test
+    public void shouldPublishBatchesThatExactlyFillATerm()
+    {
+        final int messagesPerTerm = TERM_LENGTH / ALIGNED_FRAME_LENGTH;
+        final int messagesPerBatch = 8;
+        assertEquals(0, messagesPerTerm % messagesPerBatch);
+
+        publishAndReceiveBatches(messagesPerBatch, 2 * messagesPerTerm / messagesPerBatch + 1);
+    }
+
+    @Test
+    public void shouldPadTheEndOfATermThatABatchDoesNotFitIn()
+    {
+        final int messagesPerTerm = TERM_LENGTH / ALIGNED_FRAME_LENGTH;
+        final int messagesPerBatch = 10;
+        assertTrue(messagesPerTerm % messagesPerBatch != 0);
+
+        publishAndReceiveBatches(messagesPerBatch, 2 * messagesPerTerm / messagesPerBatch + 1);
+    }
+
+    private void publishAndReceiveBatches(final int messagesPerBatch, final int batches)
+    {
+        int sequenceNumber = 0;
+        for (int batch = 0; batch < batches; batch++)
+        {
+            for (int i = 0; i < messagesPerBatch; i++)
+            {
+                sequenceNumber++;
+                assertTrue(publication.batchMessage(
+                    body, 0, BODY_LENGTH, 1, 'D', 1L, 0, 1L, OK, sequenceNumber, 0L));
+            }
+
+            awaitWindowFor(messagesPerBatch * ALIGNED_FRAME_LENGTH);
+            assertTrue(publication.flushBatch() > 0);
+            assertFalse(publication.hasBatchedMessages());
+
+            int fragmentsRead;
+            do
+            {
+                fragmentsRead = subscription.poll(onFixMessage, Integer.MAX_VALUE);
+            }
+            while (fragmentsRead > 0);
+        }
+
+        verify(fails, never()).increment();
+        assertEquals(sequenceNumber, receivedSequenceNumbers.size());
+        for (int i = 0; i < sequenceNumber; i++)
+        {
+            assertEquals(i + 1, receivedSequenceNumbers.getInt(i));
+        }
+    }
+
+    // Any back pressure would count as a failed claim, so wait for the media driver to move the limit on.
+    private void awaitWindowFor(final int length)
+    {
+        while (dataPublication.positionLimit() - dataPublication.position() < 2 * length)
+        {
+            Thread.yield();
+        }
+    }
+}
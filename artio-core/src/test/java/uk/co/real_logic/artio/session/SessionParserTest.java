@@ -32,6 +32,8 @@ import static uk.co.real_logic.artio.dictionary.generation.CodecUtil.MISSING_INT
 
 public class SessionParserTest
 {
+    private static final long SENDING_TIME_IN_MS = 1237822829000L;
+
     private Session mockSession = mock(Session.class);
     private AuthenticationStrategy mockAuthenticationStrategy = mock(AuthenticationStrategy.class);
     private MessageValidationStrategy validationStrategy = MessageValidationStrategy.targetCompId("das");
@@ -92,6 +94,42 @@ public class SessionParserTest
         verify(mockSession, never()).onInvalidMessageType(anyInt(), any(), anyInt());
     }
 
+    @Test
+    public void shouldScanHeaderOfApplicationMessageWithoutValidatingIt()
+    {
+        final SessionParser parser = new SessionParser(
+            mockSession, MessageValidationStrategy.none(), null, FixDictionary.of(FixDictionary.findDefault()));
+        final UnsafeBuffer buffer = bufferOf(
+            "8=FIX.4.2\0019=146\00135=D\00134=4\00143=Y\00149=abc\001" +
+            "52=20090323-15:40:29\00156=das\001122=20090323-15:40:28\00111=NF 0542/03232009\00154=1\001" +
+            "38=100\00155=CVS\00140=1\00159=0\00147=A\00160=20090323-15:40:29\00121=1\001207=N\00110=195\001");
+
+        parser.onMessage(buffer, 0, buffer.capacity(), 'D', 1);
+
+        verify(mockSession).onMessage(
+            eq(4),
+            any(char[].class),
+            eq(1),
+            eq(SENDING_TIME_IN_MS),
+            eq(SENDING_TIME_IN_MS - 1000),
+            eq(true),
+            eq(true));
+    }
+
+    @Test
+    public void shouldFallBackToDecodingHeaderWhenScanningFindsNoMsgSeqNum()
+    {
+        final SessionParser parser = new SessionParser(
+            mockSession, MessageValidationStrategy.none(), null, FixDictionary.of(FixDictionary.findDefault()));
+        final UnsafeBuffer buffer = bufferOf(
+            "8=FIX.4.4\00135=B\00149=abc\00152=00000101-00:00:00.000\00156=das\001");
+
+        parser.onMessage(buffer, 0, buffer.capacity(), 'B', 1);
+
+        verify(mockSession).onMessage(
+            eq(MISSING_INT), any(), anyInt(), anyLong(), anyLong(), eq(false), eq(false));
+    }
+
     private UnsafeBuffer bufferOf(final String str)
     {
         return new UnsafeBuffer(str.getBytes(US_ASCII));
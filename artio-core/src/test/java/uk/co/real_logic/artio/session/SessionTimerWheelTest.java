@@ -0,0 +1,120 @@
+/*
+ * Copyright 2015-2019 Real Logic Ltd, Adaptive Financial Consulting Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.session;
+
+import org.agrona.concurrent.status.AtomicCounter;
+import org.junit.Test;
+import uk.co.real_logic.artio.Constants;
+import uk.co.real_logic.artio.engine.framer.FakeEpochClock;
+import uk.co.real_logic.artio.protocol.GatewayPublication;
+import uk.co.real_logic.artio.util.MutableAsciiBuffer;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.*;
+import static uk.co.real_logic.artio.CommonConfiguration.DEFAULT_SESSION_BUFFER_SIZE;
+import static uk.co.real_logic.artio.engine.EngineConfiguration.DEFAULT_REASONABLE_TRANSMISSION_TIME_IN_MS;
+import static uk.co.real_logic.artio.library.SessionConfiguration.DEFAULT_ENABLE_LAST_MSG_SEQ_NUM_PROCESSED;
+import static uk.co.real_logic.artio.messages.SessionState.ACTIVE;
+import static uk.co.real_logic.artio.messages.SessionState.LOGGING_OUT;
+
+public class SessionTimerWheelTest
+{
+    private static final int HEARTBEAT_INTERVAL_IN_S = 2;
+    // Heartbeats are sent at 80% of the interval
+    private static final long HEARTBEAT_DEADLINE_IN_MS = 1600;
+
+    private final DirectSessionProxy sessionProxy = mock(DirectSessionProxy.class);
+    private final FakeEpochClock clock = new FakeEpochClock();
+    private final SessionTimerWheel timerWheel = new SessionTimerWheel(clock.time());
+    private final AcceptorSession session = new AcceptorSession(
+        HEARTBEAT_INTERVAL_IN_S,
+        1L,
+        clock,
+        sessionProxy,
+        mock(GatewayPublication.class),
+        mock(SessionIdStrategy.class),
+        2000,
+        mock(AtomicCounter.class),
+        mock(AtomicCounter.class),
+        1,
+        1,
+        0,
+        ACTIVE,
+        DEFAULT_REASONABLE_TRANSMISSION_TIME_IN_MS,
+        new MutableAsciiBuffer(new byte[DEFAULT_SESSION_BUFFER_SIZE]),
+        DEFAULT_ENABLE_LAST_MSG_SEQ_NUM_PROCESSED,
+        Constants.VERSION);
+
+    @Test
+    public void shouldNotPollSessionBeforeItsDeadline()
+    {
+        timerWheel.add(session);
+
+        advanceAndPoll(HEARTBEAT_DEADLINE_IN_MS - 1);
+
+        verify(sessionProxy, never()).sendHeartbeat(anyInt(), anyInt(), anyInt());
+    }
+
+    @Test
+    public void shouldPollSessionWhenHeartbeatIsDue()
+    {
+        timerWheel.add(session);
+
+        assertEquals(1, advanceAndPoll(HEARTBEAT_DEADLINE_IN_MS));
+
+        verify(sessionProxy).sendHeartbeat(anyInt(), anyInt(), anyInt());
+    }
+
+    @Test
+    public void shouldRescheduleSessionAfterItHasBeenPolled()
+    {
+        timerWheel.add(session);
+
+        advanceAndPoll(HEARTBEAT_DEADLINE_IN_MS);
+        advanceAndPoll(HEARTBEAT_DEADLINE_IN_MS);
+
+        verify(sessionProxy, times(2)).sendHeartbeat(anyInt(), anyInt(), anyInt());
+    }
+
+    @Test
+    public void shouldPollSessionImmediatelyWhenItStartsLoggingOut()
+    {
+        timerWheel.add(session);
+
+        session.state(LOGGING_OUT);
+        advanceAndPoll(1);
+
+        verify(sessionProxy).sendLogout(anyInt(), anyInt(), anyInt());
+    }
+
+    @Test
+    public void shouldNotPollRemovedSession()
+    {
+        timerWheel.add(session);
+        timerWheel.remove(session);
+
+        session.state(LOGGING_OUT);
+        advanceAndPoll(HEARTBEAT_DEADLINE_IN_MS);
+
+        verify(sessionProxy, never()).sendLogout(anyInt(), anyInt(), anyInt());
+    }
+
+    private int advanceAndPoll(final long timeInMs)
+    {
+        clock.advanceMilliSeconds(timeInMs);
+        return timerWheel.poll(clock.time());
+    }
+}
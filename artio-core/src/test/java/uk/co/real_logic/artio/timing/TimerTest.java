@@ -0,0 +1,91 @@
+/*
+ * Copyright 2015-2019 Real Logic Ltd, Adaptive Financial Consulting Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.timing;
+
+import org.junit.Test;
+import uk.co.real_logic.artio.Clock;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TimerTest
+{
+    private final Clock clock = mock(Clock.class);
+    private final Timer parent = new Timer(clock, "Parent", 1);
+    private final Timer timer = new Timer(clock, "Child", 2, parent);
+
+    @Test
+    public void shouldReportPercentilesOfRecordedTimings()
+    {
+        timer.enabled(true);
+        recordTimings();
+
+        assertEquals(10, timer.valueAtPercentile(50));
+        assertEquals(100, timer.valueAtPercentile(100));
+        assertEquals(3, timer.snapshot().getTotalCount());
+    }
+
+    @Test
+    public void shouldRecordTimingsIntoParentTimer()
+    {
+        timer.enabled(true);
+        recordTimings();
+
+        assertEquals(3, parent.snapshot().getTotalCount());
+        assertEquals(100, parent.valueAtPercentile(100));
+    }
+
+    @Test
+    public void shouldNotRecordTimingsWhenDisabled()
+    {
+        timer.enabled(false);
+
+        assertEquals(0, timer.recordSince(0));
+        assertEquals(0, timer.snapshot().getTotalCount());
+    }
+
+    @Test
+    public void shouldKeepTimingsForQueriesAfterLoggingThem()
+    {
+        timer.enabled(true);
+        recordTimings();
+
+        assertEquals(3, timer.getTimings().getTotalCount());
+        assertEquals(0, timer.getTimings().getTotalCount());
+        assertEquals(3, timer.snapshot().getTotalCount());
+    }
+
+    @Test
+    public void shouldDiscardTimingsForQueriesWhenReset()
+    {
+        timer.enabled(true);
+        recordTimings();
+
+        timer.reset();
+
+        assertEquals(0, timer.snapshot().getTotalCount());
+        assertEquals(3, timer.getTimings().getTotalCount());
+    }
+
+    private void recordTimings()
+    {
+        when(clock.time()).thenReturn(11L, 12L, 200L);
+        timer.recordSince(10);
+        timer.recordSince(2);
+        timer.recordSince(100);
+    }
+}
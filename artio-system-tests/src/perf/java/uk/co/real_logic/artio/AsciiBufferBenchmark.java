@@ -0,0 +1,137 @@
+/*
+ * Copyright 2015-2019 Real Logic Ltd, Adaptive Financial Consulting Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio;
+
+import org.agrona.concurrent.UnsafeBuffer;
+import org.openjdk.jmh.annotations.*;
+import uk.co.real_logic.artio.util.MutableAsciiBuffer;
+
+import java.util.concurrent.TimeUnit;
+
+import static uk.co.real_logic.artio.dictionary.SessionConstants.START_OF_HEADER;
+
+/**
+ * Compares the word at a time scanning and checksumming of {@link MutableAsciiBuffer} with a byte at a time loop.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class AsciiBufferBenchmark
+{
+    // Deliberately not static/final
+    private UnsafeBuffer data = TestData.NEW_ORDER_SINGLE;
+    private MutableAsciiBuffer buffer;
+    private int end;
+    private int startOfChecksumTag;
+
+    @Setup
+    public void setup()
+    {
+        buffer = new MutableAsciiBuffer(data);
+        end = data.capacity() - 1;
+        startOfChecksumTag = end - "10=194".length();
+    }
+
+    @Benchmark
+    public int scanForLastSeparator()
+    {
+        return buffer.scan(startOfChecksumTag, end, START_OF_HEADER);
+    }
+
+    @Benchmark
+    public int scanForLastSeparatorByteAtATime()
+    {
+        return scanByteAtATime(data, startOfChecksumTag, end, START_OF_HEADER);
+    }
+
+    @Benchmark
+    public int scanWholeMessageWithoutMatch()
+    {
+        return buffer.scan(0, end, (byte)'Z');
+    }
+
+    @Benchmark
+    public int scanWholeMessageWithoutMatchByteAtATime()
+    {
+        return scanByteAtATime(data, 0, end, (byte)'Z');
+    }
+
+    @Benchmark
+    public int scanBackToBeginString()
+    {
+        return buffer.scanBack(end, 0, (byte)'8');
+    }
+
+    @Benchmark
+    public int scanBackToBeginStringByteAtATime()
+    {
+        return scanBackByteAtATime(data, end, 0, (byte)'8');
+    }
+
+    @Benchmark
+    public int computeChecksum()
+    {
+        return buffer.computeChecksum(0, startOfChecksumTag);
+    }
+
+    @Benchmark
+    public int computeChecksumByteAtATime()
+    {
+        return computeChecksumByteAtATime(data, 0, startOfChecksumTag);
+    }
+
+    private static int scanByteAtATime(
+        final UnsafeBuffer buffer, final int startInclusive, final int endInclusive, final byte terminator)
+    {
+        for (int i = startInclusive; i <= endInclusive; i++)
+        {
+            if (buffer.getByte(i) == terminator)
+            {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private static int scanBackByteAtATime(
+        final UnsafeBuffer buffer, final int startInclusive, final int endExclusive, final byte terminator)
+    {
+        for (int i = startInclusive; i >= endExclusive; i--)
+        {
+            if (buffer.getByte(i) == terminator)
+            {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private static int computeChecksumByteAtATime(final UnsafeBuffer buffer, final int offset, final int end)
+    {
+        int total = 0;
+        for (int i = offset; i < end; i++)
+        {
+            total += buffer.getByte(i);
+        }
+
+        return total % 256;
+    }
+}
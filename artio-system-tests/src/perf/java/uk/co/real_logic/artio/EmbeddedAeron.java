@@ -0,0 +1,125 @@
+/*
+ * Copyright 2015-2019 Real Logic Ltd, Adaptive Financial Consulting Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio;
+
+import io.aeron.Aeron;
+import io.aeron.Subscription;
+import io.aeron.archive.Archive;
+import io.aeron.archive.ArchivingMediaDriver;
+import io.aeron.archive.client.AeronArchive;
+import io.aeron.driver.MediaDriver;
+import io.aeron.driver.ThreadingMode;
+import org.agrona.CloseHelper;
+import org.agrona.IoUtil;
+import org.agrona.concurrent.BackoffIdleStrategy;
+import org.agrona.concurrent.BusySpinIdleStrategy;
+import uk.co.real_logic.artio.protocol.GatewayPublication;
+
+import java.io.File;
+
+import static io.aeron.CommonContext.IPC_CHANNEL;
+import static uk.co.real_logic.artio.CommonConfiguration.DEFAULT_INBOUND_MAX_CLAIM_ATTEMPTS;
+
+/**
+ * An embedded archiving media driver for benchmarking engine components in isolation. Publications are all over
+ * IPC, so nothing goes over the network and the cost of a component is only that of writing to the log buffers.
+ *
+ * Each instance has its own directory, so benchmarks don't conflict with a media driver that is already running.
+ */
+public final class EmbeddedAeron implements AutoCloseable
+{
+    private static final int IPC_TERM_BUFFER_LENGTH = 16 * 1024 * 1024;
+
+    private final InMemoryCounters counters = new InMemoryCounters();
+    private final File directory;
+    private final ArchivingMediaDriver mediaDriver;
+    private final Aeron aeron;
+
+    private AeronArchive aeronArchive;
+
+    public EmbeddedAeron()
+    {
+        directory = new File(IoUtil.tmpDirName(), "artio-benchmark-" + System.nanoTime());
+        final String aeronDirectoryName = new File(directory, "aeron").getAbsolutePath();
+
+        final MediaDriver.Context driverContext = new MediaDriver.Context()
+            .aeronDirectoryName(aeronDirectoryName)
+            .dirDeleteOnStart(true)
+            .threadingMode(ThreadingMode.SHARED)
+            .sharedIdleStrategy(new BackoffIdleStrategy(1, 1, 1_000, 1_000_000))
+            .termBufferSparseFile(true)
+            .ipcTermBufferLength(IPC_TERM_BUFFER_LENGTH);
+
+        final Archive.Context archiveContext = new Archive.Context()
+            .aeronDirectoryName(aeronDirectoryName)
+            .archiveDir(new File(directory, "archive"))
+            .deleteArchiveOnStart(true);
+
+        mediaDriver = ArchivingMediaDriver.launch(driverContext, archiveContext);
+        aeron = Aeron.connect(new Aeron.Context().aeronDirectoryName(aeronDirectoryName));
+    }
+
+    public Aeron aeron()
+    {
+        return aeron;
+    }
+
+    public AeronArchive aeronArchive()
+    {
+        if (aeronArchive == null)
+        {
+            aeronArchive = AeronArchive.connect(new AeronArchive.Context().aeron(aeron));
+        }
+
+        return aeronArchive;
+    }
+
+    public GatewayPublication newGatewayPublication(final int streamId)
+    {
+        return new GatewayPublication(
+            aeron.addExclusivePublication(IPC_CHANNEL, streamId),
+            counters.newCounter("claim failures"),
+            new BusySpinIdleStrategy(),
+            Clock.systemNanoTime(),
+            DEFAULT_INBOUND_MAX_CLAIM_ATTEMPTS);
+    }
+
+    /**
+     * Wait for a subscription to connect to its publication, as IPC publications are back-pressured until then.
+     *
+     * @param subscription the subscription to wait for.
+     */
+    public static void awaitConnected(final Subscription subscription)
+    {
+        while (!subscription.isConnected())
+        {
+            Thread.yield();
+        }
+    }
+
+    public InMemoryCounters counters()
+    {
+        return counters;
+    }
+
+    public void close()
+    {
+        CloseHelper.close(aeronArchive);
+        CloseHelper.close(aeron);
+        CloseHelper.close(mediaDriver);
+        IoUtil.delete(directory, true);
+    }
+}
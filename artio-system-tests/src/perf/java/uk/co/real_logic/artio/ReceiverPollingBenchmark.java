@@ -0,0 +1,172 @@
+/*
+ * Copyright 2015-2017 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio;
+
+import org.agrona.nio.TransportPoller;
+import org.openjdk.jmh.annotations.*;
+import uk.co.real_logic.artio.dictionary.generation.Exceptions;
+import uk.co.real_logic.artio.engine.framer.ReceiverPollingMode;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+import static java.net.StandardSocketOptions.TCP_NODELAY;
+import static java.nio.channels.SelectionKey.OP_READ;
+
+/**
+ * Compares the cost of finding and reading the connections that have data using each {@link ReceiverPollingMode}
+ * when only a few connections out of many are active, as is typical of a FIX acceptor.
+ *
+ * Each invocation writes a message to {@link #ACTIVE_CONNECTIONS} connections and then polls the receiving end of
+ * every connection until all of the messages have been read. The benchmark uses loopback sockets, so running with
+ * 10,000 connections needs an open file limit above 20,000 (eg: ulimit -n 32768).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ReceiverPollingBenchmark
+{
+    private static final int ACTIVE_CONNECTIONS = 10;
+
+    @Param({ "10", "1000", "10000" })
+    private int connections;
+
+    @Param({ "HYBRID", "SELECTOR", "SPIN" })
+    private ReceiverPollingMode mode;
+
+    private final ByteBuffer writeBuffer = ByteBuffer.allocateDirect(TestData.LOGON.capacity());
+    private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(64 * 1024);
+
+    private ServerSocketChannel serverChannel;
+    private Selector selector;
+    private SocketChannel[] senders;
+    private SocketChannel[] receivers;
+    private int nextSender = 0;
+
+    @Setup
+    public void setup() throws IOException
+    {
+        TestData.LOGON.getBytes(0, writeBuffer, writeBuffer.capacity());
+
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), connections);
+        selector = Selector.open();
+        senders = new SocketChannel[connections];
+        receivers = new SocketChannel[connections];
+
+        for (int i = 0; i < connections; i++)
+        {
+            final SocketChannel sender = SocketChannel.open(serverChannel.getLocalAddress());
+            sender.setOption(TCP_NODELAY, true);
+            senders[i] = sender;
+
+            final SocketChannel receiver = serverChannel.accept();
+            receiver.configureBlocking(false);
+            receiver.setOption(TCP_NODELAY, true);
+            receiver.register(selector, OP_READ);
+            receivers[i] = receiver;
+        }
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        Exceptions.closeAll(senders);
+        Exceptions.closeAll(receivers);
+        Exceptions.closeAll(selector, serverChannel);
+    }
+
+    @Benchmark
+    public int pollActiveConnections() throws IOException
+    {
+        final int activeConnections = Math.min(ACTIVE_CONNECTIONS, connections);
+        final int expectedBytes = activeConnections * writeBuffer.capacity();
+        for (int i = 0; i < activeConnections; i++)
+        {
+            writeBuffer.clear();
+            senders[nextSender].write(writeBuffer);
+            nextSender = nextSender + 1 < connections ? nextSender + 1 : 0;
+        }
+
+        int bytesReceived = 0;
+        int polls = 0;
+        while (bytesReceived < expectedBytes)
+        {
+            bytesReceived += poll();
+            polls++;
+        }
+
+        return polls;
+    }
+
+    private int poll() throws IOException
+    {
+        switch (mode)
+        {
+            case SELECTOR:
+                return pollSelector();
+
+            case SPIN:
+                return pollAll();
+
+            default:
+                return connections <= TransportPoller.ITERATION_THRESHOLD ? pollAll() : pollSelector();
+        }
+    }
+
+    private int pollAll() throws IOException
+    {
+        int bytesReceived = 0;
+        final SocketChannel[] receivers = this.receivers;
+        for (int i = 0, length = receivers.length; i < length; i++)
+        {
+            bytesReceived += read(receivers[i]);
+        }
+
+        return bytesReceived;
+    }
+
+    private int pollSelector() throws IOException
+    {
+        int bytesReceived = 0;
+        selector.selectNow();
+        final Iterator<SelectionKey> it = selector.selectedKeys().iterator();
+        while (it.hasNext())
+        {
+            bytesReceived += read((SocketChannel)it.next().channel());
+            it.remove();
+        }
+
+        return bytesReceived;
+    }
+
+    private int read(final SocketChannel channel) throws IOException
+    {
+        readBuffer.clear();
+        return Math.max(0, channel.read(readBuffer));
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2015-2017 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import uk.co.real_logic.artio.decoder.LogonDecoder;
+import uk.co.real_logic.artio.util.AsciiBuffer;
+import uk.co.real_logic.artio.util.MutableAsciiBuffer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares decoding the same message repeatedly with and without tag order prediction, see
+ * {@link uk.co.real_logic.artio.dictionary.TagOrderPredictor}. Prediction is a static setting, so each benchmark
+ * runs in a fork with the property set accordingly.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class TagOrderPredictionBenchmark
+{
+    private LogonDecoder logonDecoder = new LogonDecoder();
+    private AsciiBuffer buffer = new MutableAsciiBuffer(TestData.LOGON);
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = {
+        "-Dfix.codecs.no_validation=true", "-Dfix.codecs.tag_order_prediction=false" })
+    public void decodeLogonWithoutPrediction(final Blackhole bh)
+    {
+        decodeLogon(bh);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = {
+        "-Dfix.codecs.no_validation=true", "-Dfix.codecs.tag_order_prediction=true" })
+    public void decodeLogonWithPrediction(final Blackhole bh)
+    {
+        decodeLogon(bh);
+    }
+
+    private void decodeLogon(final Blackhole bh)
+    {
+        bh.consume(logonDecoder.decode(buffer, 0, buffer.capacity()));
+        bh.consume(logonDecoder.header().msgSeqNum());
+        bh.consume(logonDecoder.heartBtInt());
+    }
+}
@@ -31,4 +31,25 @@ public final class TestData
         ("8=FIX.4.4\0019=0103\00135=A\00149=ABC_DEFG01\00156=CCG\00134=10\001" +
         "52=20150514-15:57:31.336\00198=0\001108=10\001383=512\001553=username" +
         "\001554=password\00110=243\001").getBytes(StandardCharsets.US_ASCII));
+
+    /**
+     * Frame the body of a message with a header and trailer that have the correct body length and checksum, as
+     * required by the engine's framing.
+     *
+     * @param beginString the value of the BeginString field.
+     * @param body the fields after BodyLength, including the final separator.
+     * @return the framed message.
+     */
+    public static byte[] frame(final String beginString, final String body)
+    {
+        final String headerAndBody = "8=" + beginString + "\0019=" + body.length() + "\001" + body;
+
+        int checksum = 0;
+        for (int i = 0; i < headerAndBody.length(); i++)
+        {
+            checksum += headerAndBody.charAt(i);
+        }
+
+        return String.format("%s10=%03d\001", headerAndBody, checksum & 0xFF).getBytes(StandardCharsets.US_ASCII);
+    }
 }
@@ -21,6 +21,8 @@ import uk.co.real_logic.artio.fields.UtcTimestampEncoder;
 
 import java.util.concurrent.TimeUnit;
 
+import static uk.co.real_logic.artio.fields.UtcTimestampEncoder.EpochFractionFormat.NANOSECONDS;
+
 @State(Scope.Benchmark)
 @BenchmarkMode(Mode.AverageTime)
 @OutputTimeUnit(TimeUnit.NANOSECONDS)
@@ -29,12 +31,21 @@ import java.util.concurrent.TimeUnit;
 @Fork(1)
 public class TimestampEncoderBenchmark
 {
+    // Consecutive messages a microsecond apart, so most updates are within the same second
+    private static final long NANOS_BETWEEN_MESSAGES = 1_000;
+
     private UtcTimestampEncoder timestampEncoder = new UtcTimestampEncoder();
+    private UtcTimestampEncoder nanoTimestampEncoder = new UtcTimestampEncoder(NANOSECONDS);
+    private long epochNanos;
 
     @Setup
     public void initialiseTimestamp()
     {
-        timestampEncoder.initialise(System.currentTimeMillis());
+        final long epochMillis = System.currentTimeMillis();
+        timestampEncoder.initialise(epochMillis);
+
+        epochNanos = TimeUnit.MILLISECONDS.toNanos(epochMillis);
+        nanoTimestampEncoder.initialise(epochNanos);
     }
 
     @Benchmark
@@ -55,6 +66,24 @@ public class TimestampEncoderBenchmark
         bh.consume(timestampEncoder.buffer());
     }
 
+    @Benchmark
+    public void encodeNanoTimestamp(final Blackhole bh)
+    {
+        final UtcTimestampEncoder timestampEncoder = this.nanoTimestampEncoder;
+
+        bh.consume(timestampEncoder.encode(nextEpochNanos()));
+        bh.consume(timestampEncoder.buffer());
+    }
+
+    @Benchmark
+    public void updateNanoTimestamp(final Blackhole bh)
+    {
+        final UtcTimestampEncoder timestampEncoder = this.nanoTimestampEncoder;
+
+        bh.consume(timestampEncoder.update(nextEpochNanos()));
+        bh.consume(timestampEncoder.buffer());
+    }
+
     @Benchmark
     public void noise(final Blackhole bh)
     {
@@ -63,4 +92,9 @@ public class TimestampEncoderBenchmark
         bh.consume(System.currentTimeMillis());
     }
 
+    private long nextEpochNanos()
+    {
+        epochNanos += NANOS_BETWEEN_MESSAGES;
+        return epochNanos;
+    }
 }
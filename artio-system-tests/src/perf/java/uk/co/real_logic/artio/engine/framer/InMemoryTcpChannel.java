@@ -0,0 +1,79 @@
+/*
+ * Copyright 2015-2019 Real Logic Ltd, Adaptive Financial Consulting Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.engine.framer;
+
+import uk.co.real_logic.artio.engine.ByteBufferUtil;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+
+/**
+ * A {@link TcpChannel} stand-in for benchmarks. Reads return the same block of data over and over again and writes
+ * discard everything that they're given, so the engine's framing and sending can be measured without sockets.
+ */
+class InMemoryTcpChannel extends TcpChannel
+{
+    private final ByteBuffer inbound;
+
+    private long bytesWritten;
+
+    InMemoryTcpChannel(final byte[] inbound)
+    {
+        super("in-memory");
+        this.inbound = ByteBuffer.wrap(inbound);
+    }
+
+    public SelectionKey register(final Selector sel, final int ops, final Object att)
+    {
+        return null;
+    }
+
+    public int read(final ByteBuffer dst)
+    {
+        final ByteBuffer inbound = this.inbound;
+        if (!inbound.hasRemaining())
+        {
+            ByteBufferUtil.position(inbound, 0);
+        }
+
+        final int length = Math.min(dst.remaining(), inbound.remaining());
+        final int limit = inbound.limit();
+        ByteBufferUtil.limit(inbound, inbound.position() + length);
+        dst.put(inbound);
+        ByteBufferUtil.limit(inbound, limit);
+
+        return length;
+    }
+
+    public int write(final ByteBuffer src)
+    {
+        final int length = src.remaining();
+        ByteBufferUtil.position(src, src.limit());
+        bytesWritten += length;
+
+        return length;
+    }
+
+    public void close()
+    {
+    }
+
+    long bytesWritten()
+    {
+        return bytesWritten;
+    }
+}
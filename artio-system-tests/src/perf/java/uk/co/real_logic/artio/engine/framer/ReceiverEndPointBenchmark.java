@@ -0,0 +1,184 @@
+/*
+ * Copyright 2015-2019 Real Logic Ltd, Adaptive Financial Consulting Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.engine.framer;
+
+import io.aeron.Subscription;
+import io.aeron.logbuffer.FragmentHandler;
+import org.agrona.IoUtil;
+import org.agrona.LangUtil;
+import org.openjdk.jmh.annotations.*;
+import uk.co.real_logic.artio.Clock;
+import uk.co.real_logic.artio.EmbeddedAeron;
+import uk.co.real_logic.artio.TestData;
+import uk.co.real_logic.artio.dictionary.FixDictionary;
+import uk.co.real_logic.artio.engine.MappedFile;
+import uk.co.real_logic.artio.messages.ConnectionType;
+import uk.co.real_logic.artio.protocol.GatewayPublication;
+import uk.co.real_logic.artio.session.CompositeKey;
+import uk.co.real_logic.artio.session.SessionIdStrategy;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import static io.aeron.CommonContext.IPC_CHANNEL;
+import static uk.co.real_logic.artio.engine.EngineConfiguration.DEFAULT_SESSION_ID_BUFFER_SIZE;
+import static uk.co.real_logic.artio.engine.FixEngine.ENGINE_LIBRARY_ID;
+
+/**
+ * Measures {@link ReceiverEndPoint#poll()} framing the messages read from an authenticated session's connection and
+ * saving them to the inbound publication, with and without batching.
+ *
+ * Each poll reads {@link #MESSAGES_PER_READ} messages from an {@link InMemoryTcpChannel} and the publication is an
+ * IPC one that is drained after every poll in order to keep it from becoming back-pressured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ReceiverEndPointBenchmark
+{
+    private static final int STREAM_ID = 1;
+    private static final long CONNECTION_ID = 1;
+    private static final int MESSAGES_PER_READ = 10;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Param({ "false", "true" })
+    private boolean batchMessages;
+
+    private final FragmentHandler drainHandler = (buffer, offset, length, header) -> {};
+    private final File directory = new File(IoUtil.tmpDirName(), "ReceiverEndPointBenchmark");
+
+    private EmbeddedAeron embeddedAeron;
+    private Subscription subscription;
+    private MappedFile sessionIdFile;
+    private ReceiverEndPoint receiverEndPoint;
+
+    @Setup
+    public void setup()
+    {
+        IoUtil.delete(directory, true);
+        IoUtil.ensureDirectoryExists(directory, directory.getAbsolutePath());
+
+        embeddedAeron = new EmbeddedAeron();
+        subscription = embeddedAeron.aeron().addSubscription(IPC_CHANNEL, STREAM_ID);
+        final GatewayPublication publication = embeddedAeron.newGatewayPublication(STREAM_ID);
+        EmbeddedAeron.awaitConnected(subscription);
+
+        final SessionIdStrategy idStrategy = SessionIdStrategy.senderAndTarget();
+        sessionIdFile = MappedFile.map(new File(directory, "session-ids"), DEFAULT_SESSION_ID_BUFFER_SIZE);
+        final SessionContexts sessionContexts = new SessionContexts(
+            sessionIdFile, idStrategy, LangUtil::rethrowUnchecked);
+        final CompositeKey sessionKey = idStrategy.onInitiateLogon("ACCEPTOR", "", "", "INITIATOR", "", "");
+        final SessionContext context = sessionContexts.onLogon(sessionKey);
+        final FixDictionary fixDictionary = FixDictionary.of(FixDictionary.findDefault());
+
+        // Only used in order to authenticate connections, which this one doesn't need.
+        final GatewaySessions gatewaySessions = new GatewaySessions(
+            null,
+            publication,
+            idStrategy,
+            null,
+            null,
+            null,
+            null,
+            0,
+            0,
+            0,
+            false,
+            LangUtil::rethrowUnchecked,
+            sessionContexts,
+            null,
+            null,
+            null);
+
+        receiverEndPoint = new ReceiverEndPoint(
+            new InMemoryTcpChannel(newOrderSingles()),
+            BUFFER_SIZE,
+            publication,
+            CONNECTION_ID,
+            context.sessionId(),
+            context.sequenceIndex(),
+            sessionContexts,
+            embeddedAeron.counters().newCounter("messages read"),
+            null,
+            LangUtil::rethrowUnchecked,
+            ENGINE_LIBRARY_ID,
+            gatewaySessions,
+            Clock.systemNanoTime(),
+            fixDictionary,
+            batchMessages);
+
+        receiverEndPoint.gatewaySession(new GatewaySession(
+            CONNECTION_ID,
+            context,
+            "in-memory",
+            ConnectionType.ACCEPTOR,
+            sessionKey,
+            receiverEndPoint,
+            null,
+            null,
+            false,
+            0,
+            false,
+            false,
+            fixDictionary,
+            0));
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        embeddedAeron.close();
+        sessionIdFile.close();
+        IoUtil.delete(directory, true);
+    }
+
+    @Benchmark
+    public int pollMessages()
+    {
+        final int bytesRead = receiverEndPoint.poll();
+        subscription.poll(drainHandler, MESSAGES_PER_READ);
+
+        return bytesRead;
+    }
+
+    private static byte[] newOrderSingles()
+    {
+        final byte[][] messages = new byte[MESSAGES_PER_READ][];
+        int length = 0;
+        for (int i = 0; i < MESSAGES_PER_READ; i++)
+        {
+            messages[i] = TestData.frame(
+                "FIX.4.4",
+                "35=D\u000149=INITIATOR\u000156=ACCEPTOR\u000134=" + (i + 1) + "\u000152=20200101-00:00:00.000" +
+                "\u000111=ORDER" + i + "\u000121=1\u000155=MSFT\u000154=1\u000160=20200101-00:00:00.000" +
+                "\u000138=100\u000140=2\u000144=100.50\u0001");
+            length += messages[i].length;
+        }
+
+        final byte[] data = new byte[length];
+        int offset = 0;
+        for (final byte[] message : messages)
+        {
+            System.arraycopy(message, 0, data, offset, message.length);
+            offset += message.length;
+        }
+
+        return data;
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2015-2019 Real Logic Ltd, Adaptive Financial Consulting Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.engine.framer;
+
+import org.agrona.LangUtil;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.agrona.concurrent.YieldingIdleStrategy;
+import org.openjdk.jmh.annotations.*;
+import uk.co.real_logic.artio.InMemoryCounters;
+import uk.co.real_logic.artio.TestData;
+import uk.co.real_logic.artio.engine.SenderSequenceNumbers;
+
+import java.util.concurrent.TimeUnit;
+
+import static uk.co.real_logic.artio.engine.EngineConfiguration.DEFAULT_SENDER_MAX_BYTES_IN_BUFFER;
+import static uk.co.real_logic.artio.engine.EngineConfiguration.DEFAULT_SLOW_CONSUMER_TIMEOUT_IN_MS;
+import static uk.co.real_logic.artio.engine.FixEngine.ENGINE_LIBRARY_ID;
+
+/**
+ * Measures {@link SenderEndPoint} writing a duty cycle's worth of outbound messages to an {@link InMemoryTcpChannel},
+ * either one write per message or coalesced into a single write when the coalescing buffer is enabled.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class SenderEndPointBenchmark
+{
+    private static final long CONNECTION_ID = 1;
+    private static final int MESSAGES_PER_DUTY_CYCLE = 10;
+
+    @Param({ "0", "4096" })
+    private int coalescingBufferSize;
+
+    private UnsafeBuffer message;
+    private InMemoryTcpChannel channel;
+    private SenderEndPoint senderEndPoint;
+    private long position;
+    private int sequenceNumber;
+
+    @Setup
+    public void setup()
+    {
+        message = new UnsafeBuffer(TestData.frame(
+            "FIX.4.4",
+            "35=8\u000149=ACCEPTOR\u000156=INITIATOR\u000134=1\u000152=20200101-00:00:00.000\u000137=1" +
+            "\u000111=ORDER\u000117=EXEC\u0001150=0\u000139=0\u000155=MSFT\u000154=1\u000138=100\u0001151=100" +
+            "\u000114=0\u00016=0\u0001"));
+
+        final InMemoryCounters counters = new InMemoryCounters();
+        channel = new InMemoryTcpChannel(new byte[0]);
+        senderEndPoint = new SenderEndPoint(
+            CONNECTION_ID,
+            ENGINE_LIBRARY_ID,
+            new BlockablePosition(),
+            new BlockablePosition(),
+            channel,
+            counters.newCounter("bytes in buffer"),
+            counters.newCounter("invalid library attempts"),
+            LangUtil::rethrowUnchecked,
+            null,
+            DEFAULT_SENDER_MAX_BYTES_IN_BUFFER,
+            DEFAULT_SLOW_CONSUMER_TIMEOUT_IN_MS,
+            System.currentTimeMillis(),
+            new SenderSequenceNumbers(new YieldingIdleStrategy()).onNewSender(CONNECTION_ID),
+            coalescingBufferSize);
+    }
+
+    @Benchmark
+    public long writeMessages()
+    {
+        final UnsafeBuffer message = this.message;
+        final int length = message.capacity();
+        final long timeInMs = System.currentTimeMillis();
+
+        boolean requiresFlush = false;
+        for (int i = 0; i < MESSAGES_PER_DUTY_CYCLE; i++)
+        {
+            position += length;
+            requiresFlush |= senderEndPoint.onOutboundMessage(
+                ENGINE_LIBRARY_ID, message, 0, length, ++sequenceNumber, position, timeInMs);
+        }
+
+        if (requiresFlush)
+        {
+            senderEndPoint.flushCoalescedMessages(timeInMs);
+        }
+
+        return channel.bytesWritten();
+    }
+}
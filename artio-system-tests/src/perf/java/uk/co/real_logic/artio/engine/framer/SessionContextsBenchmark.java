@@ -0,0 +1,105 @@
+/*
+ * Copyright 2015-2019 Real Logic Ltd, Adaptive Financial Consulting Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.engine.framer;
+
+import org.agrona.IoUtil;
+import org.agrona.LangUtil;
+import org.openjdk.jmh.annotations.*;
+import uk.co.real_logic.artio.TestData;
+import uk.co.real_logic.artio.decoder.LogonDecoder;
+import uk.co.real_logic.artio.decoder.SessionHeaderDecoder;
+import uk.co.real_logic.artio.engine.MappedFile;
+import uk.co.real_logic.artio.session.CompositeKey;
+import uk.co.real_logic.artio.session.SessionIdStrategy;
+import uk.co.real_logic.artio.util.MutableAsciiBuffer;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import static uk.co.real_logic.artio.engine.EngineConfiguration.DEFAULT_SESSION_ID_BUFFER_SIZE;
+
+/**
+ * Measures {@link SessionContexts} looking up the context of a session that logs on again, out of a number of
+ * sessions that have previously logged on, either from a composite key or from the header of an acceptor's logon.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class SessionContextsBenchmark
+{
+    @Param({ "10", "10000" })
+    private int savedSessions;
+
+    private final File directory = new File(IoUtil.tmpDirName(), "SessionContextsBenchmark");
+    private final LogonDecoder logon = new LogonDecoder();
+
+    private MappedFile sessionIdFile;
+    private SessionContexts sessionContexts;
+    private CompositeKey compositeKey;
+    private SessionHeaderDecoder header;
+
+    @Setup
+    public void setup()
+    {
+        IoUtil.delete(directory, true);
+        IoUtil.ensureDirectoryExists(directory, directory.getAbsolutePath());
+
+        final SessionIdStrategy idStrategy = SessionIdStrategy.senderAndTarget();
+        sessionIdFile = MappedFile.map(new File(directory, "session-ids"), DEFAULT_SESSION_ID_BUFFER_SIZE);
+        sessionContexts = new SessionContexts(sessionIdFile, idStrategy, LangUtil::rethrowUnchecked);
+
+        for (int i = 0; i < savedSessions; i++)
+        {
+            final CompositeKey key = idStrategy.onInitiateLogon("ACCEPTOR", "", "", "INITIATOR" + i, "", "");
+            sessionContexts.onDisconnect(sessionContexts.onLogon(key).sessionId());
+        }
+
+        compositeKey = idStrategy.onInitiateLogon("ACCEPTOR", "", "", "INITIATOR" + (savedSessions / 2), "", "");
+
+        final MutableAsciiBuffer buffer = new MutableAsciiBuffer(TestData.LOGON);
+        logon.decode(buffer, 0, buffer.capacity());
+        header = logon.header();
+        sessionContexts.onDisconnect(sessionContexts.onAcceptLogon(header).sessionId());
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        sessionIdFile.close();
+        IoUtil.delete(directory, true);
+    }
+
+    @Benchmark
+    public long onLogon()
+    {
+        final long sessionId = sessionContexts.onLogon(compositeKey).sessionId();
+        sessionContexts.onDisconnect(sessionId);
+
+        return sessionId;
+    }
+
+    @Benchmark
+    public long onAcceptLogon()
+    {
+        final long sessionId = sessionContexts.onAcceptLogon(header).sessionId();
+        sessionContexts.onDisconnect(sessionId);
+
+        return sessionId;
+    }
+}
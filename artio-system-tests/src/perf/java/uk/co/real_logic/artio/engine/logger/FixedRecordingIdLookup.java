@@ -0,0 +1,36 @@
+/*
+ * Copyright 2015-2019 Real Logic Ltd, Adaptive Financial Consulting Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.engine.logger;
+
+/**
+ * A {@link RecordingIdLookup} for benchmarks that don't have an archive, where every stream has been recorded
+ * by the same recording.
+ */
+final class FixedRecordingIdLookup extends RecordingIdLookup
+{
+    private final long recordingId;
+
+    FixedRecordingIdLookup(final long recordingId)
+    {
+        super(null, null);
+        this.recordingId = recordingId;
+    }
+
+    long getRecordingId(final int aeronSessionId)
+    {
+        return recordingId;
+    }
+}
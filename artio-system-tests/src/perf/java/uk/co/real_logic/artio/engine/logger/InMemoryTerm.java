@@ -0,0 +1,111 @@
+/*
+ * Copyright 2015-2019 Real Logic Ltd, Adaptive Financial Consulting Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.engine.logger;
+
+import io.aeron.logbuffer.FragmentHandler;
+import io.aeron.logbuffer.Header;
+import io.aeron.protocol.DataHeaderFlyweight;
+import org.agrona.BitUtil;
+import org.agrona.concurrent.UnsafeBuffer;
+import uk.co.real_logic.artio.messages.FixMessageEncoder;
+import uk.co.real_logic.artio.messages.MessageHeaderEncoder;
+import uk.co.real_logic.artio.messages.MessageStatus;
+
+import java.nio.ByteBuffer;
+
+import static io.aeron.logbuffer.FrameDescriptor.FRAME_ALIGNMENT;
+import static io.aeron.logbuffer.LogBufferDescriptor.positionBitsToShift;
+import static io.aeron.protocol.DataHeaderFlyweight.BEGIN_AND_END_FLAGS;
+import static io.aeron.protocol.DataHeaderFlyweight.HEADER_LENGTH;
+import static io.aeron.protocol.HeaderFlyweight.CURRENT_VERSION;
+import static io.aeron.protocol.HeaderFlyweight.HDR_TYPE_DATA;
+import static uk.co.real_logic.artio.engine.FixEngine.ENGINE_LIBRARY_ID;
+
+/**
+ * A term buffer that FIX messages are framed into as if they had been published by the engine, so that the
+ * archiving components can be handed the same fragments and headers as a subscription would without a media driver.
+ */
+final class InMemoryTerm
+{
+    private static final int INITIAL_TERM_ID = 0;
+    private static final int TERM_LENGTH = 16 * 1024 * 1024;
+
+    private final MessageHeaderEncoder messageHeader = new MessageHeaderEncoder();
+    private final FixMessageEncoder fixMessage = new FixMessageEncoder();
+    private final DataHeaderFlyweight dataHeader = new DataHeaderFlyweight();
+    private final UnsafeBuffer termBuffer = new UnsafeBuffer(ByteBuffer.allocateDirect(TERM_LENGTH));
+    private final Header header = new Header(INITIAL_TERM_ID, positionBitsToShift(TERM_LENGTH));
+    private final int streamId;
+    private final int aeronSessionId;
+
+    private int tail;
+
+    InMemoryTerm(final int streamId, final int aeronSessionId)
+    {
+        this.streamId = streamId;
+        this.aeronSessionId = aeronSessionId;
+        header.buffer(termBuffer);
+    }
+
+    /**
+     * Append a FIX message to the term.
+     *
+     * @param fixSessionId the FIX session that the message belongs to.
+     * @param sequenceIndex the sequence index of the session.
+     * @param body the FIX message.
+     * @return the offset of the fragment within the term.
+     */
+    int append(final long fixSessionId, final int sequenceIndex, final byte[] body)
+    {
+        final int termOffset = tail;
+        fixMessage
+            .wrapAndApplyHeader(termBuffer, termOffset + HEADER_LENGTH, messageHeader)
+            .session(fixSessionId)
+            .connection(1)
+            .timestamp(0)
+            .status(MessageStatus.OK)
+            .libraryId(ENGINE_LIBRARY_ID)
+            .sequenceIndex(sequenceIndex)
+            .putBody(body, 0, body.length);
+
+        final int frameLength = HEADER_LENGTH + MessageHeaderEncoder.ENCODED_LENGTH + fixMessage.encodedLength();
+        dataHeader.wrap(termBuffer, termOffset, HEADER_LENGTH);
+        dataHeader.frameLength(frameLength);
+        dataHeader.version(CURRENT_VERSION);
+        dataHeader.flags(BEGIN_AND_END_FLAGS);
+        dataHeader.headerType(HDR_TYPE_DATA);
+        dataHeader.termOffset(termOffset);
+        dataHeader.sessionId(aeronSessionId);
+        dataHeader.streamId(streamId);
+        dataHeader.termId(INITIAL_TERM_ID);
+
+        tail = termOffset + BitUtil.align(frameLength, FRAME_ALIGNMENT);
+
+        return termOffset;
+    }
+
+    /**
+     * Pass the fragment at an offset to a handler, as a subscription would.
+     *
+     * @param handler the handler to pass the fragment to.
+     * @param termOffset the offset of the fragment within the term.
+     */
+    void onFragment(final FragmentHandler handler, final int termOffset)
+    {
+        header.offset(termOffset);
+        handler.onFragment(termBuffer, termOffset + HEADER_LENGTH, header.frameLength() - HEADER_LENGTH, header);
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2015-2019 Real Logic Ltd, Adaptive Financial Consulting Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.engine.logger;
+
+import io.aeron.logbuffer.ControlledFragmentHandler;
+import org.agrona.CloseHelper;
+import org.agrona.IoUtil;
+import org.agrona.LangUtil;
+import org.agrona.concurrent.NoOpIdleStrategy;
+import org.openjdk.jmh.annotations.*;
+import uk.co.real_logic.artio.EmbeddedAeron;
+import uk.co.real_logic.artio.LogTag;
+import uk.co.real_logic.artio.TestData;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import static io.aeron.logbuffer.ControlledFragmentHandler.Action.CONTINUE;
+import static uk.co.real_logic.artio.engine.EngineConfiguration.*;
+
+/**
+ * Measures {@link ReplayQuery#query} finding the recorded positions of a range of a session's messages in its
+ * replay index, which is how resend requests are served. The replay itself isn't started, so the archive is only
+ * there because the query needs a client for it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ReplayQueryBenchmark
+{
+    private static final int STREAM_ID = 1;
+    private static final int AERON_SESSION_ID = 2;
+    private static final long FIX_SESSION_ID = 3;
+    private static final int SEQUENCE_INDEX = 0;
+    private static final int INDEXED_MESSAGES = 10_000;
+
+    @Param({ "1", "100" })
+    private int replayedMessages;
+
+    private final File directory = new File(IoUtil.tmpDirName(), "ReplayQueryBenchmark");
+    private final ControlledFragmentHandler handler = (buffer, offset, length, header) -> CONTINUE;
+
+    private EmbeddedAeron embeddedAeron;
+    private ReplayIndex replayIndex;
+    private ReplayQuery replayQuery;
+    private int beginSequenceNumber;
+    private int endSequenceNumber;
+
+    @Setup
+    public void setup()
+    {
+        IoUtil.delete(directory, true);
+        IoUtil.ensureDirectoryExists(directory, directory.getAbsolutePath());
+        final String logFileDir = directory.getAbsolutePath();
+
+        replayIndex = new ReplayIndex(
+            logFileDir,
+            STREAM_ID,
+            DEFAULT_REPLAY_INDEX_FILE_SIZE,
+            DEFAULT_LOGGER_CACHE_NUM_SETS,
+            DEFAULT_LOGGER_CACHE_SET_SIZE,
+            LoggerUtil::map,
+            ReplayIndexDescriptor.replayPositionBuffer(logFileDir, STREAM_ID),
+            LangUtil::rethrowUnchecked,
+            new FixedRecordingIdLookup(0),
+            0);
+
+        final InMemoryTerm term = new InMemoryTerm(STREAM_ID, AERON_SESSION_ID);
+        for (int sequenceNumber = 1; sequenceNumber <= INDEXED_MESSAGES; sequenceNumber++)
+        {
+            final int termOffset = term.append(FIX_SESSION_ID, SEQUENCE_INDEX, TestData.frame(
+                "FIX.4.4",
+                "35=8\u000149=ACCEPTOR\u000156=INITIATOR\u000134=" + sequenceNumber +
+                "\u000152=20200101-00:00:00.000\u000137=1\u000111=ORDER\u000117=EXEC" + sequenceNumber +
+                "\u0001150=0\u000139=0\u000155=MSFT\u000154=1\u000138=100\u0001151=100\u000114=0\u00016=0\u0001"));
+            term.onFragment(replayIndex, termOffset);
+        }
+
+        embeddedAeron = new EmbeddedAeron();
+        replayQuery = new ReplayQuery(
+            logFileDir,
+            DEFAULT_LOGGER_CACHE_NUM_SETS,
+            DEFAULT_LOGGER_CACHE_SET_SIZE,
+            LoggerUtil::mapExistingFile,
+            STREAM_ID,
+            new NoOpIdleStrategy(),
+            embeddedAeron.aeronArchive(),
+            LangUtil::rethrowUnchecked,
+            DEFAULT_ARCHIVE_REPLAY_STREAM,
+            0);
+
+        beginSequenceNumber = INDEXED_MESSAGES / 2;
+        endSequenceNumber = beginSequenceNumber + replayedMessages - 1;
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        CloseHelper.close(replayQuery);
+        CloseHelper.close(replayIndex);
+        CloseHelper.close(embeddedAeron);
+        IoUtil.delete(directory, true);
+    }
+
+    @Benchmark
+    public ReplayOperation query()
+    {
+        return replayQuery.query(
+            handler,
+            FIX_SESSION_ID,
+            beginSequenceNumber,
+            SEQUENCE_INDEX,
+            endSequenceNumber,
+            SEQUENCE_INDEX,
+            LogTag.REPLAY);
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2015-2019 Real Logic Ltd, Adaptive Financial Consulting Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.engine.logger;
+
+import org.agrona.IoUtil;
+import org.agrona.LangUtil;
+import org.agrona.concurrent.SystemEpochClock;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.openjdk.jmh.annotations.*;
+import uk.co.real_logic.artio.TestData;
+import uk.co.real_logic.artio.engine.MappedFile;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import static uk.co.real_logic.artio.engine.EngineConfiguration.DEFAULT_INDEX_FILE_STATE_FLUSH_TIMEOUT_IN_MS;
+
+/**
+ * Measures {@link SequenceNumberIndexWriter#onFragment} indexing the sequence numbers of messages that are spread
+ * across a number of sessions.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class SequenceNumberIndexWriterBenchmark
+{
+    private static final int STREAM_ID = 1;
+    private static final int AERON_SESSION_ID = 2;
+    private static final int MESSAGES = 1024;
+    private static final int INDEX_SIZE = 1024 * 1024;
+
+    @Param({ "1", "100" })
+    private int sessions;
+
+    private final File directory = new File(IoUtil.tmpDirName(), "SequenceNumberIndexWriterBenchmark");
+    private final InMemoryTerm term = new InMemoryTerm(STREAM_ID, AERON_SESSION_ID);
+    private final int[] termOffsets = new int[MESSAGES];
+
+    private SequenceNumberIndexWriter writer;
+    private int nextMessage;
+
+    @Setup
+    public void setup()
+    {
+        IoUtil.delete(directory, true);
+        IoUtil.ensureDirectoryExists(directory, directory.getAbsolutePath());
+
+        writer = new SequenceNumberIndexWriter(
+            new UnsafeBuffer(new byte[INDEX_SIZE]),
+            MappedFile.map(new File(directory, "sequence-numbers"), INDEX_SIZE),
+            LangUtil::rethrowUnchecked,
+            STREAM_ID,
+            new FixedRecordingIdLookup(0),
+            DEFAULT_INDEX_FILE_STATE_FLUSH_TIMEOUT_IN_MS,
+            new SystemEpochClock());
+
+        for (int i = 0; i < MESSAGES; i++)
+        {
+            final int sequenceNumber = i / sessions + 1;
+            termOffsets[i] = term.append(i % sessions, 0, TestData.frame(
+                "FIX.4.4",
+                "35=D\u000149=INITIATOR\u000156=ACCEPTOR\u000134=" + sequenceNumber +
+                "\u000152=20200101-00:00:00.000\u000111=ORDER" + i + "\u000121=1\u000155=MSFT\u000154=1" +
+                "\u000160=20200101-00:00:00.000\u000138=100\u000140=2\u000144=100.50\u0001"));
+        }
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        writer.close();
+        IoUtil.delete(directory, true);
+    }
+
+    @Benchmark
+    public void onFragment()
+    {
+        term.onFragment(writer, termOffsets[nextMessage]);
+        nextMessage = nextMessage + 1 < MESSAGES ? nextMessage + 1 : 0;
+    }
+}
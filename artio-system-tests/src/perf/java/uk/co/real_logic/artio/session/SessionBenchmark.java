@@ -0,0 +1,115 @@
+/*
+ * Copyright 2015-2019 Real Logic Ltd, Adaptive Financial Consulting Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.session;
+
+import io.aeron.logbuffer.ControlledFragmentHandler.Action;
+import org.agrona.LangUtil;
+import org.agrona.concurrent.EpochClock;
+import org.agrona.concurrent.SystemEpochClock;
+import org.openjdk.jmh.annotations.*;
+import uk.co.real_logic.artio.EmbeddedAeron;
+import uk.co.real_logic.artio.InMemoryCounters;
+import uk.co.real_logic.artio.dictionary.FixDictionary;
+import uk.co.real_logic.artio.messages.SessionState;
+import uk.co.real_logic.artio.protocol.GatewayPublication;
+import uk.co.real_logic.artio.util.MutableAsciiBuffer;
+
+import java.util.concurrent.TimeUnit;
+
+import static uk.co.real_logic.artio.CommonConfiguration.DEFAULT_SENDING_TIME_WINDOW;
+import static uk.co.real_logic.artio.CommonConfiguration.DEFAULT_SESSION_BUFFER_SIZE;
+import static uk.co.real_logic.artio.engine.EngineConfiguration.DEFAULT_REASONABLE_TRANSMISSION_TIME_IN_MS;
+import static uk.co.real_logic.artio.engine.FixEngine.ENGINE_LIBRARY_ID;
+import static uk.co.real_logic.artio.library.SessionConfiguration.DEFAULT_ENABLE_LAST_MSG_SEQ_NUM_PROCESSED;
+
+/**
+ * Measures an active {@link Session} validating the header of an application message and checking its sequence
+ * number, which is the work that the session does for every message that it receives in normal operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class SessionBenchmark
+{
+    private static final int STREAM_ID = 1;
+    private static final long CONNECTION_ID = 1;
+    private static final int HEARTBEAT_INTERVAL_IN_S = 10;
+    private static final char[] NEW_ORDER_SINGLE = "D".toCharArray();
+
+    private final EpochClock epochClock = new SystemEpochClock();
+
+    private EmbeddedAeron embeddedAeron;
+    private Session session;
+    private int msgSeqNo;
+
+    @Setup
+    public void setup()
+    {
+        embeddedAeron = new EmbeddedAeron();
+        final InMemoryCounters counters = embeddedAeron.counters();
+
+        // Messages that are in sequence and within the sending time window don't cause the session to reply, so
+        // nothing needs to subscribe to the publication.
+        final GatewayPublication publication = embeddedAeron.newGatewayPublication(STREAM_ID);
+        final SessionIdStrategy idStrategy = SessionIdStrategy.senderAndTarget();
+        final DirectSessionProxy proxy = new DirectSessionProxy(
+            DEFAULT_SESSION_BUFFER_SIZE,
+            publication,
+            idStrategy,
+            SessionCustomisationStrategy.none(),
+            epochClock,
+            CONNECTION_ID,
+            ENGINE_LIBRARY_ID,
+            FixDictionary.of(FixDictionary.findDefault()),
+            LangUtil::rethrowUnchecked);
+
+        session = new AcceptorSession(
+            HEARTBEAT_INTERVAL_IN_S,
+            CONNECTION_ID,
+            epochClock,
+            proxy,
+            publication,
+            idStrategy,
+            DEFAULT_SENDING_TIME_WINDOW,
+            counters.newCounter("received msg seq no"),
+            counters.newCounter("sent msg seq no"),
+            ENGINE_LIBRARY_ID,
+            1,
+            0,
+            SessionState.ACTIVE,
+            DEFAULT_REASONABLE_TRANSMISSION_TIME_IN_MS,
+            new MutableAsciiBuffer(new byte[DEFAULT_SESSION_BUFFER_SIZE]),
+            DEFAULT_ENABLE_LAST_MSG_SEQ_NUM_PROCESSED,
+            "FIX.4.4");
+        msgSeqNo = 0;
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        embeddedAeron.close();
+    }
+
+    @Benchmark
+    public Action onMessage()
+    {
+        return session.onMessage(
+            ++msgSeqNo, NEW_ORDER_SINGLE, epochClock.time(), Session.UNKNOWN, false, false);
+    }
+}